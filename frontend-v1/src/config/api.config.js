@@ -65,6 +65,7 @@ const API_CONFIG = {
       reviewsSorted: "/api/reviews/restaurant/{restaurantId}/sorted",
       reviewsByRating: "/api/reviews/restaurant/{restaurantId}/rating",
       search: "/api/restaurants/search",
+      autocomplete: "/api/restaurants/autocomplete",
     },
   },
   order: {
@@ -0,0 +1,58 @@
+package com.delivery.delivery_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Periodically measures how far the replica is behind the primary and takes it out of
+ * rotation when the lag exceeds the configured limit or the replica cannot be reached.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    // Seconds since the last replayed transaction; 0 when the replica is fully caught up
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource replicaDataSource;
+    private final double maxLagSeconds;
+
+    private volatile boolean replicaUsable = false;
+
+    public ReplicaLagMonitor(DataSource replicaDataSource, double maxLagSeconds) {
+        this.replicaDataSource = replicaDataSource;
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    @Scheduled(fixedDelayString = "${spring.datasource.replica.lag-check-interval-ms:5000}")
+    public void checkLag() {
+        boolean usable;
+        try (Connection connection = replicaDataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+            double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+            usable = lagSeconds <= maxLagSeconds;
+            if (!usable) {
+                log.warn("Replica lag {}s exceeds {}s, routing reads to primary", lagSeconds, maxLagSeconds);
+            }
+        } catch (Exception e) {
+            log.warn("Replica health check failed, routing reads to primary: {}", e.getMessage());
+            usable = false;
+        }
+
+        if (usable && !replicaUsable) {
+            log.info("Replica is healthy, routing read-only transactions to replica");
+        }
+        replicaUsable = usable;
+    }
+}
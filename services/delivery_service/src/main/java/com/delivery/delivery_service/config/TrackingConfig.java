@@ -0,0 +1,77 @@
+package com.delivery.delivery_service.config;
+
+import com.delivery.delivery_service.tracking.ActiveDeliveryRegistry;
+import com.delivery.delivery_service.tracking.AssignmentSolver;
+import com.delivery.delivery_service.tracking.DispatchIndex;
+import com.delivery.delivery_service.tracking.DriverLocationStore;
+import com.delivery.delivery_service.tracking.DriverStatsStore;
+import com.delivery.delivery_service.tracking.GeofenceTracker;
+import com.delivery.delivery_service.tracking.RoutePlanner;
+import com.delivery.delivery_service.tracking.TravelTimeGrid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class TrackingConfig {
+
+    @Bean
+    public DriverLocationStore driverLocationStore(
+            @Value("${delivery.location.initial-capacity:4096}") int initialCapacity,
+            @Value("${delivery.location.trail.sample-interval-ms:30000}") long sampleIntervalMillis) {
+        return new DriverLocationStore(initialCapacity, sampleIntervalMillis);
+    }
+
+    @Bean
+    public DispatchIndex dispatchIndex(
+            @Value("${delivery.dispatch.cell-degrees:0.01}") double cellDegrees,
+            @Value("${delivery.dispatch.max-position-age-ms:120000}") long maxPositionAgeMillis) {
+        return new DispatchIndex(cellDegrees, maxPositionAgeMillis);
+    }
+
+    @Bean
+    public AssignmentSolver assignmentSolver(
+            @Value("${delivery.dispatch.batch.exact-threshold:150}") int exactThreshold,
+            @Value("${delivery.dispatch.batch.improvement-passes:5}") int improvementPasses) {
+        return new AssignmentSolver(exactThreshold, improvementPasses);
+    }
+
+    @Bean
+    public RoutePlanner routePlanner(
+            @Value("${delivery.routing.pickup-radius-km:1.5}") double pickupRadiusKm,
+            @Value("${delivery.routing.max-bearing-difference:45}") double maxBearingDifference,
+            @Value("${delivery.routing.max-deliveries-per-route:3}") int maxDeliveriesPerRoute,
+            @Value("${delivery.routing.improvement-passes:10}") int improvementPasses) {
+        return new RoutePlanner(pickupRadiusKm, maxBearingDifference, maxDeliveriesPerRoute, improvementPasses);
+    }
+
+    @Bean
+    public ActiveDeliveryRegistry activeDeliveryRegistry() {
+        return new ActiveDeliveryRegistry();
+    }
+
+    @Bean
+    public TravelTimeGrid travelTimeGrid(
+            @Value("${delivery.eta.cell-degrees:0.02}") double cellDegrees,
+            @Value("${delivery.eta.default-speed-kmh:18}") double defaultKmh,
+            @Value("${delivery.eta.min-speed-kmh:2}") double minKmh,
+            @Value("${delivery.eta.max-speed-kmh:90}") double maxKmh,
+            @Value("${delivery.eta.min-samples:5}") long minSamples,
+            @Value("${delivery.eta.max-samples:200}") long maxSamples) {
+        return new TravelTimeGrid(cellDegrees, defaultKmh, minKmh, maxKmh, minSamples, maxSamples);
+    }
+
+    @Bean
+    public DriverStatsStore driverStatsStore() {
+        return new DriverStatsStore();
+    }
+
+    @Bean
+    public GeofenceTracker geofenceTracker(
+            @Value("${delivery.geofence.enter-radius-m:75}") double enterRadiusMeters,
+            @Value("${delivery.geofence.exit-radius-m:150}") double exitRadiusMeters,
+            @Value("${delivery.geofence.dwell-ms:60000}") long dwellMillis,
+            @Value("${delivery.geofence.auto-deliver:true}") boolean autoDeliver) {
+        return new GeofenceTracker(enterRadiusMeters / 1000, exitRadiusMeters / 1000, dwellMillis, autoDeliver);
+    }
+}
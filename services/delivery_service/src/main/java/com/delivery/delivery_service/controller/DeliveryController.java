@@ -1,21 +1,32 @@
 package com.delivery.delivery_service.controller;
 
+import com.delivery.delivery_service.dto.DeliveryPatchRequest;
 import com.delivery.delivery_service.dto.DeliveryRequest;
 import com.delivery.delivery_service.dto.DeliveryResponse;
+import com.delivery.delivery_service.dto.EtaResponse;
 import com.delivery.delivery_service.model.DeliveryStatus;
+import com.delivery.delivery_service.service.DeliveryExportService;
 import com.delivery.delivery_service.service.DeliveryService;
+import com.delivery.delivery_service.service.EtaService;
+import com.delivery.delivery_service.service.TrackingStreamService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -26,6 +37,9 @@ import java.util.Map;
 public class DeliveryController {
 
     private final DeliveryService deliveryService;
+    private final EtaService etaService;
+    private final TrackingStreamService trackingStreamService;
+    private final DeliveryExportService deliveryExportService;
 
     @PostMapping("/create")
     @Operation(summary = "Create a new delivery", security = @SecurityRequirement(name = "bearerAuth"))
@@ -77,6 +91,16 @@ public class DeliveryController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Partially update a delivery", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'DELIVERY_PERSONNEL', 'RESTAURANT_ADMIN')")
+    public ResponseEntity<Void> patchDelivery(
+            @PathVariable Long id,
+            @Valid @RequestBody DeliveryPatchRequest request) {
+        deliveryService.patchDelivery(id, request);
+        return ResponseEntity.noContent().build();
+    }
+
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update delivery status", security = @SecurityRequirement(name = "bearerAuth"))
     //@PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'DELIVERY_PERSONNEL', 'RESTAURANT_ADMIN')")
@@ -119,6 +143,18 @@ public class DeliveryController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/public/tracking/{id}/eta")
+    @Operation(summary = "Estimated delivery time (public endpoint)")
+    public ResponseEntity<EtaResponse> getEta(@PathVariable Long id) {
+        return ResponseEntity.ok(etaService.getEta(id));
+    }
+
+    @GetMapping(value = "/public/tracking/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Live status and driver position stream (public endpoint)")
+    public SseEmitter streamTracking(@PathVariable Long id) {
+        return trackingStreamService.subscribe(id);
+    }
+
     @PostMapping("/public/create")
     @Operation(summary = "Create a new delivery (public endpoint)")
     public ResponseEntity<DeliveryResponse> createDeliveryPublic(@Valid @RequestBody DeliveryRequest request) {
@@ -142,4 +178,20 @@ public class DeliveryController {
         List<DeliveryResponse> responses = deliveryService.getAllDeliveries();
         return ResponseEntity.ok(responses);
     }
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream deliveries as CSV or NDJSON", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportDeliveries(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) List<DeliveryStatus> status) {
+        DeliveryExportService.Format exportFormat = DeliveryExportService.Format.parse(format);
+        StreamingResponseBody body = deliveryExportService.export(exportFormat, from, to, status);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"deliveries." + exportFormat.extension() + "\"")
+                .body(body);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.delivery.delivery_service.controller;
+
+import com.delivery.delivery_service.dto.BatchDispatchResponse;
+import com.delivery.delivery_service.dto.DeliveryResponse;
+import com.delivery.delivery_service.dto.DispatchCandidateResponse;
+import com.delivery.delivery_service.dto.PlannedRouteResponse;
+import com.delivery.delivery_service.service.BatchDispatchService;
+import com.delivery.delivery_service.service.DispatchService;
+import com.delivery.delivery_service.service.RoutePlanningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/deliveries/dispatch")
+@RequiredArgsConstructor
+@Tag(name = "Dispatch API", description = "Endpoints for automatic driver assignment")
+public class DispatchController {
+
+    private final DispatchService dispatchService;
+    private final BatchDispatchService batchDispatchService;
+    private final RoutePlanningService routePlanningService;
+
+    @PostMapping("/batch")
+    @Operation(summary = "Assign all pending deliveries in one optimised round", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<BatchDispatchResponse> dispatchPending() {
+        return ResponseEntity.ok(batchDispatchService.dispatchPending());
+    }
+
+    @GetMapping("/route-batches")
+    @Operation(summary = "Propose multi-drop routes for pending deliveries", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<List<PlannedRouteResponse>> proposeRouteBatches() {
+        return ResponseEntity.ok(routePlanningService.proposeRouteBatches());
+    }
+
+    @GetMapping("/{deliveryId}/candidates")
+    @Operation(summary = "Nearest available drivers for a delivery", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<List<DispatchCandidateResponse>> getCandidates(
+            @PathVariable Long deliveryId,
+            @RequestParam(required = false) Integer k) {
+        return ResponseEntity.ok(dispatchService.findCandidates(deliveryId, k));
+    }
+
+    @PostMapping("/{deliveryId}")
+    @Operation(summary = "Assign the nearest available driver", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<DeliveryResponse> dispatch(@PathVariable Long deliveryId) {
+        return ResponseEntity.ok(dispatchService.dispatch(deliveryId));
+    }
+}
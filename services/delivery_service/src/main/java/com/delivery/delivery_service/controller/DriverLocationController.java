@@ -0,0 +1,92 @@
+package com.delivery.delivery_service.controller;
+
+import com.delivery.delivery_service.dto.DriverAvailabilityRequest;
+import com.delivery.delivery_service.dto.DriverLocationResponse;
+import com.delivery.delivery_service.dto.DriverStatsResponse;
+import com.delivery.delivery_service.dto.LocationBatchRequest;
+import com.delivery.delivery_service.dto.LocationBatchResponse;
+import com.delivery.delivery_service.dto.PlannedRouteResponse;
+import com.delivery.delivery_service.service.DispatchService;
+import com.delivery.delivery_service.service.DriverLocationService;
+import com.delivery.delivery_service.service.DriverStatsService;
+import com.delivery.delivery_service.service.RoutePlanningService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/deliveries/drivers")
+@RequiredArgsConstructor
+@Tag(name = "Driver Location API", description = "Endpoints for driver location ingestion and lookup")
+public class DriverLocationController {
+
+    private final DriverLocationService driverLocationService;
+    private final DispatchService dispatchService;
+    private final RoutePlanningService routePlanningService;
+    private final DriverStatsService driverStatsService;
+
+    @PostMapping("/locations")
+    @Operation(summary = "Ingest a batch of driver location pings", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'DELIVERY_PERSONNEL')")
+    public ResponseEntity<LocationBatchResponse> ingestLocations(@Valid @RequestBody LocationBatchRequest request) {
+        LocationBatchResponse response = driverLocationService.ingest(request);
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @PutMapping("/{driverId}/availability")
+    @Operation(summary = "Go online or offline for dispatch", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'DELIVERY_PERSONNEL')")
+    public ResponseEntity<Void> setAvailability(
+            @PathVariable Long driverId,
+            @Valid @RequestBody DriverAvailabilityRequest request) {
+        dispatchService.setAvailability(driverId, request);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{driverId}/location")
+    @Operation(summary = "Get a driver's latest location", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<DriverLocationResponse> getLatestLocation(@PathVariable Long driverId) {
+        return ResponseEntity.ok(driverLocationService.getLatestLocation(driverId));
+    }
+
+    @GetMapping("/{driverId}/route")
+    @Operation(summary = "Planned stop order for a driver's active deliveries", security = @SecurityRequirement(name = "bearerAuth"))
+    public ResponseEntity<PlannedRouteResponse> getRoute(@PathVariable Long driverId) {
+        return ResponseEntity.ok(routePlanningService.planDriverRoute(driverId));
+    }
+
+    @GetMapping("/{driverId}/stats")
+    @Operation(summary = "Get a driver's workload and delivery time statistics", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasAnyRole('SYSTEM_ADMIN', 'DELIVERY_PERSONNEL')")
+    public ResponseEntity<DriverStatsResponse> getStats(@PathVariable Long driverId) {
+        return ResponseEntity.ok(driverStatsService.getStats(driverId));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Drivers with the highest current load", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<List<DriverStatsResponse>> getBusiestDrivers(@RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return ResponseEntity.ok(driverStatsService.getBusiestDrivers(limit));
+    }
+
+    @GetMapping("/{driverId}/trail")
+    @Operation(summary = "Get a driver's sampled location trail", security = @SecurityRequirement(name = "bearerAuth"))
+    //@PreAuthorize("hasRole('SYSTEM_ADMIN')")
+    public ResponseEntity<List<DriverLocationResponse>> getTrail(
+            @PathVariable Long driverId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(driverLocationService.getTrail(driverId, from, to));
+    }
+}
@@ -0,0 +1,19 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchDispatchResponse {
+    
+    private int pending;
+    private int assigned;
+    private int unassigned;
+    private int availableDrivers;
+    private long elapsedMillis;
+}
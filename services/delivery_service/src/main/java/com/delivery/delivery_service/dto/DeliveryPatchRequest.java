@@ -0,0 +1,55 @@
+package com.delivery.delivery_service.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fields a partial update may change; null means "leave as is". Status and driver changes go
+ * through their own endpoints because they need the current row.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryPatchRequest {
+    
+    private String driverName;
+    
+    private String driverPhone;
+    
+    @Pattern(regexp = "(?s).*\\S.*", message = "Customer name must not be blank")
+    private String customerName;
+    
+    @Pattern(regexp = "(?s).*\\S.*", message = "Customer phone must not be blank")
+    private String customerPhone;
+    
+    @Pattern(regexp = "(?s).*\\S.*", message = "Delivery address must not be blank")
+    private String deliveryAddress;
+    
+    private String restaurantName;
+    
+    private String restaurantAddress;
+    
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double pickupLatitude;
+    
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double pickupLongitude;
+    
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double deliveryLatitude;
+    
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double deliveryLongitude;
+    
+    private String notes;
+}
@@ -0,0 +1,20 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DispatchCandidateResponse {
+    
+    private Long driverId;
+    private String driverName;
+    private String driverPhone;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;
+}
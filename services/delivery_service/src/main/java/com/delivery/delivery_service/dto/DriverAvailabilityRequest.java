@@ -0,0 +1,22 @@
+package com.delivery.delivery_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverAvailabilityRequest {
+    
+    @NotNull(message = "Availability is required")
+    private Boolean available;
+    
+    // Copied onto deliveries the driver is dispatched to
+    private String driverName;
+    
+    private String driverPhone;
+}
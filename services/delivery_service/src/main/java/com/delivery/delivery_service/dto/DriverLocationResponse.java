@@ -0,0 +1,22 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverLocationResponse {
+    
+    private Long driverId;
+    private Double latitude;
+    private Double longitude;
+    private Float speedKmh;
+    private Float heading;
+    private LocalDateTime recordedAt;
+}
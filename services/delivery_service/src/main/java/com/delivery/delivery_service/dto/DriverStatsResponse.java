@@ -0,0 +1,31 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverStatsResponse {
+    
+    private Long driverId;
+    // Deliveries currently ASSIGNED, PICKED_UP or IN_TRANSIT
+    private Integer activeDeliveries;
+    
+    private Long pickedUpLastHour;
+    private Long deliveredLastHour;
+    private Double averagePickupToDropSecondsLastHour;
+    
+    private Long deliveredLastDay;
+    private Long cancelledLastDay;
+    // Delivered in the last 24 hours divided by 24
+    private Double deliveriesPerHourLastDay;
+    private Double averagePickupToDropSecondsLastDay;
+    
+    private Long deliveredTotal;
+    private Long cancelledTotal;
+    private Double averagePickupToDropSecondsTotal;
+}
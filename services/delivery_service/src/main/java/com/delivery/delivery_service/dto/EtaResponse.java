@@ -0,0 +1,26 @@
+package com.delivery.delivery_service.dto;
+
+import com.delivery.delivery_service.model.DeliveryStatus;
+import com.delivery.delivery_service.tracking.TravelTimeGrid;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EtaResponse {
+    
+    private Long deliveryId;
+    private DeliveryStatus status;
+    // Null once the order is picked up or when the driver's position is unknown
+    private Long pickupEtaSeconds;
+    private Long etaSeconds;
+    private LocalDateTime estimatedDeliveryAt;
+    private Double remainingDistanceKm;
+    private TravelTimeGrid.Source source;
+}
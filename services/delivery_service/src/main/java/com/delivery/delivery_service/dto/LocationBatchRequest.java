@@ -0,0 +1,19 @@
+package com.delivery.delivery_service.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationBatchRequest {
+    
+    @NotNull(message = "Pings are required")
+    private List<LocationPing> pings;
+}
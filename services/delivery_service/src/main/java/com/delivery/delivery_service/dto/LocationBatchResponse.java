@@ -0,0 +1,21 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationBatchResponse {
+    
+    private int accepted;
+    
+    // Older than the position already stored for the driver
+    private int stale;
+    
+    // Missing driver or coordinates out of range
+    private int rejected;
+}
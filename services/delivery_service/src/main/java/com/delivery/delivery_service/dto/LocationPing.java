@@ -0,0 +1,26 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationPing {
+    
+    private Long driverId;
+    
+    private Double latitude;
+    
+    private Double longitude;
+    
+    private Float speedKmh;
+    
+    private Float heading;
+    
+    // Epoch milliseconds from the device clock; the server time is used when absent
+    private Long timestamp;
+}
@@ -0,0 +1,21 @@
+package com.delivery.delivery_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlannedRouteResponse {
+    
+    // Null for proposed batches that are not assigned yet
+    private Long driverId;
+    private List<Long> deliveryIds;
+    private List<RouteStopResponse> stops;
+    private Double totalDistanceKm;
+}
@@ -0,0 +1,20 @@
+package com.delivery.delivery_service.dto;
+
+import com.delivery.delivery_service.tracking.RoutePlanner;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteStopResponse {
+    
+    private Long deliveryId;
+    private RoutePlanner.StopType type;
+    private String address;
+    private Double latitude;
+    private Double longitude;
+}
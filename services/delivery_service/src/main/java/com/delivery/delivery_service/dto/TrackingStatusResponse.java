@@ -0,0 +1,18 @@
+package com.delivery.delivery_service.dto;
+
+import com.delivery.delivery_service.model.DeliveryStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrackingStatusResponse {
+    
+    private Long deliveryId;
+    private DeliveryStatus status;
+    private Long driverId;
+}
@@ -0,0 +1,12 @@
+package com.delivery.delivery_service.exception;
+
+/**
+ * A dispatch that cannot go ahead in the current state, e.g. the delivery is no longer pending
+ * or no driver is free. Reported as {@code 409 Conflict}.
+ */
+public class DispatchConflictException extends RuntimeException {
+
+    public DispatchConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.delivery.delivery_service.job;
+
+import com.delivery.delivery_service.service.BatchDispatchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "delivery.dispatch.batch.enabled", havingValue = "true")
+public class BatchDispatchJob {
+
+    private final BatchDispatchService batchDispatchService;
+
+    @Scheduled(initialDelayString = "${delivery.dispatch.batch.interval-ms:15000}",
+            fixedDelayString = "${delivery.dispatch.batch.interval-ms:15000}")
+    public void dispatchPending() {
+        batchDispatchService.dispatchPending();
+    }
+}
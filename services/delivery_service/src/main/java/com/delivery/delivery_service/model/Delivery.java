@@ -5,15 +5,22 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "deliveries_new")
+@Table(name = "deliveries_new", indexes = {
+        @Index(name = "idx_deliveries_status", columnList = "status"),
+        @Index(name = "idx_deliveries_driver_status", columnList = "driver_id, status"),
+        @Index(name = "idx_deliveries_created_at", columnList = "created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+// Status changes and assignments touch a few columns; write only those instead of the whole row
+@DynamicUpdate
 public class Delivery {
     
     @Id
@@ -52,6 +59,9 @@ public class Delivery {
     
     private LocalDateTime deliveredAt;
     
+    // Bookkeeping only: a reopened delivery that is cancelled again is not counted twice
+    private LocalDateTime cancelledAt;
+    
     private Double pickupLatitude;
     
     private Double pickupLongitude;
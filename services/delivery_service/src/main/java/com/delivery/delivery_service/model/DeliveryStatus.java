@@ -1,10 +1,15 @@
 package com.delivery.delivery_service.model;
 
+import java.util.List;
+
 public enum DeliveryStatus {
     PENDING,
     ASSIGNED,
     PICKED_UP,
     IN_TRANSIT,
     DELIVERED,
-    CANCELLED
-}
\ No newline at end of file
+    CANCELLED;
+
+    // A driver with a delivery in one of these states is busy
+    public static final List<DeliveryStatus> ACTIVE = List.of(ASSIGNED, PICKED_UP, IN_TRANSIT);
+}
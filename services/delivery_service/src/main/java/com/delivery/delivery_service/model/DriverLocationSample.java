@@ -0,0 +1,44 @@
+package com.delivery.delivery_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sampled point of a driver's trail. Rows are written in JDBC batches by
+ * {@code LocationTrailWriter}; the entity exists for schema management and trail queries.
+ */
+@Entity
+@Table(name = "driver_location_samples", indexes = {
+        @Index(name = "idx_driver_location_samples_driver_time", columnList = "driver_id, recorded_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DriverLocationSample {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "driver_id", nullable = false)
+    private Long driverId;
+    
+    @Column(nullable = false)
+    private Double latitude;
+    
+    @Column(nullable = false)
+    private Double longitude;
+    
+    private Float speedKmh;
+    
+    private Float heading;
+    
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+}
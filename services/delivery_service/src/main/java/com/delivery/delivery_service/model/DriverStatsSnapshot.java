@@ -0,0 +1,52 @@
+package com.delivery.delivery_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Last persisted state of a driver's statistics. Rows are upserted in JDBC batches by
+ * {@code DriverStatsService}; lifetime totals are reloaded from here on startup.
+ */
+@Entity
+@Table(name = "driver_stats_snapshots")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DriverStatsSnapshot {
+    
+    @Id
+    @Column(name = "driver_id")
+    private Long driverId;
+    
+    @Column(nullable = false)
+    private Long pickedUpTotal;
+    
+    @Column(nullable = false)
+    private Long deliveredTotal;
+    
+    @Column(nullable = false)
+    private Long cancelledTotal;
+    
+    @Column(nullable = false)
+    private Long pickupToDropMillisTotal;
+    
+    @Column(nullable = false)
+    private Long timedDeliveriesTotal;
+    
+    private Long deliveredLastHour;
+    
+    private Long deliveredLastDay;
+    
+    private Long cancelledLastDay;
+    
+    private Double averagePickupToDropSecondsLastDay;
+    
+    @Column(nullable = false)
+    private LocalDateTime snapshotAt;
+}
@@ -2,19 +2,90 @@ package com.delivery.delivery_service.repository;
 
 import com.delivery.delivery_service.model.Delivery;
 import com.delivery.delivery_service.model.DeliveryStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
     
+    interface DriverLoad {
+        Long getDriverId();
+        
+        Long getDeliveries();
+    }
+    
+    interface CompletedTrip {
+        Double getPickupLatitude();
+        
+        Double getPickupLongitude();
+        
+        Double getDeliveryLatitude();
+        
+        Double getDeliveryLongitude();
+        
+        LocalDateTime getPickedUpAt();
+        
+        LocalDateTime getDeliveredAt();
+    }
+    
     List<Delivery> findByOrderId(Long orderId);
     
+    // SELECT ... FOR UPDATE: a concurrent status change waits for, or is seen by, the caller
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Delivery d WHERE d.id = :id")
+    Optional<Delivery> findByIdForUpdate(@Param("id") Long id);
+    
     List<Delivery> findByDriverId(Long driverId);
     
     List<Delivery> findByStatus(DeliveryStatus status);
     
+    List<Delivery> findByStatusIn(Collection<DeliveryStatus> statuses);
+    
+    // Streamed with a fetch size so a long history is never held in memory at once
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT d.pickupLatitude AS pickupLatitude, d.pickupLongitude AS pickupLongitude, " +
+           "d.deliveryLatitude AS deliveryLatitude, d.deliveryLongitude AS deliveryLongitude, " +
+           "d.pickedUpAt AS pickedUpAt, d.deliveredAt AS deliveredAt FROM Delivery d " +
+           "WHERE d.status = com.delivery.delivery_service.model.DeliveryStatus.DELIVERED AND d.deliveredAt >= :since " +
+           "AND d.pickedUpAt IS NOT NULL AND d.pickupLatitude IS NOT NULL AND d.deliveryLatitude IS NOT NULL")
+    Stream<CompletedTrip> streamCompletedTripsSince(@Param("since") LocalDateTime since);
+    
     List<Delivery> findByDriverIdAndStatus(Long driverId, DeliveryStatus status);
+    
+    List<Delivery> findByDriverIdAndStatusIn(Long driverId, Collection<DeliveryStatus> statuses);
+    
+    @Query("SELECT d.driverId AS driverId, COUNT(d) AS deliveries FROM Delivery d " +
+           "WHERE d.driverId IN :driverIds AND d.assignedAt >= :since GROUP BY d.driverId")
+    List<DriverLoad> countAssignedSince(@Param("driverIds") Collection<Long> driverIds, @Param("since") LocalDateTime since);
+    
+    boolean existsByDriverIdAndStatusIn(Long driverId, Collection<DeliveryStatus> statuses);
+    
+    @Query("SELECT DISTINCT d.driverId FROM Delivery d WHERE d.status IN :statuses")
+    List<Long> findDriverIdsByStatusIn(@Param("statuses") Collection<DeliveryStatus> statuses);
+    
+    // Conditional on PENDING so two dispatchers can never both assign the same delivery
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Delivery d SET d.driverId = :driverId, d.driverName = :driverName, d.driverPhone = :driverPhone, " +
+           "d.status = com.delivery.delivery_service.model.DeliveryStatus.ASSIGNED, " +
+           "d.assignedAt = :assignedAt, d.updatedAt = :assignedAt " +
+           "WHERE d.id = :id AND d.status = com.delivery.delivery_service.model.DeliveryStatus.PENDING")
+    int assignIfPending(@Param("id") Long id,
+                        @Param("driverId") Long driverId,
+                        @Param("driverName") String driverName,
+                        @Param("driverPhone") String driverPhone,
+                        @Param("assignedAt") LocalDateTime assignedAt);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.delivery.delivery_service.repository;
+
+import com.delivery.delivery_service.model.DriverLocationSample;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DriverLocationSampleRepository extends JpaRepository<DriverLocationSample, Long> {
+    
+    List<DriverLocationSample> findByDriverIdAndRecordedAtBetweenOrderByRecordedAtAsc(
+            Long driverId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
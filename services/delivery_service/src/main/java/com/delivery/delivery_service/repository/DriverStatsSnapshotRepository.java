@@ -0,0 +1,9 @@
+package com.delivery.delivery_service.repository;
+
+import com.delivery.delivery_service.model.DriverStatsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DriverStatsSnapshotRepository extends JpaRepository<DriverStatsSnapshot, Long> {
+}
@@ -35,6 +35,9 @@ public class SecurityConfig {
                                  "/v3/api-docs/**", 
                                  "/swagger-ui/**", 
                                  "/swagger-ui.html",
+                                 "/actuator/health",
+                                 "/actuator/metrics/**",
+                                 "/actuator/prometheus",
                                  "/api/*").permitAll()
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,211 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.dto.BatchDispatchResponse;
+import com.delivery.delivery_service.exception.DispatchConflictException;
+import com.delivery.delivery_service.model.Delivery;
+import com.delivery.delivery_service.model.DeliveryStatus;
+import com.delivery.delivery_service.repository.DeliveryRepository;
+import com.delivery.delivery_service.tracking.ActiveDeliveryRegistry;
+import com.delivery.delivery_service.tracking.AssignmentSolver;
+import com.delivery.delivery_service.tracking.DispatchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Assigns all pending deliveries in one round, minimising total pickup distance plus a workload
+ * penalty instead of serving deliveries one at a time in arrival order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BatchDispatchService {
+
+    private static final String ASSIGN_IF_PENDING =
+            "UPDATE deliveries_new SET driver_id = ?, driver_name = ?, driver_phone = ?, status = 'ASSIGNED', " +
+            "assigned_at = ?, updated_at = ? WHERE id = ? AND status = 'PENDING'";
+
+    private static final int LOAD_QUERY_CHUNK = 1000;
+
+    private final DeliveryRepository deliveryRepository;
+    private final DispatchIndex dispatchIndex;
+    private final ActiveDeliveryRegistry activeDeliveryRegistry;
+    private final TrackingStreamService trackingStreamService;
+    private final AssignmentSolver assignmentSolver;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ReentrantLock running = new ReentrantLock();
+
+    @Value("${delivery.dispatch.max-radius-km:10}")
+    private double maxRadiusKm;
+
+    @Value("${delivery.dispatch.batch.candidates-per-delivery:8}")
+    private int candidatesPerDelivery;
+
+    @Value("${delivery.dispatch.batch.max-deliveries:5000}")
+    private int maxDeliveries;
+
+    // Extra cost, in km, per delivery the driver was assigned within the workload window
+    @Value("${delivery.dispatch.batch.workload-weight-km:0.5}")
+    private double workloadWeightKm;
+
+    @Value("${delivery.dispatch.batch.workload-window-hours:4}")
+    private long workloadWindowHours;
+
+    public BatchDispatchResponse dispatchPending() {
+        if (!running.tryLock()) {
+            throw new DispatchConflictException("A batch dispatch is already running");
+        }
+        try {
+            return runBatch();
+        } finally {
+            running.unlock();
+        }
+    }
+
+    private BatchDispatchResponse runBatch() {
+        long started = System.currentTimeMillis();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        
+        // Oldest first, so a capped batch never starves early orders
+        List<Delivery> pending = readOnly.execute(tx -> deliveryRepository.findByStatus(DeliveryStatus.PENDING)).stream()
+                .filter(delivery -> delivery.getPickupLatitude() != null && delivery.getPickupLongitude() != null)
+                .sorted(Comparator.comparing(Delivery::getCreatedAt))
+                .limit(maxDeliveries)
+                .toList();
+        if (pending.isEmpty()) {
+            return new BatchDispatchResponse(0, 0, 0, 0, System.currentTimeMillis() - started);
+        }
+        
+        // Candidate lookups only read the index, so they run across cores
+        long now = System.currentTimeMillis();
+        List<List<DispatchIndex.Candidate>> candidates = pending.parallelStream()
+                .map(delivery -> dispatchIndex.nearest(delivery.getPickupLatitude(), delivery.getPickupLongitude(),
+                        candidatesPerDelivery, maxRadiusKm, now))
+                .toList();
+        
+        List<DispatchIndex.DriverEntry> drivers = new ArrayList<>();
+        Map<Long, Integer> driverIndex = new HashMap<>();
+        for (List<DispatchIndex.Candidate> jobCandidates : candidates) {
+            for (DispatchIndex.Candidate candidate : jobCandidates) {
+                driverIndex.computeIfAbsent(candidate.driver().driverId(), id -> {
+                    drivers.add(candidate.driver());
+                    return drivers.size() - 1;
+                });
+            }
+        }
+        Map<Long, Long> recentLoad = readOnly.execute(tx -> recentLoad(driverIndex.keySet()));
+        
+        List<List<AssignmentSolver.Option>> options = new ArrayList<>(pending.size());
+        for (List<DispatchIndex.Candidate> jobCandidates : candidates) {
+            List<AssignmentSolver.Option> jobOptions = new ArrayList<>(jobCandidates.size());
+            for (DispatchIndex.Candidate candidate : jobCandidates) {
+                long driverId = candidate.driver().driverId();
+                double cost = candidate.distanceKm() + workloadWeightKm * recentLoad.getOrDefault(driverId, 0L);
+                jobOptions.add(new AssignmentSolver.Option(driverIndex.get(driverId), cost));
+            }
+            options.add(jobOptions);
+        }
+        int[] assignment = assignmentSolver.solve(options, drivers.size());
+        
+        int assigned = commit(pending, drivers, assignment);
+        long elapsed = System.currentTimeMillis() - started;
+        log.info("Batch dispatch assigned {} of {} pending deliveries to {} candidate drivers in {} ms",
+                assigned, pending.size(), drivers.size(), elapsed);
+        return new BatchDispatchResponse(pending.size(), assigned, pending.size() - assigned, drivers.size(), elapsed);
+    }
+
+    /**
+     * Writes every planned assignment in one transaction with one JDBC batch. Drivers taken by a
+     * concurrent single dispatch are skipped, and deliveries no longer PENDING are left alone.
+     */
+    private int commit(List<Delivery> pending, List<DispatchIndex.DriverEntry> drivers, int[] assignment) {
+        List<Delivery> deliveries = new ArrayList<>();
+        List<DispatchIndex.DriverEntry> reserved = new ArrayList<>();
+        for (int job = 0; job < assignment.length; job++) {
+            if (assignment[job] < 0) {
+                continue;
+            }
+            DispatchIndex.DriverEntry driver = drivers.get(assignment[job]);
+            if (dispatchIndex.tryReserve(driver.driverId())) {
+                deliveries.add(pending.get(job));
+                reserved.add(driver);
+            }
+        }
+        if (deliveries.isEmpty()) {
+            return 0;
+        }
+        
+        Timestamp assignedAt = Timestamp.valueOf(LocalDateTime.now());
+        int[] updated;
+        try {
+            updated = new TransactionTemplate(transactionManager).execute(tx ->
+                    jdbcTemplate.batchUpdate(ASSIGN_IF_PENDING, new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            DispatchIndex.DriverEntry driver = reserved.get(i);
+                            statement.setLong(1, driver.driverId());
+                            statement.setString(2, driver.driverName());
+                            statement.setString(3, driver.driverPhone());
+                            statement.setTimestamp(4, assignedAt);
+                            statement.setTimestamp(5, assignedAt);
+                            statement.setLong(6, deliveries.get(i).getId());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return deliveries.size();
+                        }
+                    }));
+        } catch (RuntimeException e) {
+            reserved.forEach(driver -> dispatchIndex.release(driver.driverId()));
+            throw e;
+        }
+        
+        int assigned = 0;
+        for (int i = 0; i < updated.length; i++) {
+            // The driver's reservation is only kept when the row was still PENDING
+            if (updated[i] == 0) {
+                dispatchIndex.release(reserved.get(i).driverId());
+            } else {
+                Long driverId = reserved.get(i).driverId();
+                activeDeliveryRegistry.put(ActiveDeliveryRegistry.ActiveDelivery.of(deliveries.get(i))
+                        .withDriver(driverId, DeliveryStatus.ASSIGNED));
+                trackingStreamService.publishStatus(deliveries.get(i).getId(), DeliveryStatus.ASSIGNED, driverId);
+                assigned++;
+            }
+        }
+        return assigned;
+    }
+
+    private Map<Long, Long> recentLoad(Set<Long> driverIds) {
+        Map<Long, Long> load = new HashMap<>();
+        LocalDateTime since = LocalDateTime.now().minusHours(workloadWindowHours);
+        List<Long> ids = new ArrayList<>(driverIds);
+        for (int from = 0; from < ids.size(); from += LOAD_QUERY_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + LOAD_QUERY_CHUNK, ids.size()));
+            for (DeliveryRepository.DriverLoad row : deliveryRepository.countAssignedSince(chunk, since)) {
+                load.put(row.getDriverId(), row.getDeliveries());
+            }
+        }
+        return load;
+    }
+}
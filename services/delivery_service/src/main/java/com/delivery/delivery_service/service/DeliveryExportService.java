@@ -0,0 +1,231 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.dto.DeliveryResponse;
+import com.delivery.delivery_service.model.DeliveryStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams deliveries straight from a server-side cursor to the response. Rows are fetched
+ * {@code fetch-size} at a time and written as they arrive, so memory use does not depend on how
+ * many deliveries match.
+ */
+@Service
+@Slf4j
+public class DeliveryExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = MediaType.parseMediaType(mediaType);
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (use csv or ndjson)");
+            }
+        }
+    }
+
+    private static final String SELECT_DELIVERIES =
+            "SELECT id, order_id, driver_id, driver_name, driver_phone, customer_name, customer_phone, " +
+            "delivery_address, restaurant_name, restaurant_address, status, assigned_at, picked_up_at, delivered_at, " +
+            "pickup_latitude, pickup_longitude, delivery_latitude, delivery_longitude, notes, created_at, updated_at " +
+            "FROM deliveries_new";
+
+    private static final String CSV_HEADER =
+            "id,orderId,driverId,driverName,driverPhone,customerName,customerPhone,deliveryAddress," +
+            "restaurantName,restaurantAddress,status,assignedAt,pickedUpAt,deliveredAt,pickupLatitude," +
+            "pickupLongitude,deliveryLatitude,deliveryLongitude,notes,createdAt,updatedAt";
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectWriter jsonWriter;
+
+    public DeliveryExportService(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 ObjectMapper objectMapper,
+                                 @Value("${delivery.export.fetch-size:1000}") int fetchSize) {
+        // PostgreSQL only uses a cursor for a positive fetch size inside a transaction
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionManager = transactionManager;
+        this.jsonWriter = objectMapper.writerFor(DeliveryResponse.class);
+    }
+
+    /**
+     * Validates the filters now, so bad requests fail before any output is written, and returns
+     * the body that runs the query while the response is being sent.
+     */
+    public StreamingResponseBody export(Format format, LocalDateTime from, LocalDateTime to, List<DeliveryStatus> statuses) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        FilteredQuery query = filteredQuery(from, to, statuses);
+
+        return output -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+            }
+            long[] rows = new long[1];
+            TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+            transactionTemplate.setReadOnly(true);
+            try {
+                transactionTemplate.executeWithoutResult(tx -> cursorJdbcTemplate.query(query.sql(), resultSet -> {
+                    writeRow(writer, format, mapRow(resultSet));
+                    rows[0]++;
+                }, query.args()));
+            } catch (UncheckedIOException e) {
+                // The client went away mid-download
+                throw e.getCause();
+            }
+            writer.flush();
+            log.info("Exported {} deliveries as {}", rows[0], format);
+        };
+    }
+
+    // Filter values are always bound; only the number of status placeholders depends on the request
+    static FilteredQuery filteredQuery(LocalDateTime from, LocalDateTime to, List<DeliveryStatus> statuses) {
+        StringBuilder sql = new StringBuilder(SELECT_DELIVERIES);
+        List<Object> args = new ArrayList<>();
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add("created_at >= ?");
+            args.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            conditions.add("created_at < ?");
+            args.add(Timestamp.valueOf(to));
+        }
+        if (statuses != null && !statuses.isEmpty()) {
+            conditions.add("status IN (" + String.join(", ", Collections.nCopies(statuses.size(), "?")) + ")");
+            statuses.forEach(status -> args.add(status.name()));
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY id");
+        return new FilteredQuery(sql.toString(), args.toArray());
+    }
+
+    record FilteredQuery(String sql, Object[] args) {
+    }
+
+    private void writeRow(Writer writer, Format format, DeliveryResponse delivery) {
+        try {
+            if (format == Format.NDJSON) {
+                writer.write(jsonWriter.writeValueAsString(delivery));
+            } else {
+                writeCsv(writer, delivery);
+            }
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsv(Writer writer, DeliveryResponse d) throws IOException {
+        Object[] values = {
+                d.getId(), d.getOrderId(), d.getDriverId(), d.getDriverName(), d.getDriverPhone(),
+                d.getCustomerName(), d.getCustomerPhone(), d.getDeliveryAddress(), d.getRestaurantName(),
+                d.getRestaurantAddress(), d.getStatus(), d.getAssignedAt(), d.getPickedUpAt(), d.getDeliveredAt(),
+                d.getPickupLatitude(), d.getPickupLongitude(), d.getDeliveryLatitude(), d.getDeliveryLongitude(),
+                d.getNotes(), d.getCreatedAt(), d.getUpdatedAt()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] instanceof String text) {
+                writer.write(csvField(neutralizeFormula(text)));
+            } else if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+    }
+
+    // Spreadsheets evaluate cells starting with these as formulas; a leading quote makes them plain text
+    static String neutralizeFormula(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            return "'" + value;
+        }
+        return value;
+    }
+
+    // RFC 4180 quoting: only fields containing a separator, quote or line break are quoted
+    static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static DeliveryResponse mapRow(ResultSet rs) throws SQLException {
+        return DeliveryResponse.builder()
+                .id(rs.getLong("id"))
+                .orderId(rs.getLong("order_id"))
+                .driverId(rs.getObject("driver_id", Long.class))
+                .driverName(rs.getString("driver_name"))
+                .driverPhone(rs.getString("driver_phone"))
+                .customerName(rs.getString("customer_name"))
+                .customerPhone(rs.getString("customer_phone"))
+                .deliveryAddress(rs.getString("delivery_address"))
+                .restaurantName(rs.getString("restaurant_name"))
+                .restaurantAddress(rs.getString("restaurant_address"))
+                .status(rs.getString("status") != null ? DeliveryStatus.valueOf(rs.getString("status")) : null)
+                .assignedAt(rs.getObject("assigned_at", LocalDateTime.class))
+                .pickedUpAt(rs.getObject("picked_up_at", LocalDateTime.class))
+                .deliveredAt(rs.getObject("delivered_at", LocalDateTime.class))
+                .pickupLatitude(rs.getObject("pickup_latitude", Double.class))
+                .pickupLongitude(rs.getObject("pickup_longitude", Double.class))
+                .deliveryLatitude(rs.getObject("delivery_latitude", Double.class))
+                .deliveryLongitude(rs.getObject("delivery_longitude", Double.class))
+                .notes(rs.getString("notes"))
+                .createdAt(rs.getObject("created_at", LocalDateTime.class))
+                .updatedAt(rs.getObject("updated_at", LocalDateTime.class))
+                .build();
+    }
+}
@@ -1,17 +1,24 @@
 package com.delivery.delivery_service.service;
 
+import com.delivery.delivery_service.dto.DeliveryPatchRequest;
 import com.delivery.delivery_service.dto.DeliveryRequest;
 import com.delivery.delivery_service.dto.DeliveryResponse;
 import com.delivery.delivery_service.model.Delivery;
 import com.delivery.delivery_service.model.DeliveryStatus;
 import com.delivery.delivery_service.repository.DeliveryRepository;
+import com.delivery.delivery_service.tracking.ActiveDeliveryRegistry;
+import com.delivery.delivery_service.tracking.AfterCommit;
+import com.delivery.delivery_service.tracking.DispatchIndex;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,11 +28,27 @@ import java.util.stream.Collectors;
 public class DeliveryService {
 
     private final DeliveryRepository deliveryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final DispatchIndex dispatchIndex;
+    private final ActiveDeliveryRegistry activeDeliveryRegistry;
+    private final EtaService etaService;
+    private final TrackingStreamService trackingStreamService;
+    private final DriverStatsService driverStatsService;
 
     @Transactional
     public DeliveryResponse createDelivery(DeliveryRequest request) {
         log.info("Creating new delivery for order ID: {}", request.getOrderId());
         
+        // Later statuses go through PATCH /{id}/status so driver load, stats and ETAs follow them
+        DeliveryStatus status = request.getStatus() != null ? request.getStatus() : DeliveryStatus.PENDING;
+        if (status != DeliveryStatus.PENDING && status != DeliveryStatus.ASSIGNED) {
+            throw new IllegalArgumentException("A new delivery must be PENDING or ASSIGNED, not " + status);
+        }
+        if (status == DeliveryStatus.ASSIGNED && request.getDriverId() == null) {
+            throw new IllegalArgumentException("An ASSIGNED delivery needs a driverId");
+        }
+        Long driverId = request.getDriverId();
+        
         Delivery delivery = Delivery.builder()
                 .orderId(request.getOrderId())
                 .driverId(request.getDriverId())
@@ -36,7 +59,8 @@ public class DeliveryService {
                 .deliveryAddress(request.getDeliveryAddress())
                 .restaurantName(request.getRestaurantName())
                 .restaurantAddress(request.getRestaurantAddress())
-                .status(request.getStatus() != null ? request.getStatus() : DeliveryStatus.PENDING)
+                .status(driverId != null ? DeliveryStatus.ASSIGNED : status)
+                .assignedAt(driverId != null ? LocalDateTime.now() : null)
                 .pickupLatitude(request.getPickupLatitude())
                 .pickupLongitude(request.getPickupLongitude())
                 .deliveryLatitude(request.getDeliveryLatitude())
@@ -45,6 +69,10 @@ public class DeliveryService {
                 .build();
 
         Delivery savedDelivery = deliveryRepository.save(delivery);
+        if (driverId != null) {
+            AfterCommit.run(() -> dispatchIndex.markBusy(driverId));
+        }
+        trackAfterCommit(savedDelivery);
         log.info("Created delivery with ID: {}", savedDelivery.getId());
         
         return mapToDeliveryResponse(savedDelivery);
@@ -100,13 +128,7 @@ public class DeliveryService {
         Delivery delivery = deliveryRepository.findById(deliveryId)
                 .orElseThrow(() -> new EntityNotFoundException("Delivery not found with ID: " + deliveryId));
         
-        delivery.setDriverId(driverId);
-        delivery.setDriverName(driverName);
-        delivery.setDriverPhone(driverPhone);
-        delivery.setStatus(DeliveryStatus.ASSIGNED);
-        delivery.setAssignedAt(LocalDateTime.now());
-        
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
+        Delivery updatedDelivery = assignDriver(delivery, driverId, driverName, driverPhone);
         log.info("Driver assigned to delivery with ID: {}", deliveryId);
         
         return mapToDeliveryResponse(updatedDelivery);
@@ -118,20 +140,84 @@ public class DeliveryService {
         
         Delivery delivery = deliveryRepository.findById(deliveryId)
                 .orElseThrow(() -> new EntityNotFoundException("Delivery not found with ID: " + deliveryId));
+        if (delivery.getStatus() == status) {
+            return mapToDeliveryResponse(delivery);
+        }
+        
+        Delivery updatedDelivery = applyStatus(delivery, status);
+        log.info("Updated delivery status to: {} for delivery ID: {}", status, deliveryId);
+        
+        return mapToDeliveryResponse(updatedDelivery);
+    }
+
+    /**
+     * Changes the status only while the delivery is still in {@code expected}, so an automatic
+     * transition never overrides one a driver made manually in the meantime. The row is locked
+     * for the check, and side effects are registered only when the change is applied.
+     */
+    @Transactional
+    public boolean advanceStatus(Long deliveryId, DeliveryStatus expected, DeliveryStatus status) {
+        Delivery delivery = deliveryRepository.findByIdForUpdate(deliveryId).orElse(null);
+        if (delivery == null || delivery.getStatus() != expected) {
+            return false;
+        }
+        
+        applyStatus(delivery, status);
+        log.info("Advanced delivery ID: {} from {} to {}", deliveryId, expected, status);
+        return true;
+    }
+
+    private Delivery assignDriver(Delivery delivery, Long driverId, String driverName, String driverPhone) {
+        Long previousDriverId = delivery.getDriverId();
+        delivery.setDriverId(driverId);
+        delivery.setDriverName(driverName);
+        delivery.setDriverPhone(driverPhone);
+        delivery.setStatus(DeliveryStatus.ASSIGNED);
+        delivery.setAssignedAt(LocalDateTime.now());
         
+        Delivery updatedDelivery = deliveryRepository.save(delivery);
+        AfterCommit.run(() -> dispatchIndex.markBusy(driverId));
+        if (previousDriverId != null && !previousDriverId.equals(driverId)) {
+            releaseDriverIfIdle(previousDriverId);
+        }
+        trackAfterCommit(updatedDelivery);
+        return updatedDelivery;
+    }
+
+    private Delivery applyStatus(Delivery delivery, DeliveryStatus status) {
+        // A reopened delivery counts towards driver statistics only the first time it is picked up and finished
+        boolean finishedBefore = delivery.getDeliveredAt() != null || delivery.getCancelledAt() != null;
+        boolean firstTime = switch (status) {
+            case PICKED_UP -> delivery.getPickedUpAt() == null;
+            case DELIVERED, CANCELLED -> !finishedBefore;
+            default -> false;
+        };
         delivery.setStatus(status);
         
         // Update timestamps based on status
+        LocalDateTime changedAt = LocalDateTime.now();
         if (status == DeliveryStatus.PICKED_UP) {
-            delivery.setPickedUpAt(LocalDateTime.now());
+            delivery.setPickedUpAt(changedAt);
         } else if (status == DeliveryStatus.DELIVERED) {
-            delivery.setDeliveredAt(LocalDateTime.now());
+            delivery.setDeliveredAt(changedAt);
+        } else if (status == DeliveryStatus.CANCELLED && delivery.getCancelledAt() == null) {
+            delivery.setCancelledAt(changedAt);
         }
         
         Delivery updatedDelivery = deliveryRepository.save(delivery);
-        log.info("Updated delivery status to: {} for delivery ID: {}", status, deliveryId);
-        
-        return mapToDeliveryResponse(updatedDelivery);
+        if (!DeliveryStatus.ACTIVE.contains(status)) {
+            releaseDriverIfIdle(updatedDelivery.getDriverId());
+        }
+        if (status == DeliveryStatus.DELIVERED && firstTime) {
+            AfterCommit.run(() -> etaService.recordCompletedTrip(updatedDelivery));
+        }
+        if (firstTime) {
+            Long driverId = updatedDelivery.getDriverId();
+            LocalDateTime pickedUpAt = updatedDelivery.getPickedUpAt();
+            AfterCommit.run(() -> driverStatsService.recordTransition(driverId, status, pickedUpAt, changedAt));
+        }
+        trackAfterCommit(updatedDelivery);
+        return updatedDelivery;
     }
 
     @Transactional
@@ -141,10 +227,6 @@ public class DeliveryService {
         Delivery delivery = deliveryRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Delivery not found with ID: " + id));
         
-        if (request.getDriverId() != null) {
-            delivery.setDriverId(request.getDriverId());
-        }
-        
         if (request.getDriverName() != null) {
             delivery.setDriverName(request.getDriverName());
         }
@@ -173,10 +255,6 @@ public class DeliveryService {
             delivery.setRestaurantAddress(request.getRestaurantAddress());
         }
         
-        if (request.getStatus() != null) {
-            delivery.setStatus(request.getStatus());
-        }
-        
         if (request.getPickupLatitude() != null) {
             delivery.setPickupLatitude(request.getPickupLatitude());
         }
@@ -197,12 +275,68 @@ public class DeliveryService {
             delivery.setNotes(request.getNotes());
         }
         
-        Delivery updatedDelivery = deliveryRepository.save(delivery);
+        // A new driver or status goes through the same paths as /assign and /status
+        Delivery updatedDelivery = delivery;
+        boolean routed = false;
+        if (request.getDriverId() != null && !request.getDriverId().equals(delivery.getDriverId())) {
+            updatedDelivery = assignDriver(delivery, request.getDriverId(), delivery.getDriverName(), delivery.getDriverPhone());
+            routed = true;
+        }
+        if (request.getStatus() != null && request.getStatus() != updatedDelivery.getStatus()) {
+            updatedDelivery = applyStatus(updatedDelivery, request.getStatus());
+            routed = true;
+        }
+        if (!routed) {
+            updatedDelivery = deliveryRepository.save(delivery);
+            trackAfterCommit(updatedDelivery);
+        }
         log.info("Updated delivery with ID: {}", id);
         
         return mapToDeliveryResponse(updatedDelivery);
     }
 
+    /**
+     * Writes only the fields present in the request with a single {@code UPDATE}, without loading
+     * the row first. Column names come from this method, never from the request.
+     */
+    @Transactional
+    public void patchDelivery(Long id, DeliveryPatchRequest request) {
+        log.info("Patching delivery with ID: {}", id);
+        
+        List<String> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        setIfPresent(columns, values, "driver_name", request.getDriverName());
+        setIfPresent(columns, values, "driver_phone", request.getDriverPhone());
+        setIfPresent(columns, values, "customer_name", request.getCustomerName());
+        setIfPresent(columns, values, "customer_phone", request.getCustomerPhone());
+        setIfPresent(columns, values, "delivery_address", request.getDeliveryAddress());
+        setIfPresent(columns, values, "restaurant_name", request.getRestaurantName());
+        setIfPresent(columns, values, "restaurant_address", request.getRestaurantAddress());
+        setIfPresent(columns, values, "pickup_latitude", request.getPickupLatitude());
+        setIfPresent(columns, values, "pickup_longitude", request.getPickupLongitude());
+        setIfPresent(columns, values, "delivery_latitude", request.getDeliveryLatitude());
+        setIfPresent(columns, values, "delivery_longitude", request.getDeliveryLongitude());
+        setIfPresent(columns, values, "notes", request.getNotes());
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        
+        columns.add("updated_at");
+        values.add(Timestamp.valueOf(LocalDateTime.now()));
+        values.add(id);
+        String sql = "UPDATE deliveries_new SET " + String.join(" = ?, ", columns) + " = ? WHERE id = ?";
+        if (jdbcTemplate.update(sql, values.toArray()) == 0) {
+            throw new EntityNotFoundException("Delivery not found with ID: " + id);
+        }
+        
+        if (request.getPickupLatitude() != null || request.getPickupLongitude() != null
+                || request.getDeliveryLatitude() != null || request.getDeliveryLongitude() != null) {
+            AfterCommit.run(() -> activeDeliveryRegistry.relocate(id, request.getPickupLatitude(),
+                    request.getPickupLongitude(), request.getDeliveryLatitude(), request.getDeliveryLongitude()));
+        }
+        log.info("Patched {} fields of delivery with ID: {}", columns.size() - 1, id);
+    }
+
     @Transactional
     public void deleteDelivery(Long id) {
         log.info("Deleting delivery with ID: {}", id);
@@ -212,9 +346,42 @@ public class DeliveryService {
         }
         
         deliveryRepository.deleteById(id);
+        AfterCommit.run(() -> {
+            activeDeliveryRegistry.remove(id);
+            trackingStreamService.close(id);
+        });
         log.info("Deleted delivery with ID: {}", id);
     }
 
+    // Snapshot taken now; the entity may change again before the transaction commits
+    private void trackAfterCommit(Delivery delivery) {
+        Long id = delivery.getId();
+        boolean finished = delivery.getStatus() == DeliveryStatus.DELIVERED || delivery.getStatus() == DeliveryStatus.CANCELLED;
+        ActiveDeliveryRegistry.ActiveDelivery snapshot = ActiveDeliveryRegistry.ActiveDelivery.of(delivery);
+        AfterCommit.run(() -> {
+            if (finished) {
+                activeDeliveryRegistry.remove(id);
+            } else {
+                activeDeliveryRegistry.put(snapshot);
+            }
+            trackingStreamService.publishStatus(id, snapshot.status(), snapshot.driverId());
+        });
+    }
+
+    private static void setIfPresent(List<String> columns, List<Object> values, String column, Object value) {
+        if (value != null) {
+            columns.add(column);
+            values.add(value);
+        }
+    }
+
+    private void releaseDriverIfIdle(Long driverId) {
+        // A driver carrying several deliveries stays busy until the last one is finished
+        if (driverId != null && !deliveryRepository.existsByDriverIdAndStatusIn(driverId, DeliveryStatus.ACTIVE)) {
+            AfterCommit.run(() -> dispatchIndex.release(driverId));
+        }
+    }
+
     private DeliveryResponse mapToDeliveryResponse(Delivery delivery) {
         return DeliveryResponse.builder()
                 .id(delivery.getId())
@@ -0,0 +1,167 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.dto.DeliveryResponse;
+import com.delivery.delivery_service.dto.DispatchCandidateResponse;
+import com.delivery.delivery_service.dto.DriverAvailabilityRequest;
+import com.delivery.delivery_service.exception.DispatchConflictException;
+import com.delivery.delivery_service.model.Delivery;
+import com.delivery.delivery_service.model.DeliveryStatus;
+import com.delivery.delivery_service.repository.DeliveryRepository;
+import com.delivery.delivery_service.tracking.ActiveDeliveryRegistry;
+import com.delivery.delivery_service.tracking.AfterCommit;
+import com.delivery.delivery_service.tracking.DispatchIndex;
+import com.delivery.delivery_service.tracking.DriverLocationStore;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DispatchService {
+
+    private final DeliveryRepository deliveryRepository;
+    private final DeliveryService deliveryService;
+    private final DispatchIndex dispatchIndex;
+    private final DriverLocationStore driverLocationStore;
+    private final ActiveDeliveryRegistry activeDeliveryRegistry;
+    private final TrackingStreamService trackingStreamService;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${delivery.dispatch.max-radius-km:10}")
+    private double maxRadiusKm;
+
+    @Value("${delivery.dispatch.candidates:5}")
+    private int defaultCandidates;
+
+    @Value("${delivery.dispatch.max-candidates:50}")
+    private int maxCandidates;
+
+    /**
+     * Drivers already on a delivery stay busy across restarts, and unfinished deliveries are tracked again.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveDeliveries() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        List<Delivery> unfinished = transactionTemplate.execute(tx -> deliveryRepository.findByStatusIn(
+                List.of(DeliveryStatus.PENDING, DeliveryStatus.ASSIGNED, DeliveryStatus.PICKED_UP, DeliveryStatus.IN_TRANSIT)));
+        activeDeliveryRegistry.replaceAll(unfinished);
+        
+        List<Long> busyDrivers = unfinished.stream()
+                .filter(delivery -> DeliveryStatus.ACTIVE.contains(delivery.getStatus()))
+                .map(Delivery::getDriverId)
+                .distinct()
+                .toList();
+        busyDrivers.forEach(dispatchIndex::markBusy);
+        log.info("Tracking {} unfinished deliveries; marked {} drivers as busy", unfinished.size(), busyDrivers.size());
+    }
+
+    public void setAvailability(Long driverId, DriverAvailabilityRequest request) {
+        log.info("Setting driver ID: {} availability to {}", driverId, request.getAvailable());
+        
+        if (Boolean.TRUE.equals(request.getAvailable())) {
+            dispatchIndex.goOnline(driverId, request.getDriverName(), request.getDriverPhone(),
+                    driverLocationStore.get(driverId));
+        } else {
+            dispatchIndex.goOffline(driverId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<DispatchCandidateResponse> findCandidates(Long deliveryId, Integer count) {
+        Delivery delivery = findDelivery(deliveryId);
+        requirePickupLocation(delivery);
+        
+        return dispatchIndex.nearest(delivery.getPickupLatitude(), delivery.getPickupLongitude(),
+                        candidateCount(count), maxRadiusKm, System.currentTimeMillis())
+                .stream()
+                .map(this::mapToDispatchCandidateResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Assigns the nearest available driver to a pending delivery.
+     * <p>
+     * The driver is reserved in memory first, so concurrent dispatches never pick the same driver,
+     * and the delivery row is only updated while it is still PENDING.
+     */
+    @Transactional
+    public DeliveryResponse dispatch(Long deliveryId) {
+        log.info("Dispatching delivery ID: {}", deliveryId);
+        
+        Delivery delivery = findDelivery(deliveryId);
+        if (delivery.getStatus() != DeliveryStatus.PENDING) {
+            throw new DispatchConflictException("Delivery " + deliveryId + " is already " + delivery.getStatus());
+        }
+        requirePickupLocation(delivery);
+        
+        List<DispatchIndex.Candidate> candidates = dispatchIndex.nearest(delivery.getPickupLatitude(),
+                delivery.getPickupLongitude(), defaultCandidates, maxRadiusKm, System.currentTimeMillis());
+        for (DispatchIndex.Candidate candidate : candidates) {
+            DispatchIndex.DriverEntry driver = candidate.driver();
+            // Another dispatch may have taken this driver since the query; try the next one
+            if (!dispatchIndex.tryReserve(driver.driverId())) {
+                continue;
+            }
+            AfterCommit.onRollback(() -> dispatchIndex.release(driver.driverId()));
+            
+            int updated = deliveryRepository.assignIfPending(deliveryId, driver.driverId(),
+                    driver.driverName(), driver.driverPhone(), LocalDateTime.now());
+            if (updated == 0) {
+                throw new DispatchConflictException("Delivery " + deliveryId + " was assigned concurrently");
+            }
+            
+            ActiveDeliveryRegistry.ActiveDelivery assigned = ActiveDeliveryRegistry.ActiveDelivery.of(delivery)
+                    .withDriver(driver.driverId(), DeliveryStatus.ASSIGNED);
+            AfterCommit.run(() -> {
+                activeDeliveryRegistry.put(assigned);
+                trackingStreamService.publishStatus(deliveryId, DeliveryStatus.ASSIGNED, driver.driverId());
+            });
+            
+            log.info("Dispatched driver ID: {} ({} km away) to delivery ID: {}",
+                    driver.driverId(), String.format("%.2f", candidate.distanceKm()), deliveryId);
+            return deliveryService.getDeliveryById(deliveryId);
+        }
+        
+        throw new DispatchConflictException("No available driver within " + maxRadiusKm + " km of the pickup");
+    }
+
+    private Delivery findDelivery(Long deliveryId) {
+        return deliveryRepository.findById(deliveryId)
+                .orElseThrow(() -> new EntityNotFoundException("Delivery not found with ID: " + deliveryId));
+    }
+
+    private void requirePickupLocation(Delivery delivery) {
+        if (delivery.getPickupLatitude() == null || delivery.getPickupLongitude() == null) {
+            throw new IllegalArgumentException("Delivery " + delivery.getId() + " has no pickup coordinates");
+        }
+    }
+
+    private int candidateCount(Integer count) {
+        return count != null ? Math.min(Math.max(count, 1), maxCandidates) : defaultCandidates;
+    }
+
+    private DispatchCandidateResponse mapToDispatchCandidateResponse(DispatchIndex.Candidate candidate) {
+        DispatchIndex.DriverEntry driver = candidate.driver();
+        return DispatchCandidateResponse.builder()
+                .driverId(driver.driverId())
+                .driverName(driver.driverName())
+                .driverPhone(driver.driverPhone())
+                .latitude(driver.latitude())
+                .longitude(driver.longitude())
+                .distanceKm(candidate.distanceKm())
+                .build();
+    }
+}
@@ -0,0 +1,141 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.dto.DriverLocationResponse;
+import com.delivery.delivery_service.dto.LocationBatchRequest;
+import com.delivery.delivery_service.dto.LocationBatchResponse;
+import com.delivery.delivery_service.dto.LocationPing;
+import com.delivery.delivery_service.model.DriverLocationSample;
+import com.delivery.delivery_service.repository.DriverLocationSampleRepository;
+import com.delivery.delivery_service.tracking.DispatchIndex;
+import com.delivery.delivery_service.tracking.DriverLocationStore;
+import com.delivery.delivery_service.tracking.DriverPosition;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DriverLocationService {
+
+    private final DriverLocationStore driverLocationStore;
+    private final LocationTrailWriter locationTrailWriter;
+    private final DispatchIndex dispatchIndex;
+    private final TrackingStreamService trackingStreamService;
+    private final GeofenceService geofenceService;
+    private final DriverLocationSampleRepository driverLocationSampleRepository;
+
+    @Value("${delivery.location.max-batch-size:1000}")
+    private int maxBatchSize;
+
+    @Value("${delivery.location.max-clock-skew-ms:60000}")
+    private long maxClockSkewMillis;
+
+    @Value("${delivery.location.trail.max-points:5000}")
+    private int maxTrailPoints;
+
+    /**
+     * Applies a batch of pings to the in-memory store. No database work happens here;
+     * sampled positions are handed to {@link LocationTrailWriter}.
+     */
+    public LocationBatchResponse ingest(LocationBatchRequest request) {
+        List<LocationPing> pings = request.getPings();
+        if (pings.size() > maxBatchSize) {
+            throw new IllegalArgumentException("A batch may contain at most " + maxBatchSize + " pings");
+        }
+        
+        long now = System.currentTimeMillis();
+        int accepted = 0;
+        int stale = 0;
+        int rejected = 0;
+        for (LocationPing ping : pings) {
+            if (!isValid(ping, now)) {
+                rejected++;
+                continue;
+            }
+            
+            long timestamp = ping.getTimestamp() != null ? ping.getTimestamp() : now;
+            float speed = ping.getSpeedKmh() != null ? ping.getSpeedKmh() : 0f;
+            float heading = ping.getHeading() != null ? ping.getHeading() : 0f;
+            DriverLocationStore.UpdateResult result = driverLocationStore.update(ping.getDriverId(),
+                    ping.getLatitude(), ping.getLongitude(), speed, heading, timestamp);
+            
+            if (result == DriverLocationStore.UpdateResult.STALE) {
+                stale++;
+                continue;
+            }
+            accepted++;
+            dispatchIndex.updatePosition(ping.getDriverId(), ping.getLatitude(), ping.getLongitude(), timestamp);
+            trackingStreamService.publishPosition(ping.getDriverId(), ping.getLatitude(), ping.getLongitude(),
+                    speed, heading, timestamp);
+            geofenceService.onPosition(ping.getDriverId(), ping.getLatitude(), ping.getLongitude(), timestamp);
+            if (result == DriverLocationStore.UpdateResult.SAMPLED) {
+                locationTrailWriter.enqueue(new DriverPosition(ping.getDriverId(), ping.getLatitude(),
+                        ping.getLongitude(), speed, heading, timestamp));
+            }
+        }
+        
+        if (rejected > 0) {
+            log.debug("Rejected {} of {} location pings", rejected, pings.size());
+        }
+        return new LocationBatchResponse(accepted, stale, rejected);
+    }
+
+    public DriverLocationResponse getLatestLocation(Long driverId) {
+        DriverPosition position = driverLocationStore.get(driverId);
+        if (position == null) {
+            throw new EntityNotFoundException("No location reported for driver ID: " + driverId);
+        }
+        return mapToDriverLocationResponse(position);
+    }
+
+    @Transactional(readOnly = true)
+    public List<DriverLocationResponse> getTrail(Long driverId, LocalDateTime from, LocalDateTime to) {
+        log.info("Fetching location trail for driver ID: {} between {} and {}", driverId, from, to);
+        
+        return driverLocationSampleRepository
+                .findByDriverIdAndRecordedAtBetweenOrderByRecordedAtAsc(driverId, from, to, PageRequest.of(0, maxTrailPoints))
+                .stream()
+                .map(this::mapToDriverLocationResponse)
+                .collect(Collectors.toList());
+    }
+
+    private boolean isValid(LocationPing ping, long now) {
+        return ping != null
+                && ping.getDriverId() != null
+                && ping.getLatitude() != null && Math.abs(ping.getLatitude()) <= 90
+                && ping.getLongitude() != null && Math.abs(ping.getLongitude()) <= 180
+                // A device clock far ahead would make every later ping look stale
+                && (ping.getTimestamp() == null || ping.getTimestamp() <= now + maxClockSkewMillis);
+    }
+
+    private DriverLocationResponse mapToDriverLocationResponse(DriverPosition position) {
+        return DriverLocationResponse.builder()
+                .driverId(position.driverId())
+                .latitude(position.latitude())
+                .longitude(position.longitude())
+                .speedKmh(position.speedKmh())
+                .heading(position.heading())
+                .recordedAt(LocationTrailWriter.toLocalDateTime(position.recordedAt()))
+                .build();
+    }
+
+    private DriverLocationResponse mapToDriverLocationResponse(DriverLocationSample sample) {
+        return DriverLocationResponse.builder()
+                .driverId(sample.getDriverId())
+                .latitude(sample.getLatitude())
+                .longitude(sample.getLongitude())
+                .speedKmh(sample.getSpeedKmh())
+                .heading(sample.getHeading())
+                .recordedAt(sample.getRecordedAt())
+                .build();
+    }
+}
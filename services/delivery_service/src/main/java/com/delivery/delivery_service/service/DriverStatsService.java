@@ -0,0 +1,199 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.dto.DriverStatsResponse;
+import com.delivery.delivery_service.model.DeliveryStatus;
+import com.delivery.delivery_service.model.DriverStatsSnapshot;
+import com.delivery.delivery_service.repository.DriverStatsSnapshotRepository;
+import com.delivery.delivery_service.tracking.ActiveDeliveryRegistry;
+import com.delivery.delivery_service.tracking.DriverStatsStore;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Driver workload statistics served from {@link DriverStatsStore} and snapshotted to
+ * {@code driver_stats_snapshots} on a schedule, off the status update path.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DriverStatsService {
+
+    private static final String UPSERT_SNAPSHOT =
+            "INSERT INTO driver_stats_snapshots (driver_id, picked_up_total, delivered_total, cancelled_total, " +
+            "pickup_to_drop_millis_total, timed_deliveries_total, delivered_last_hour, delivered_last_day, " +
+            "cancelled_last_day, average_pickup_to_drop_seconds_last_day, snapshot_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (driver_id) DO UPDATE SET picked_up_total = EXCLUDED.picked_up_total, " +
+            "delivered_total = EXCLUDED.delivered_total, cancelled_total = EXCLUDED.cancelled_total, " +
+            "pickup_to_drop_millis_total = EXCLUDED.pickup_to_drop_millis_total, " +
+            "timed_deliveries_total = EXCLUDED.timed_deliveries_total, " +
+            "delivered_last_hour = EXCLUDED.delivered_last_hour, delivered_last_day = EXCLUDED.delivered_last_day, " +
+            "cancelled_last_day = EXCLUDED.cancelled_last_day, " +
+            "average_pickup_to_drop_seconds_last_day = EXCLUDED.average_pickup_to_drop_seconds_last_day, " +
+            "snapshot_at = EXCLUDED.snapshot_at";
+
+    // Lifetime totals from delivery history, for drivers that have never been snapshotted
+    private static final String SELECT_UNSNAPSHOTTED_TOTALS =
+            "SELECT d.driver_id, " +
+            "COUNT(*) FILTER (WHERE d.picked_up_at IS NOT NULL) AS picked_up, " +
+            "COUNT(*) FILTER (WHERE d.status = 'DELIVERED') AS delivered, " +
+            "COUNT(*) FILTER (WHERE d.status = 'CANCELLED') AS cancelled, " +
+            "COALESCE(SUM(CAST(EXTRACT(EPOCH FROM (d.delivered_at - d.picked_up_at)) * 1000 AS BIGINT)) " +
+            "FILTER (WHERE d.status = 'DELIVERED' AND d.picked_up_at IS NOT NULL AND d.delivered_at IS NOT NULL), 0) " +
+            "AS pickup_to_drop_millis, " +
+            "COUNT(*) FILTER (WHERE d.status = 'DELIVERED' AND d.picked_up_at IS NOT NULL AND d.delivered_at IS NOT NULL) " +
+            "AS timed_deliveries " +
+            "FROM deliveries_new d " +
+            "WHERE d.driver_id IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM driver_stats_snapshots s WHERE s.driver_id = d.driver_id) " +
+            "GROUP BY d.driver_id";
+
+    private final DriverStatsStore driverStatsStore;
+    private final ActiveDeliveryRegistry activeDeliveryRegistry;
+    private final DriverStatsSnapshotRepository driverStatsSnapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Lifetime totals survive restarts; the rolling windows start empty and refill as deliveries complete.
+     * Drivers without a snapshot are seeded once from their delivery history and then snapshotted.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreSnapshots() {
+        List<DriverStatsSnapshot> snapshots = driverStatsSnapshotRepository.findAll();
+        for (DriverStatsSnapshot snapshot : snapshots) {
+            driverStatsStore.restore(snapshot.getDriverId(), new DriverStatsStore.Totals(
+                    snapshot.getPickedUpTotal(), snapshot.getDeliveredTotal(), snapshot.getCancelledTotal(),
+                    snapshot.getPickupToDropMillisTotal(), snapshot.getTimedDeliveriesTotal()));
+        }
+        log.info("Restored statistics for {} drivers", snapshots.size());
+
+        int[] seeded = new int[1];
+        jdbcTemplate.query(SELECT_UNSNAPSHOTTED_TOTALS, resultSet -> {
+            long driverId = resultSet.getLong("driver_id");
+            driverStatsStore.restore(driverId, new DriverStatsStore.Totals(
+                    resultSet.getLong("picked_up"), resultSet.getLong("delivered"), resultSet.getLong("cancelled"),
+                    resultSet.getLong("pickup_to_drop_millis"), resultSet.getLong("timed_deliveries")));
+            // Persist the seed so the next start restores it instead of recounting
+            driverStatsStore.markDirty(driverId);
+            seeded[0]++;
+        });
+        if (seeded[0] > 0) {
+            log.info("Seeded statistics for {} drivers from delivery history", seeded[0]);
+        }
+    }
+
+    /**
+     * Called after a status change commits.
+     */
+    public void recordTransition(Long driverId, DeliveryStatus status, LocalDateTime pickedUpAt, LocalDateTime at) {
+        if (driverId == null) {
+            return;
+        }
+        long pickupToDropMillis = status == DeliveryStatus.DELIVERED && pickedUpAt != null
+                ? Duration.between(pickedUpAt, at).toMillis()
+                : -1L;
+        driverStatsStore.record(driverId, status, Timestamp.valueOf(at).getTime(), pickupToDropMillis);
+    }
+
+    public DriverStatsResponse getStats(Long driverId) {
+        long now = System.currentTimeMillis();
+        DriverStatsStore.Snapshot snapshot = driverStatsStore.get(driverId, now);
+        if (snapshot == null) {
+            DriverStatsStore.Totals empty = DriverStatsStore.Totals.EMPTY;
+            snapshot = new DriverStatsStore.Snapshot(driverId, empty, empty, empty);
+        }
+        return mapToDriverStatsResponse(snapshot);
+    }
+
+    /**
+     * Drivers ordered by current load, then by deliveries in the last hour.
+     */
+    public List<DriverStatsResponse> getBusiestDrivers(int limit) {
+        long now = System.currentTimeMillis();
+        return driverStatsStore.all(now).stream()
+                .map(this::mapToDriverStatsResponse)
+                .sorted(Comparator.comparing(DriverStatsResponse::getActiveDeliveries)
+                        .thenComparing(DriverStatsResponse::getDeliveredLastHour)
+                        .reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(initialDelayString = "${delivery.driver-stats.snapshot-interval-ms:60000}",
+            fixedDelayString = "${delivery.driver-stats.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        List<DriverStatsStore.Snapshot> changed = driverStatsStore.drainDirty(System.currentTimeMillis());
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Timestamp snapshotAt = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SNAPSHOT, changed, changed.size(), (statement, snapshot) -> {
+                DriverStatsStore.Totals lifetime = snapshot.lifetime();
+                DriverStatsStore.Totals lastDay = snapshot.lastDay();
+                statement.setLong(1, snapshot.driverId());
+                statement.setLong(2, lifetime.pickedUp());
+                statement.setLong(3, lifetime.delivered());
+                statement.setLong(4, lifetime.cancelled());
+                statement.setLong(5, lifetime.pickupToDropMillis());
+                statement.setLong(6, lifetime.timedDeliveries());
+                statement.setLong(7, snapshot.lastHour().delivered());
+                statement.setLong(8, lastDay.delivered());
+                statement.setLong(9, lastDay.cancelled());
+                if (lastDay.averagePickupToDropSeconds() != null) {
+                    statement.setDouble(10, lastDay.averagePickupToDropSeconds());
+                } else {
+                    statement.setNull(10, Types.DOUBLE);
+                }
+                statement.setTimestamp(11, snapshotAt);
+            });
+            log.debug("Snapshotted statistics for {} drivers", changed.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to snapshot statistics for {} drivers: {}", changed.size(), e.getMessage());
+            changed.forEach(snapshot -> driverStatsStore.markDirty(snapshot.driverId()));
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        snapshot();
+    }
+
+    private DriverStatsResponse mapToDriverStatsResponse(DriverStatsStore.Snapshot snapshot) {
+        int active = (int) activeDeliveryRegistry.forDriver(snapshot.driverId()).stream()
+                .filter(delivery -> DeliveryStatus.ACTIVE.contains(delivery.status()))
+                .count();
+        DriverStatsStore.Totals lastHour = snapshot.lastHour();
+        DriverStatsStore.Totals lastDay = snapshot.lastDay();
+        DriverStatsStore.Totals lifetime = snapshot.lifetime();
+        return DriverStatsResponse.builder()
+                .driverId(snapshot.driverId())
+                .activeDeliveries(active)
+                .pickedUpLastHour(lastHour.pickedUp())
+                .deliveredLastHour(lastHour.delivered())
+                .averagePickupToDropSecondsLastHour(lastHour.averagePickupToDropSeconds())
+                .deliveredLastDay(lastDay.delivered())
+                .cancelledLastDay(lastDay.cancelled())
+                .deliveriesPerHourLastDay(lastDay.delivered() / 24.0)
+                .averagePickupToDropSecondsLastDay(lastDay.averagePickupToDropSeconds())
+                .deliveredTotal(lifetime.delivered())
+                .cancelledTotal(lifetime.cancelled())
+                .averagePickupToDropSecondsTotal(lifetime.averagePickupToDropSeconds())
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.dto.EtaResponse;
+import com.delivery.delivery_service.model.Delivery;
+import com.delivery.delivery_service.model.DeliveryStatus;
+import com.delivery.delivery_service.repository.DeliveryRepository;
+import com.delivery.delivery_service.tracking.ActiveDeliveryRegistry;
+import com.delivery.delivery_service.tracking.DriverLocationStore;
+import com.delivery.delivery_service.tracking.DriverPosition;
+import com.delivery.delivery_service.tracking.TravelTimeGrid;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Delivery ETAs from the in-memory travel time grid. Active deliveries are answered from memory;
+ * finished deliveries and those handled by another instance fall back to the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EtaService {
+
+    private final DeliveryRepository deliveryRepository;
+    private final ActiveDeliveryRegistry activeDeliveryRegistry;
+    private final DriverLocationStore driverLocationStore;
+    private final TravelTimeGrid travelTimeGrid;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${delivery.eta.history-days:30}")
+    private long historyDays;
+
+    // Time spent at the restaurant between arriving and leaving with the order
+    @Value("${delivery.eta.pickup-dwell-seconds:180}")
+    private long pickupDwellSeconds;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadHistory() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        
+        AtomicLong learned = new AtomicLong();
+        travelTimeGrid.clear();
+        transactionTemplate.executeWithoutResult(tx -> {
+            try (Stream<DeliveryRepository.CompletedTrip> trips =
+                         deliveryRepository.streamCompletedTripsSince(LocalDateTime.now().minusDays(historyDays))) {
+                trips.forEach(trip -> {
+                    if (travelTimeGrid.record(trip.getPickupLatitude(), trip.getPickupLongitude(),
+                            trip.getDeliveryLatitude(), trip.getDeliveryLongitude(),
+                            Duration.between(trip.getPickedUpAt(), trip.getDeliveredAt()).getSeconds())) {
+                        learned.incrementAndGet();
+                    }
+                });
+            }
+        });
+        log.info("Travel time grid learned from {} trips ({} cell pairs)", learned.get(), travelTimeGrid.pairCount());
+    }
+
+    /**
+     * Feeds a just-delivered trip into the grid so estimates follow current traffic.
+     */
+    public void recordCompletedTrip(Delivery delivery) {
+        if (delivery.getPickedUpAt() == null || delivery.getDeliveredAt() == null
+                || delivery.getPickupLatitude() == null || delivery.getPickupLongitude() == null
+                || delivery.getDeliveryLatitude() == null || delivery.getDeliveryLongitude() == null) {
+            return;
+        }
+        travelTimeGrid.record(delivery.getPickupLatitude(), delivery.getPickupLongitude(),
+                delivery.getDeliveryLatitude(), delivery.getDeliveryLongitude(),
+                Duration.between(delivery.getPickedUpAt(), delivery.getDeliveredAt()).getSeconds());
+    }
+
+    public EtaResponse getEta(Long deliveryId) {
+        ActiveDeliveryRegistry.ActiveDelivery delivery = activeDeliveryRegistry.get(deliveryId);
+        return delivery != null ? estimate(delivery) : getUntrackedEta(deliveryId);
+    }
+
+    private EtaResponse estimate(ActiveDeliveryRegistry.ActiveDelivery delivery) {
+        if (!delivery.hasDropOff()) {
+            throw new IllegalArgumentException("Delivery " + delivery.deliveryId() + " has no drop-off coordinates");
+        }
+        
+        DriverPosition position = delivery.driverId() != null ? driverLocationStore.get(delivery.driverId()) : null;
+        boolean onBoard = delivery.status() == DeliveryStatus.PICKED_UP || delivery.status() == DeliveryStatus.IN_TRANSIT;
+        
+        if (onBoard) {
+            TravelTimeGrid.Estimate toDropOff = position != null
+                    ? travelTimeGrid.estimate(position.latitude(), position.longitude(),
+                            delivery.deliveryLatitude(), delivery.deliveryLongitude())
+                    : pickupToDropOff(delivery);
+            return buildResponse(delivery, null, toDropOff.seconds(), toDropOff);
+        }
+        
+        TravelTimeGrid.Estimate toDropOff = pickupToDropOff(delivery);
+        Long pickupSeconds = null;
+        double remainingKm = toDropOff.distanceKm();
+        if (position != null) {
+            TravelTimeGrid.Estimate toPickup = travelTimeGrid.estimate(position.latitude(), position.longitude(),
+                    delivery.pickupLatitude(), delivery.pickupLongitude());
+            pickupSeconds = toPickup.seconds();
+            remainingKm += toPickup.distanceKm();
+        }
+        long total = (pickupSeconds != null ? pickupSeconds : 0) + pickupDwellSeconds + toDropOff.seconds();
+        EtaResponse response = buildResponse(delivery, pickupSeconds, total, toDropOff);
+        response.setRemainingDistanceKm(remainingKm);
+        return response;
+    }
+
+    private TravelTimeGrid.Estimate pickupToDropOff(ActiveDeliveryRegistry.ActiveDelivery delivery) {
+        if (!delivery.hasPickup()) {
+            throw new IllegalArgumentException("Delivery " + delivery.deliveryId() + " has no pickup coordinates");
+        }
+        return travelTimeGrid.estimate(delivery.pickupLatitude(), delivery.pickupLongitude(),
+                delivery.deliveryLatitude(), delivery.deliveryLongitude());
+    }
+
+    private EtaResponse buildResponse(ActiveDeliveryRegistry.ActiveDelivery delivery, Long pickupSeconds,
+                                      long etaSeconds, TravelTimeGrid.Estimate toDropOff) {
+        return EtaResponse.builder()
+                .deliveryId(delivery.deliveryId())
+                .status(delivery.status())
+                .pickupEtaSeconds(pickupSeconds)
+                .etaSeconds(etaSeconds)
+                .estimatedDeliveryAt(LocalDateTime.now().plusSeconds(etaSeconds))
+                .remainingDistanceKm(toDropOff.distanceKm())
+                .source(toDropOff.source())
+                .build();
+    }
+
+    private EtaResponse getUntrackedEta(Long deliveryId) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        Delivery delivery = transactionTemplate.execute(tx -> deliveryRepository.findById(deliveryId))
+                .orElseThrow(() -> new EntityNotFoundException("Delivery not found with ID: " + deliveryId));
+        
+        if (delivery.getStatus() == DeliveryStatus.CANCELLED) {
+            throw new EntityNotFoundException("No estimate for cancelled delivery " + deliveryId);
+        }
+        if (delivery.getStatus() != DeliveryStatus.DELIVERED) {
+            // Owned by another instance: estimate from the row just read without adding it to the registry,
+            // which only this instance's own status changes keep up to date
+            return estimate(ActiveDeliveryRegistry.ActiveDelivery.of(delivery));
+        }
+        return EtaResponse.builder()
+                .deliveryId(deliveryId)
+                .status(delivery.getStatus())
+                .etaSeconds(0L)
+                .estimatedDeliveryAt(delivery.getDeliveredAt())
+                .remainingDistanceKm(0.0)
+                .build();
+    }
+}
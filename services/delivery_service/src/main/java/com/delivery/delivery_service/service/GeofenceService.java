@@ -0,0 +1,96 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.tracking.ActiveDeliveryRegistry;
+import com.delivery.delivery_service.tracking.GeofenceTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Turns ingested driver positions into automatic status transitions.
+ * <p>
+ * Positions are checked in memory against the pinging driver's active deliveries only. Triggered
+ * transitions are queued and applied by a scheduled drain, so location ingestion never waits on
+ * the database. A delivery has at most one queued transition at a time.
+ */
+@Service
+@Slf4j
+public class GeofenceService {
+
+    private final ActiveDeliveryRegistry activeDeliveryRegistry;
+    private final GeofenceTracker geofenceTracker;
+    private final DeliveryService deliveryService;
+    private final BlockingQueue<GeofenceTracker.Transition> queue;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final boolean enabled;
+    private final Counter appliedTransitions;
+    private final Counter skippedTransitions;
+    private final Counter droppedTransitions;
+
+    public GeofenceService(ActiveDeliveryRegistry activeDeliveryRegistry,
+                           GeofenceTracker geofenceTracker,
+                           DeliveryService deliveryService,
+                           MeterRegistry meterRegistry,
+                           @Value("${delivery.geofence.enabled:true}") boolean enabled,
+                           @Value("${delivery.geofence.queue-capacity:10000}") int queueCapacity) {
+        this.activeDeliveryRegistry = activeDeliveryRegistry;
+        this.geofenceTracker = geofenceTracker;
+        this.deliveryService = deliveryService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.enabled = enabled;
+        this.appliedTransitions = meterRegistry.counter("delivery.geofence.transitions", "outcome", "applied");
+        this.skippedTransitions = meterRegistry.counter("delivery.geofence.transitions", "outcome", "skipped");
+        this.droppedTransitions = meterRegistry.counter("delivery.geofence.transitions", "outcome", "dropped");
+        meterRegistry.gauge("delivery.geofence.dwelling", geofenceTracker, GeofenceTracker::dwellingCount);
+    }
+
+    public void onPosition(long driverId, double latitude, double longitude, long recordedAt) {
+        if (!enabled) {
+            return;
+        }
+        for (ActiveDeliveryRegistry.ActiveDelivery delivery : activeDeliveryRegistry.forDriver(driverId)) {
+            if (queued.contains(delivery.deliveryId())) {
+                continue;
+            }
+            GeofenceTracker.Transition transition = geofenceTracker.evaluate(delivery, latitude, longitude, recordedAt);
+            if (transition != null && queued.add(transition.deliveryId())) {
+                if (!queue.offer(transition)) {
+                    // Re-triggered by a later ping once there is room
+                    queued.remove(transition.deliveryId());
+                    droppedTransitions.increment();
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.geofence.apply-interval-ms:1000}")
+    public void applyTransitions() {
+        List<GeofenceTracker.Transition> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        for (GeofenceTracker.Transition transition : batch) {
+            try {
+                if (deliveryService.advanceStatus(transition.deliveryId(), transition.from(), transition.to())) {
+                    appliedTransitions.increment();
+                } else {
+                    skippedTransitions.increment();
+                }
+            } catch (RuntimeException e) {
+                log.error("Failed to move delivery ID: {} to {}: {}", transition.deliveryId(), transition.to(), e.getMessage());
+                skippedTransitions.increment();
+            } finally {
+                queued.remove(transition.deliveryId());
+            }
+        }
+        geofenceTracker.retain(deliveryId -> activeDeliveryRegistry.get(deliveryId) != null);
+    }
+}
@@ -0,0 +1,93 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.tracking.DriverPosition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Buffers sampled driver positions and writes them to {@code driver_location_samples} in JDBC batches,
+ * off the ingestion request path. When the buffer is full new samples are dropped rather than
+ * slowing down ingestion; the latest position is unaffected.
+ */
+@Component
+@Slf4j
+public class LocationTrailWriter {
+
+    private static final String INSERT_SAMPLE =
+            "INSERT INTO driver_location_samples (driver_id, latitude, longitude, speed_kmh, heading, recorded_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<DriverPosition> buffer;
+    private final int batchSize;
+    private final Counter droppedSamples;
+    private final Counter writtenSamples;
+
+    public LocationTrailWriter(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${delivery.location.trail.buffer-capacity:50000}") int bufferCapacity,
+                               @Value("${delivery.location.trail.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.droppedSamples = meterRegistry.counter("delivery.location.trail.samples", "outcome", "dropped");
+        this.writtenSamples = meterRegistry.counter("delivery.location.trail.samples", "outcome", "written");
+    }
+
+    public void enqueue(DriverPosition position) {
+        if (!buffer.offer(position)) {
+            droppedSamples.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${delivery.location.trail.flush-interval-ms:2000}")
+    public void flush() {
+        List<DriverPosition> batch = new ArrayList<>(batchSize);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            try {
+                write(batch);
+                writtenSamples.increment(batch.size());
+            } catch (RuntimeException e) {
+                // Trail points are best effort; losing one batch is preferable to blocking ingestion
+                log.error("Failed to write {} driver location samples: {}", batch.size(), e.getMessage());
+                droppedSamples.increment(batch.size());
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<DriverPosition> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SAMPLE, batch, batch.size(), (statement, position) -> {
+            statement.setLong(1, position.driverId());
+            statement.setDouble(2, position.latitude());
+            statement.setDouble(3, position.longitude());
+            statement.setFloat(4, position.speedKmh());
+            statement.setFloat(5, position.heading());
+            statement.setTimestamp(6, Timestamp.valueOf(toLocalDateTime(position.recordedAt())));
+        });
+    }
+
+    static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,112 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.dto.PlannedRouteResponse;
+import com.delivery.delivery_service.dto.RouteStopResponse;
+import com.delivery.delivery_service.model.Delivery;
+import com.delivery.delivery_service.model.DeliveryStatus;
+import com.delivery.delivery_service.repository.DeliveryRepository;
+import com.delivery.delivery_service.tracking.DriverLocationStore;
+import com.delivery.delivery_service.tracking.DriverPosition;
+import com.delivery.delivery_service.tracking.RoutePlanner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoutePlanningService {
+
+    private final DeliveryRepository deliveryRepository;
+    private final DriverLocationStore driverLocationStore;
+    private final RoutePlanner routePlanner;
+
+    @Value("${delivery.routing.max-pending:2000}")
+    private int maxPending;
+
+    /**
+     * Stop order for the driver's active deliveries, starting from their latest reported position.
+     */
+    @Transactional(readOnly = true)
+    public PlannedRouteResponse planDriverRoute(Long driverId) {
+        log.info("Planning route for driver ID: {}", driverId);
+        
+        List<Delivery> deliveries = deliveryRepository.findByDriverIdAndStatusIn(driverId, DeliveryStatus.ACTIVE).stream()
+                .filter(this::hasCoordinates)
+                .toList();
+        DriverPosition position = driverLocationStore.get(driverId);
+        double latitude = position != null ? position.latitude() : Double.NaN;
+        double longitude = position != null ? position.longitude() : Double.NaN;
+        
+        RoutePlanner.Route route = routePlanner.plan(latitude, longitude, toJobs(deliveries));
+        return mapToPlannedRouteResponse(driverId, route, deliveries);
+    }
+
+    /**
+     * Groups pending deliveries that one driver could carry together. Only groups of two or more
+     * deliveries are returned; everything else is a normal single trip.
+     */
+    @Transactional(readOnly = true)
+    public List<PlannedRouteResponse> proposeRouteBatches() {
+        List<Delivery> pending = deliveryRepository.findByStatus(DeliveryStatus.PENDING).stream()
+                .filter(this::hasCoordinates)
+                .sorted(Comparator.comparing(Delivery::getCreatedAt))
+                .limit(maxPending)
+                .toList();
+        
+        long started = System.nanoTime();
+        List<PlannedRouteResponse> routes = routePlanner.group(toJobs(pending)).stream()
+                .filter(group -> group.size() > 1)
+                .map(group -> mapToPlannedRouteResponse(null, routePlanner.plan(Double.NaN, Double.NaN, group), pending))
+                .collect(Collectors.toList());
+        log.info("Planned {} multi-drop routes from {} pending deliveries in {} ms",
+                routes.size(), pending.size(), (System.nanoTime() - started) / 1_000_000);
+        return routes;
+    }
+
+    private boolean hasCoordinates(Delivery delivery) {
+        return delivery.getPickupLatitude() != null && delivery.getPickupLongitude() != null
+                && delivery.getDeliveryLatitude() != null && delivery.getDeliveryLongitude() != null;
+    }
+
+    private List<RoutePlanner.RouteJob> toJobs(List<Delivery> deliveries) {
+        return deliveries.stream()
+                .map(delivery -> new RoutePlanner.RouteJob(delivery.getId(),
+                        delivery.getPickupLatitude(), delivery.getPickupLongitude(),
+                        delivery.getDeliveryLatitude(), delivery.getDeliveryLongitude(),
+                        delivery.getStatus() == DeliveryStatus.PICKED_UP || delivery.getStatus() == DeliveryStatus.IN_TRANSIT))
+                .collect(Collectors.toList());
+    }
+
+    private PlannedRouteResponse mapToPlannedRouteResponse(Long driverId, RoutePlanner.Route route, List<Delivery> deliveries) {
+        Map<Long, Delivery> byId = deliveries.stream().collect(Collectors.toMap(Delivery::getId, Function.identity()));
+        List<RouteStopResponse> stops = route.stops().stream()
+                .map(stop -> {
+                    Delivery delivery = byId.get(stop.deliveryId());
+                    return RouteStopResponse.builder()
+                            .deliveryId(stop.deliveryId())
+                            .type(stop.type())
+                            .address(stop.type() == RoutePlanner.StopType.PICKUP
+                                    ? delivery.getRestaurantAddress() : delivery.getDeliveryAddress())
+                            .latitude(stop.latitude())
+                            .longitude(stop.longitude())
+                            .build();
+                })
+                .collect(Collectors.toList());
+        
+        return PlannedRouteResponse.builder()
+                .driverId(driverId)
+                .deliveryIds(route.jobs().stream().map(RoutePlanner.RouteJob::deliveryId).collect(Collectors.toList()))
+                .stops(stops)
+                .totalDistanceKm(route.distanceKm())
+                .build();
+    }
+}
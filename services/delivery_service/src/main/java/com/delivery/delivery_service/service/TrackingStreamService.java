@@ -0,0 +1,455 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.dto.DriverLocationResponse;
+import com.delivery.delivery_service.dto.TrackingStatusResponse;
+import com.delivery.delivery_service.model.Delivery;
+import com.delivery.delivery_service.model.DeliveryStatus;
+import com.delivery.delivery_service.repository.DeliveryRepository;
+import com.delivery.delivery_service.tracking.ActiveDeliveryRegistry;
+import com.delivery.delivery_service.tracking.DriverLocationStore;
+import com.delivery.delivery_service.tracking.DriverPosition;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes live status and driver position changes to customers watching a delivery over SSE.
+ * <p>
+ * Publishing only replaces the latest frame of the delivery's channel. A scheduled tick then sends
+ * whatever a subscriber has not seen yet, at most once per {@code min-interval-ms}, so a driver
+ * pinging every second costs one serialization per channel and intermediate positions are skipped
+ * for slow clients. Emitters hold no request thread; writes go through a small bounded pool and a
+ * subscriber with a write in flight is simply caught up on a later tick. The tick has its own
+ * thread so it is not delayed by the scheduled jobs sharing Spring's scheduler.
+ * <p>
+ * A delivery that is not in this instance's registry (created through another instance) is not
+ * added to it; its channel is polled from the database every {@code refresh-ms} instead.
+ */
+@Service
+@Slf4j
+public class TrackingStreamService {
+
+    private static final String STATUS_EVENT = "status";
+    private static final String POSITION_EVENT = "position";
+
+    private record Frame(long version, String json) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile long sentStatusVersion;
+        private volatile long sentPositionVersion;
+        private volatile long lastSentAt;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+
+    private static final class Channel {
+        private final long deliveryId;
+        private final boolean polled;
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicLong versions = new AtomicLong();
+        private volatile Long driverId;
+        private volatile DeliveryStatus currentStatus;
+        private volatile Frame status;
+        private volatile Frame position;
+        private volatile long positionRecordedAt;
+        private volatile boolean finished;
+        private volatile boolean dirty;
+
+        private Channel(long deliveryId, boolean polled) {
+            this.deliveryId = deliveryId;
+            this.polled = polled;
+        }
+    }
+
+    private final ActiveDeliveryRegistry activeDeliveryRegistry;
+    private final DriverLocationStore driverLocationStore;
+    private final DeliveryRepository deliveryRepository;
+    private final ObjectMapper objectMapper;
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor sendExecutor;
+    private final ScheduledExecutorService tickExecutor;
+    private final long minIntervalMillis;
+    private final long heartbeatMillis;
+    private final long timeoutMillis;
+    private final long tickMillis;
+    private final long refreshMillis;
+    private final int maxSubscribers;
+    private final Counter sentEvents;
+    private final Counter coalescedEvents;
+    private volatile long lastHeartbeatSweep = System.currentTimeMillis();
+    private volatile long lastRefresh = System.currentTimeMillis();
+
+    public TrackingStreamService(ActiveDeliveryRegistry activeDeliveryRegistry,
+                                 DriverLocationStore driverLocationStore,
+                                 DeliveryRepository deliveryRepository,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${delivery.tracking.stream.min-interval-ms:1000}") long minIntervalMillis,
+                                 @Value("${delivery.tracking.stream.heartbeat-ms:15000}") long heartbeatMillis,
+                                 @Value("${delivery.tracking.stream.timeout-ms:1800000}") long timeoutMillis,
+                                 @Value("${delivery.tracking.stream.tick-ms:100}") long tickMillis,
+                                 @Value("${delivery.tracking.stream.refresh-ms:5000}") long refreshMillis,
+                                 @Value("${delivery.tracking.stream.max-subscribers:50000}") int maxSubscribers,
+                                 @Value("${delivery.tracking.stream.send-threads:8}") int sendThreads,
+                                 @Value("${delivery.tracking.stream.send-queue:100000}") int sendQueue) {
+        this.activeDeliveryRegistry = activeDeliveryRegistry;
+        this.driverLocationStore = driverLocationStore;
+        this.deliveryRepository = deliveryRepository;
+        this.objectMapper = objectMapper;
+        this.minIntervalMillis = minIntervalMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.refreshMillis = refreshMillis;
+        this.maxSubscribers = maxSubscribers;
+        this.sendExecutor = new ThreadPoolExecutor(sendThreads, sendThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(sendQueue));
+        this.sentEvents = meterRegistry.counter("delivery.tracking.stream.events", "outcome", "sent");
+        this.coalescedEvents = meterRegistry.counter("delivery.tracking.stream.events", "outcome", "coalesced");
+        meterRegistry.gauge("delivery.tracking.stream.subscribers", subscriberCount);
+        this.tickMillis = tickMillis;
+        this.tickExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tracking-stream-tick");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        tickExecutor.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream for one delivery. The current status and driver position are sent on the
+     * first tick; a delivery that is already finished gets its final status and is closed.
+     */
+    public SseEmitter subscribe(Long deliveryId) {
+        ActiveDeliveryRegistry.ActiveDelivery active = activeDeliveryRegistry.get(deliveryId);
+        boolean polled = active == null;
+        if (polled) {
+            Delivery delivery = deliveryRepository.findById(deliveryId)
+                    .orElseThrow(() -> new EntityNotFoundException("Delivery not found with ID: " + deliveryId));
+            if (isFinished(delivery.getStatus())) {
+                return closedStream(delivery);
+            }
+            // Owned by another instance: polled from the database rather than added to the registry
+            active = ActiveDeliveryRegistry.ActiveDelivery.of(delivery);
+        }
+
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new RejectedExecutionException("Tracking stream limit of " + maxSubscribers + " subscribers reached");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        ActiveDeliveryRegistry.ActiveDelivery current = active;
+        Channel channel = channels.compute(deliveryId, (id, existing) -> {
+            Channel target = existing != null ? existing : newChannel(current, polled);
+            target.subscribers.add(subscriber);
+            target.dirty = true;
+            return target;
+        });
+
+        emitter.onCompletion(() -> unsubscribe(channel, subscriber));
+        emitter.onTimeout(() -> unsubscribe(channel, subscriber));
+        emitter.onError(e -> unsubscribe(channel, subscriber));
+        return emitter;
+    }
+
+    /**
+     * Records a driver's new position for every watched delivery the driver is carrying.
+     * Costs one map lookup when nobody is watching.
+     */
+    public void publishPosition(long driverId, double latitude, double longitude, float speedKmh, float heading, long recordedAt) {
+        if (channels.isEmpty()) {
+            return;
+        }
+        String json = null;
+        for (ActiveDeliveryRegistry.ActiveDelivery delivery : activeDeliveryRegistry.forDriver(driverId)) {
+            Channel channel = channels.get(delivery.deliveryId());
+            if (channel == null || channel.finished) {
+                continue;
+            }
+            if (json == null) {
+                json = toJson(positionResponse(new DriverPosition(driverId, latitude, longitude, speedKmh, heading, recordedAt)));
+            }
+            channel.position = new Frame(channel.versions.incrementAndGet(), json);
+            channel.positionRecordedAt = recordedAt;
+            channel.dirty = true;
+        }
+    }
+
+    /**
+     * Records a committed status change. Final statuses close the channel once delivered to subscribers.
+     */
+    public void publishStatus(long deliveryId, DeliveryStatus status, Long driverId) {
+        Channel channel = channels.get(deliveryId);
+        if (channel == null) {
+            return;
+        }
+        Long previousDriver = channel.driverId;
+        channel.driverId = driverId;
+        channel.currentStatus = status;
+        channel.status = new Frame(channel.versions.incrementAndGet(), toJson(statusResponse(deliveryId, status, driverId)));
+        if (driverId != null && !driverId.equals(previousDriver)) {
+            DriverPosition position = driverLocationStore.get(driverId);
+            if (position != null) {
+                setPosition(channel, position);
+            }
+        }
+        if (isFinished(status)) {
+            channel.finished = true;
+        }
+        channel.dirty = true;
+    }
+
+    /**
+     * Closes the streams of a deleted delivery.
+     */
+    public void close(long deliveryId) {
+        Channel channel = channels.get(deliveryId);
+        if (channel != null) {
+            channel.subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        }
+    }
+
+    private void tick() {
+        // An exception escaping a ScheduledExecutorService task would cancel every later tick
+        try {
+            long now = System.currentTimeMillis();
+            if (now - lastRefresh >= refreshMillis) {
+                lastRefresh = now;
+                refreshPolledChannels();
+            }
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Tracking stream tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void flush() {
+        long now = System.currentTimeMillis();
+        boolean heartbeat = now - lastHeartbeatSweep >= heartbeatMillis;
+        if (heartbeat) {
+            lastHeartbeatSweep = now;
+        }
+
+        for (Channel channel : channels.values()) {
+            if (!channel.dirty && !heartbeat) {
+                continue;
+            }
+            channel.dirty = false;
+            Frame status = channel.status;
+            Frame position = channel.position;
+            boolean finished = channel.finished;
+
+            boolean behindAfterTick = false;
+            for (Subscriber subscriber : channel.subscribers) {
+                boolean behind = subscriber.sentStatusVersion < status.version()
+                        || (position != null && subscriber.sentPositionVersion < position.version());
+                if (behind && (finished || now - subscriber.lastSentAt >= minIntervalMillis)) {
+                    if (!send(subscriber, status, position, finished, now)) {
+                        behindAfterTick = true;
+                    }
+                } else if (behind) {
+                    coalescedEvents.increment();
+                    behindAfterTick = true;
+                } else if (heartbeat && now - subscriber.lastSentAt >= heartbeatMillis) {
+                    // Keeps proxies from closing idle streams and finds clients that went away
+                    send(subscriber, null, null, false, now);
+                }
+            }
+            if (behindAfterTick) {
+                channel.dirty = true;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        tickExecutor.shutdownNow();
+        channels.values().forEach(channel -> channel.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        sendExecutor.shutdown();
+    }
+
+    // Status changes of other instances' deliveries only reach this instance through the database
+    private void refreshPolledChannels() {
+        List<Long> polledIds = channels.values().stream()
+                .filter(channel -> channel.polled && !channel.finished)
+                .map(channel -> channel.deliveryId)
+                .collect(Collectors.toList());
+        if (polledIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> found = new HashSet<>();
+        for (Delivery delivery : deliveryRepository.findAllById(polledIds)) {
+            found.add(delivery.getId());
+            Channel channel = channels.get(delivery.getId());
+            if (channel == null) {
+                continue;
+            }
+            if (delivery.getStatus() != channel.currentStatus || !Objects.equals(delivery.getDriverId(), channel.driverId)) {
+                publishStatus(delivery.getId(), delivery.getStatus(), delivery.getDriverId());
+            }
+            Long driverId = channel.driverId;
+            DriverPosition position = driverId != null ? driverLocationStore.get(driverId) : null;
+            if (position != null && position.recordedAt() > channel.positionRecordedAt) {
+                setPosition(channel, position);
+                channel.dirty = true;
+            }
+        }
+        polledIds.stream().filter(id -> !found.contains(id)).forEach(this::close);
+    }
+
+    // Returns false when the subscriber still has a write in flight or the pool is saturated
+    private boolean send(Subscriber subscriber, Frame status, Frame position, boolean finished, long now) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            sendExecutor.execute(() -> write(subscriber, status, position, finished, now));
+            return true;
+        } catch (RejectedExecutionException e) {
+            subscriber.sending.set(false);
+            return false;
+        }
+    }
+
+    private void write(Subscriber subscriber, Frame status, Frame position, boolean finished, long now) {
+        try {
+            if (status == null && position == null) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            if (status != null && subscriber.sentStatusVersion < status.version()) {
+                subscriber.emitter.send(SseEmitter.event().name(STATUS_EVENT).data(status.json()));
+                subscriber.sentStatusVersion = status.version();
+                sentEvents.increment();
+            }
+            if (position != null && subscriber.sentPositionVersion < position.version()) {
+                subscriber.emitter.send(SseEmitter.event().name(POSITION_EVENT).data(position.json()));
+                subscriber.sentPositionVersion = position.version();
+                sentEvents.increment();
+            }
+            subscriber.lastSentAt = now;
+            if (finished) {
+                subscriber.emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected or the emitter already completed
+            log.debug("Closing tracking stream: {}", e.getMessage());
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    private void unsubscribe(Channel channel, Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        channels.computeIfPresent(channel.deliveryId, (id, current) -> {
+            if (current.subscribers.remove(subscriber)) {
+                removed.set(true);
+            }
+            return current.subscribers.isEmpty() ? null : current;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private Channel newChannel(ActiveDeliveryRegistry.ActiveDelivery delivery, boolean polled) {
+        Channel channel = new Channel(delivery.deliveryId(), polled);
+        channel.driverId = delivery.driverId();
+        channel.currentStatus = delivery.status();
+        channel.status = new Frame(channel.versions.incrementAndGet(),
+                toJson(statusResponse(delivery.deliveryId(), delivery.status(), delivery.driverId())));
+        if (delivery.driverId() != null) {
+            DriverPosition position = driverLocationStore.get(delivery.driverId());
+            if (position != null) {
+                setPosition(channel, position);
+            }
+        }
+        return channel;
+    }
+
+    private void setPosition(Channel channel, DriverPosition position) {
+        channel.position = new Frame(channel.versions.incrementAndGet(), toJson(positionResponse(position)));
+        channel.positionRecordedAt = position.recordedAt();
+    }
+
+    private SseEmitter closedStream(Delivery delivery) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        try {
+            emitter.send(SseEmitter.event().name(STATUS_EVENT)
+                    .data(toJson(statusResponse(delivery.getId(), delivery.getStatus(), delivery.getDriverId()))));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    private static boolean isFinished(DeliveryStatus status) {
+        return status == DeliveryStatus.DELIVERED || status == DeliveryStatus.CANCELLED;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize tracking event", e);
+        }
+    }
+
+    private static TrackingStatusResponse statusResponse(long deliveryId, DeliveryStatus status, Long driverId) {
+        return TrackingStatusResponse.builder()
+                .deliveryId(deliveryId)
+                .status(status)
+                .driverId(driverId)
+                .build();
+    }
+
+    private static DriverLocationResponse positionResponse(DriverPosition position) {
+        return DriverLocationResponse.builder()
+                .driverId(position.driverId())
+                .latitude(position.latitude())
+                .longitude(position.longitude())
+                .speedKmh(position.speedKmh())
+                .heading(position.heading())
+                .recordedAt(LocationTrailWriter.toLocalDateTime(position.recordedAt()))
+                .build();
+    }
+}
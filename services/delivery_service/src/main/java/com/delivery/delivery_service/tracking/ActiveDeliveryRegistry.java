@@ -0,0 +1,140 @@
+package com.delivery.delivery_service.tracking;
+
+import com.delivery.delivery_service.model.Delivery;
+import com.delivery.delivery_service.model.DeliveryStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The geometry and state of every delivery that is not yet delivered or cancelled, so hot read
+ * paths (ETA, live tracking) can answer without loading the row. Updated after each committed write.
+ */
+public class ActiveDeliveryRegistry {
+
+    public record ActiveDelivery(long deliveryId, Long driverId, DeliveryStatus status,
+                                 Double pickupLatitude, Double pickupLongitude,
+                                 Double deliveryLatitude, Double deliveryLongitude,
+                                 LocalDateTime pickedUpAt) {
+
+        public static ActiveDelivery of(Delivery delivery) {
+            return new ActiveDelivery(delivery.getId(), delivery.getDriverId(), delivery.getStatus(),
+                    delivery.getPickupLatitude(), delivery.getPickupLongitude(),
+                    delivery.getDeliveryLatitude(), delivery.getDeliveryLongitude(),
+                    delivery.getPickedUpAt());
+        }
+
+        public ActiveDelivery withDriver(Long driverId, DeliveryStatus status) {
+            return new ActiveDelivery(deliveryId, driverId, status, pickupLatitude, pickupLongitude,
+                    deliveryLatitude, deliveryLongitude, pickedUpAt);
+        }
+
+        // Null arguments keep the current coordinate
+        public ActiveDelivery withLocations(Double pickupLatitude, Double pickupLongitude,
+                                            Double deliveryLatitude, Double deliveryLongitude) {
+            return new ActiveDelivery(deliveryId, driverId, status,
+                    pickupLatitude != null ? pickupLatitude : this.pickupLatitude,
+                    pickupLongitude != null ? pickupLongitude : this.pickupLongitude,
+                    deliveryLatitude != null ? deliveryLatitude : this.deliveryLatitude,
+                    deliveryLongitude != null ? deliveryLongitude : this.deliveryLongitude,
+                    pickedUpAt);
+        }
+
+        public boolean hasPickup() {
+            return pickupLatitude != null && pickupLongitude != null;
+        }
+
+        public boolean hasDropOff() {
+            return deliveryLatitude != null && deliveryLongitude != null;
+        }
+    }
+
+    private final Map<Long, ActiveDelivery> deliveries = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byDriver = new ConcurrentHashMap<>();
+
+    /**
+     * Records the current state of a delivery, dropping it once it reaches a final status.
+     */
+    public void track(Delivery delivery) {
+        if (delivery.getStatus() == DeliveryStatus.DELIVERED || delivery.getStatus() == DeliveryStatus.CANCELLED) {
+            remove(delivery.getId());
+        } else {
+            put(ActiveDelivery.of(delivery));
+        }
+    }
+
+    public void put(ActiveDelivery delivery) {
+        ActiveDelivery previous = deliveries.put(delivery.deliveryId(), delivery);
+        if (previous != null && previous.driverId() != null && !previous.driverId().equals(delivery.driverId())) {
+            unlink(previous.driverId(), delivery.deliveryId());
+        }
+        if (delivery.driverId() != null) {
+            byDriver.compute(delivery.driverId(), (driverId, ids) -> {
+                Set<Long> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                target.add(delivery.deliveryId());
+                return target;
+            });
+        }
+    }
+
+    public void remove(long deliveryId) {
+        ActiveDelivery previous = deliveries.remove(deliveryId);
+        if (previous != null && previous.driverId() != null) {
+            unlink(previous.driverId(), deliveryId);
+        }
+    }
+
+    /**
+     * Moves the pickup or drop-off of a tracked delivery without needing the full row.
+     */
+    public void relocate(long deliveryId, Double pickupLatitude, Double pickupLongitude,
+                         Double deliveryLatitude, Double deliveryLongitude) {
+        deliveries.computeIfPresent(deliveryId, (id, delivery) ->
+                delivery.withLocations(pickupLatitude, pickupLongitude, deliveryLatitude, deliveryLongitude));
+    }
+
+    public ActiveDelivery get(long deliveryId) {
+        return deliveries.get(deliveryId);
+    }
+
+    public List<ActiveDelivery> forDriver(long driverId) {
+        Set<Long> ids = byDriver.get(driverId);
+        if (ids == null) {
+            return List.of();
+        }
+        List<ActiveDelivery> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ActiveDelivery delivery = deliveries.get(id);
+            if (delivery != null) {
+                result.add(delivery);
+            }
+        }
+        return result;
+    }
+
+    public Collection<ActiveDelivery> all() {
+        return deliveries.values();
+    }
+
+    public void replaceAll(List<Delivery> active) {
+        deliveries.clear();
+        byDriver.clear();
+        active.forEach(this::track);
+    }
+
+    public int size() {
+        return deliveries.size();
+    }
+
+    private void unlink(long driverId, long deliveryId) {
+        byDriver.computeIfPresent(driverId, (id, ids) -> {
+            ids.remove(deliveryId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
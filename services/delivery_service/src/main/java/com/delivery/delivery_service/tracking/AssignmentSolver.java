@@ -0,0 +1,259 @@
+package com.delivery.delivery_service.tracking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Minimum-cost assignment of jobs to workers where each job only has a short list of
+ * candidate workers (the drivers near its pickup).
+ * <p>
+ * Jobs that share no candidates cannot affect each other, so the problem is first split into
+ * connected components, which are solved in parallel. Small components are solved exactly with
+ * the Hungarian algorithm. Large ones use a greedy pass over edges by ascending cost, followed
+ * by pairwise swap improvement.
+ */
+public class AssignmentSolver {
+
+    // Cost of leaving a job unassigned; larger than any real option
+    private static final double UNASSIGNED = 1e9;
+    private static final double EPSILON = 1e-9;
+
+    private final int exactThreshold;
+    private final int improvementPasses;
+
+    public AssignmentSolver(int exactThreshold, int improvementPasses) {
+        this.exactThreshold = exactThreshold;
+        this.improvementPasses = improvementPasses;
+    }
+
+    public record Option(int worker, double cost) {
+    }
+
+    /**
+     * @param options candidate workers per job, worker indexes in {@code [0, workerCount)}
+     * @return the worker index per job, or -1 when the job stays unassigned
+     */
+    public int[] solve(List<List<Option>> options, int workerCount) {
+        int[] assignment = new int[options.size()];
+        Arrays.fill(assignment, -1);
+        
+        List<int[]> components = components(options, workerCount);
+        // Components share no workers, so each one writes a disjoint part of the result
+        components.parallelStream().forEach(jobs -> {
+            if (jobs.length <= exactThreshold && distinctWorkers(options, jobs).size() <= exactThreshold) {
+                solveExact(options, jobs, assignment);
+            } else {
+                solveGreedy(options, jobs, assignment);
+            }
+        });
+        return assignment;
+    }
+
+    private List<int[]> components(List<List<Option>> options, int workerCount) {
+        int jobCount = options.size();
+        // Union-find over jobs followed by workers
+        int[] parent = IntStream.range(0, jobCount + workerCount).toArray();
+        for (int job = 0; job < jobCount; job++) {
+            for (Option option : options.get(job)) {
+                union(parent, job, jobCount + option.worker());
+            }
+        }
+        
+        Map<Integer, List<Integer>> byRoot = new HashMap<>();
+        for (int job = 0; job < jobCount; job++) {
+            if (!options.get(job).isEmpty()) {
+                byRoot.computeIfAbsent(find(parent, job), root -> new ArrayList<>()).add(job);
+            }
+        }
+        List<int[]> components = new ArrayList<>(byRoot.size());
+        byRoot.values().forEach(jobs -> components.add(jobs.stream().mapToInt(Integer::intValue).toArray()));
+        return components;
+    }
+
+    private void solveExact(List<List<Option>> options, int[] jobs, int[] assignment) {
+        List<Integer> workers = distinctWorkers(options, jobs);
+        Map<Integer, Integer> column = new HashMap<>();
+        for (int i = 0; i < workers.size(); i++) {
+            column.put(workers.get(i), i);
+        }
+        
+        // Square matrix: missing edges, padding rows and padding columns all cost UNASSIGNED
+        int size = Math.max(jobs.length, workers.size());
+        double[][] cost = new double[size][size];
+        for (double[] row : cost) {
+            Arrays.fill(row, UNASSIGNED);
+        }
+        for (int row = 0; row < jobs.length; row++) {
+            for (Option option : options.get(jobs[row])) {
+                int c = column.get(option.worker());
+                cost[row][c] = Math.min(cost[row][c], option.cost());
+            }
+        }
+        
+        int[] columnOfRow = hungarian(cost);
+        for (int row = 0; row < jobs.length; row++) {
+            int c = columnOfRow[row];
+            if (c < workers.size() && cost[row][c] < UNASSIGNED) {
+                assignment[jobs[row]] = workers.get(c);
+            }
+        }
+    }
+
+    private void solveGreedy(List<List<Option>> options, int[] jobs, int[] assignment) {
+        List<long[]> edges = new ArrayList<>();
+        for (int job : jobs) {
+            List<Option> jobOptions = options.get(job);
+            for (int i = 0; i < jobOptions.size(); i++) {
+                edges.add(new long[]{job, i});
+            }
+        }
+        edges.sort(Comparator.comparingDouble(edge -> options.get((int) edge[0]).get((int) edge[1]).cost()));
+        
+        Map<Integer, Integer> owner = new HashMap<>();
+        for (long[] edge : edges) {
+            int job = (int) edge[0];
+            Option option = options.get(job).get((int) edge[1]);
+            if (assignment[job] < 0 && !owner.containsKey(option.worker())) {
+                assignment[job] = option.worker();
+                owner.put(option.worker(), job);
+            }
+        }
+        
+        for (int pass = 0; pass < improvementPasses; pass++) {
+            if (!improve(options, jobs, assignment, owner)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * One pass of moves to free workers and pairwise swaps that lower the total cost.
+     */
+    private boolean improve(List<List<Option>> options, int[] jobs, int[] assignment, Map<Integer, Integer> owner) {
+        boolean improved = false;
+        for (int job : jobs) {
+            int current = assignment[job];
+            if (current < 0) {
+                continue;
+            }
+            double currentCost = costOf(options.get(job), current);
+            for (Option option : options.get(job)) {
+                if (option.cost() >= currentCost - EPSILON) {
+                    continue;
+                }
+                Integer other = owner.get(option.worker());
+                if (other == null) {
+                    owner.remove(current);
+                    owner.put(option.worker(), job);
+                    assignment[job] = option.worker();
+                    improved = true;
+                    break;
+                }
+                double otherAlternative = costOf(options.get(other), current);
+                double delta = option.cost() + otherAlternative
+                        - currentCost - costOf(options.get(other), option.worker());
+                if (otherAlternative < UNASSIGNED && delta < -EPSILON) {
+                    assignment[job] = option.worker();
+                    assignment[other] = current;
+                    owner.put(option.worker(), job);
+                    owner.put(current, other);
+                    improved = true;
+                    break;
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static double costOf(List<Option> options, int worker) {
+        double best = UNASSIGNED;
+        for (Option option : options) {
+            if (option.worker() == worker) {
+                best = Math.min(best, option.cost());
+            }
+        }
+        return best;
+    }
+
+    private static List<Integer> distinctWorkers(List<List<Option>> options, int[] jobs) {
+        return Arrays.stream(jobs)
+                .boxed()
+                .flatMap(job -> options.get(job).stream().map(Option::worker))
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Hungarian algorithm with potentials, O(n^3) on a square matrix.
+     */
+    private static int[] hungarian(double[][] cost) {
+        int n = cost.length;
+        double[] u = new double[n + 1];
+        double[] v = new double[n + 1];
+        int[] p = new int[n + 1];
+        int[] way = new int[n + 1];
+        for (int i = 1; i <= n; i++) {
+            p[0] = i;
+            int j0 = 0;
+            double[] minv = new double[n + 1];
+            Arrays.fill(minv, Double.MAX_VALUE);
+            boolean[] used = new boolean[n + 1];
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                double delta = Double.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= n; j++) {
+                    if (!used[j]) {
+                        double current = cost[i0 - 1][j - 1] - u[i0] - v[j];
+                        if (current < minv[j]) {
+                            minv[j] = current;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= n; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+        
+        int[] columnOfRow = new int[n];
+        for (int j = 1; j <= n; j++) {
+            columnOfRow[p[j] - 1] = j - 1;
+        }
+        return columnOfRow;
+    }
+
+    private static int find(int[] parent, int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        parent[find(parent, a)] = find(parent, b);
+    }
+}
@@ -0,0 +1,224 @@
+package com.delivery.delivery_service.tracking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Online drivers bucketed into a fixed lat/lon grid, for nearest-driver dispatch.
+ * <p>
+ * Positions change with every ping, so the grid is built from concurrent maps instead of a
+ * single lock: moving a driver only touches its old and new cell. A k-nearest query walks
+ * rings of cells outwards from the pickup and stops once no unvisited cell can hold a closer
+ * driver than the k-th best found so far.
+ * <p>
+ * A driver is reserved for a delivery with {@link #tryReserve(long)}, which succeeds for exactly
+ * one caller until the driver is released again.
+ */
+public class DispatchIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final double cellDegrees;
+    private final long maxPositionAgeMillis;
+    private final long rows;
+    private final long columnsPerRow;
+    private final Map<Long, DriverEntry> drivers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Set<Long> busy = ConcurrentHashMap.newKeySet();
+
+    public DispatchIndex(double cellDegrees, long maxPositionAgeMillis) {
+        this.cellDegrees = cellDegrees;
+        this.maxPositionAgeMillis = maxPositionAgeMillis;
+        this.rows = (long) Math.ceil(180.0 / cellDegrees) + 1;
+        this.columnsPerRow = (long) Math.ceil(360.0 / cellDegrees);
+    }
+
+    /**
+     * Makes a driver dispatchable. {@code position} seeds the grid until the next ping; it may be {@code null}.
+     */
+    public void goOnline(long driverId, String driverName, String driverPhone, DriverPosition position) {
+        drivers.compute(driverId, (id, existing) -> {
+            DriverEntry entry = existing != null
+                    ? new DriverEntry(id, driverName, driverPhone, existing.latitude(), existing.longitude(),
+                            existing.recordedAt(), existing.cellKey())
+                    : new DriverEntry(id, driverName, driverPhone, 0, 0, Long.MIN_VALUE, -1);
+            if (position != null && position.recordedAt() > entry.recordedAt()) {
+                entry = move(entry, position.latitude(), position.longitude(), position.recordedAt());
+            }
+            return entry;
+        });
+    }
+
+    public void goOffline(long driverId) {
+        drivers.computeIfPresent(driverId, (id, entry) -> {
+            leaveCell(id, entry.cellKey());
+            return null;
+        });
+    }
+
+    /**
+     * Moves an online driver; pings of offline drivers are ignored.
+     */
+    public void updatePosition(long driverId, double latitude, double longitude, long recordedAt) {
+        drivers.computeIfPresent(driverId, (id, entry) ->
+                recordedAt >= entry.recordedAt() ? move(entry, latitude, longitude, recordedAt) : entry);
+    }
+
+    public boolean tryReserve(long driverId) {
+        return drivers.containsKey(driverId) && busy.add(driverId);
+    }
+
+    /**
+     * Marks a driver busy regardless of availability, e.g. for a manual assignment.
+     */
+    public void markBusy(long driverId) {
+        busy.add(driverId);
+    }
+
+    public void release(long driverId) {
+        busy.remove(driverId);
+    }
+
+    public DriverEntry getDriver(long driverId) {
+        return drivers.get(driverId);
+    }
+
+    public boolean isAvailable(long driverId) {
+        return drivers.containsKey(driverId) && !busy.contains(driverId);
+    }
+
+    /**
+     * Visits online, unreserved drivers with a fresh position.
+     */
+    public List<DriverEntry> availableDrivers(long now) {
+        List<DriverEntry> available = new ArrayList<>();
+        for (DriverEntry entry : drivers.values()) {
+            if (isDispatchable(entry, now)) {
+                available.add(entry);
+            }
+        }
+        return available;
+    }
+
+    public int onlineCount() {
+        return drivers.size();
+    }
+
+    /**
+     * Up to {@code k} available drivers within {@code maxRadiusKm} of the origin, nearest first.
+     */
+    public List<Candidate> nearest(double latitude, double longitude, int k, double maxRadiusKm, long now) {
+        PriorityQueue<Candidate> best = new PriorityQueue<>(k + 1,
+                Comparator.comparingDouble(Candidate::distanceKm).reversed());
+        
+        // Narrowest cell side at this latitude; clamped so rings stay bounded near the poles
+        double cellKm = cellDegrees * KM_PER_DEGREE_LAT * Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        int maxRing = (int) Math.min(Math.ceil(maxRadiusKm / cellKm) + 1, columnsPerRow / 2);
+        long originRow = row(latitude);
+        long originColumn = column(longitude);
+        
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every cell in this ring is at least (ring - 1) cells away from the origin
+            if (best.size() == k && best.peek().distanceKm() <= (ring - 1) * cellKm) {
+                break;
+            }
+            for (long r = originRow - ring; r <= originRow + ring; r++) {
+                if (r < 0 || r >= rows) {
+                    continue;
+                }
+                boolean edgeRow = Math.abs(r - originRow) == ring;
+                long step = edgeRow ? 1 : Math.max(1, 2L * ring);
+                for (long c = originColumn - ring; c <= originColumn + ring; c += step) {
+                    Set<Long> cell = cells.get(r * columnsPerRow + Math.floorMod(c, columnsPerRow));
+                    if (cell != null) {
+                        collect(cell, latitude, longitude, k, maxRadiusKm, now, best);
+                    }
+                }
+            }
+        }
+        
+        List<Candidate> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(Candidate::distanceKm));
+        return result;
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void collect(Set<Long> cell, double latitude, double longitude, int k, double maxRadiusKm, long now,
+                         PriorityQueue<Candidate> best) {
+        for (Long driverId : cell) {
+            DriverEntry entry = drivers.get(driverId);
+            if (entry == null || !isDispatchable(entry, now)) {
+                continue;
+            }
+            double distance = distanceKm(latitude, longitude, entry.latitude(), entry.longitude());
+            if (distance > maxRadiusKm) {
+                continue;
+            }
+            if (best.size() < k) {
+                best.add(new Candidate(entry, distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Candidate(entry, distance));
+            }
+        }
+    }
+
+    private boolean isDispatchable(DriverEntry entry, long now) {
+        return entry.cellKey() >= 0
+                && now - entry.recordedAt() <= maxPositionAgeMillis
+                && !busy.contains(entry.driverId());
+    }
+
+    private DriverEntry move(DriverEntry entry, double latitude, double longitude, long recordedAt) {
+        long cellKey = row(latitude) * columnsPerRow + Math.floorMod(column(longitude), columnsPerRow);
+        if (cellKey != entry.cellKey()) {
+            leaveCell(entry.driverId(), entry.cellKey());
+            // Added inside compute so a concurrent leaveCell cannot drop the set we are adding to
+            cells.compute(cellKey, (key, members) -> {
+                Set<Long> target = members != null ? members : ConcurrentHashMap.newKeySet();
+                target.add(entry.driverId());
+                return target;
+            });
+        }
+        return new DriverEntry(entry.driverId(), entry.driverName(), entry.driverPhone(),
+                latitude, longitude, recordedAt, cellKey);
+    }
+
+    private void leaveCell(long driverId, long cellKey) {
+        if (cellKey < 0) {
+            return;
+        }
+        cells.computeIfPresent(cellKey, (key, members) -> {
+            members.remove(driverId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor((latitude + 90.0) / cellDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor((longitude + 180.0) / cellDegrees);
+    }
+
+    public record DriverEntry(long driverId, String driverName, String driverPhone,
+                              double latitude, double longitude, long recordedAt, long cellKey) {
+    }
+
+    public record Candidate(DriverEntry driver, double distanceKm) {
+    }
+}
@@ -0,0 +1,152 @@
+package com.delivery.delivery_service.tracking;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Latest position per driver, kept in parallel primitive arrays indexed by a slot per driver.
+ * <p>
+ * A ping for a known driver only overwrites a few array cells, so the store does not allocate
+ * per update. Slots are guarded by lock striping; the read/write lock is only taken exclusively
+ * when the arrays have to grow.
+ */
+public class DriverLocationStore {
+
+    public enum UpdateResult {
+        /** Older than the stored position, e.g. a delayed batch from the device. */
+        STALE,
+        UPDATED,
+        /** Updated, and the sample interval has passed, so this position should go to the trail. */
+        SAMPLED
+    }
+
+    private static final int STRIPES = 64;
+
+    private final long sampleIntervalMillis;
+    private final Object[] stripes = new Object[STRIPES];
+    private final ReentrantReadWriteLock resizeLock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slots = new ConcurrentHashMap<>();
+
+    private int used;
+    private long[] driverIds;
+    private double[] latitudes;
+    private double[] longitudes;
+    private float[] speeds;
+    private float[] headings;
+    private long[] recordedAt;
+    private long[] sampledAt;
+
+    public DriverLocationStore(int initialCapacity, long sampleIntervalMillis) {
+        this.sampleIntervalMillis = sampleIntervalMillis;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+        allocate(Math.max(initialCapacity, 16));
+    }
+
+    public UpdateResult update(long driverId, double latitude, double longitude, float speedKmh, float heading, long timestamp) {
+        // Resolve the slot before taking the shared lock: allocating one may need the exclusive lock
+        int slot = slotOf(driverId);
+        resizeLock.readLock().lock();
+        try {
+            synchronized (stripes[slot % STRIPES]) {
+                if (timestamp < recordedAt[slot]) {
+                    return UpdateResult.STALE;
+                }
+                latitudes[slot] = latitude;
+                longitudes[slot] = longitude;
+                speeds[slot] = speedKmh;
+                headings[slot] = heading;
+                recordedAt[slot] = timestamp;
+                if (timestamp - sampledAt[slot] >= sampleIntervalMillis) {
+                    sampledAt[slot] = timestamp;
+                    return UpdateResult.SAMPLED;
+                }
+                return UpdateResult.UPDATED;
+            }
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    public DriverPosition get(long driverId) {
+        Integer slot = slots.get(driverId);
+        if (slot == null) {
+            return null;
+        }
+        resizeLock.readLock().lock();
+        try {
+            return read(slot);
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Visits every driver that has reported a position. Each position is consistent on its own;
+     * the set as a whole is not a point-in-time snapshot.
+     */
+    public void forEach(Consumer<DriverPosition> consumer) {
+        resizeLock.readLock().lock();
+        try {
+            for (int slot = 0; slot < used; slot++) {
+                DriverPosition position = read(slot);
+                if (position != null) {
+                    consumer.accept(position);
+                }
+            }
+        } finally {
+            resizeLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private DriverPosition read(int slot) {
+        synchronized (stripes[slot % STRIPES]) {
+            if (recordedAt[slot] == Long.MIN_VALUE) {
+                return null;
+            }
+            return new DriverPosition(driverIds[slot], latitudes[slot], longitudes[slot],
+                    speeds[slot], headings[slot], recordedAt[slot]);
+        }
+    }
+
+    private int slotOf(long driverId) {
+        Integer slot = slots.get(driverId);
+        return slot != null ? slot : slots.computeIfAbsent(driverId, this::newSlot);
+    }
+
+    private int newSlot(long driverId) {
+        resizeLock.writeLock().lock();
+        try {
+            if (used == driverIds.length) {
+                allocate(driverIds.length * 2);
+            }
+            int slot = used++;
+            driverIds[slot] = driverId;
+            return slot;
+        } finally {
+            resizeLock.writeLock().unlock();
+        }
+    }
+
+    private void allocate(int capacity) {
+        int previous = driverIds != null ? driverIds.length : 0;
+        driverIds = driverIds != null ? Arrays.copyOf(driverIds, capacity) : new long[capacity];
+        latitudes = latitudes != null ? Arrays.copyOf(latitudes, capacity) : new double[capacity];
+        longitudes = longitudes != null ? Arrays.copyOf(longitudes, capacity) : new double[capacity];
+        speeds = speeds != null ? Arrays.copyOf(speeds, capacity) : new float[capacity];
+        headings = headings != null ? Arrays.copyOf(headings, capacity) : new float[capacity];
+        recordedAt = recordedAt != null ? Arrays.copyOf(recordedAt, capacity) : new long[capacity];
+        sampledAt = sampledAt != null ? Arrays.copyOf(sampledAt, capacity) : new long[capacity];
+        // Empty slots sort before every real timestamp, so the first ping always wins and is sampled
+        Arrays.fill(recordedAt, previous, capacity, Long.MIN_VALUE);
+        Arrays.fill(sampledAt, previous, capacity, Long.MIN_VALUE / 2);
+    }
+}
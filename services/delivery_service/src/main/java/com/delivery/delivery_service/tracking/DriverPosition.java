@@ -0,0 +1,7 @@
+package com.delivery.delivery_service.tracking;
+
+/**
+ * Latest known position of a driver. {@code recordedAt} is epoch milliseconds as reported by the device.
+ */
+public record DriverPosition(long driverId, double latitude, double longitude, float speedKmh, float heading, long recordedAt) {
+}
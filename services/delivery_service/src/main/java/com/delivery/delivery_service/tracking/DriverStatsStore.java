@@ -0,0 +1,190 @@
+package com.delivery.delivery_service.tracking;
+
+import com.delivery.delivery_service.model.DeliveryStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-driver delivery counters, maintained from status transitions instead of scanning history.
+ * <p>
+ * Each driver has two ring buffers: one-minute buckets covering the last hour and one-hour buckets
+ * covering the last day. A bucket is reset when its slot is reused for a newer period, so reads and
+ * writes are O(buckets) with no cleanup task. Lifetime totals are kept alongside and are what
+ * survives a restart through the database snapshot.
+ */
+public class DriverStatsStore {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    public record Totals(long pickedUp, long delivered, long cancelled, long pickupToDropMillis, long timedDeliveries) {
+
+        public static final Totals EMPTY = new Totals(0, 0, 0, 0, 0);
+
+        public Double averagePickupToDropSeconds() {
+            return timedDeliveries == 0 ? null : pickupToDropMillis / 1000.0 / timedDeliveries;
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(pickedUp + other.pickedUp, delivered + other.delivered, cancelled + other.cancelled,
+                    pickupToDropMillis + other.pickupToDropMillis, timedDeliveries + other.timedDeliveries);
+        }
+    }
+
+    public record Snapshot(long driverId, Totals lastHour, Totals lastDay, Totals lifetime) {
+    }
+
+    private final Map<Long, DriverStats> drivers = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Records one status transition. {@code pickupToDropMillis} is only used for DELIVERED and
+     * is ignored when negative (pickup time unknown).
+     */
+    public void record(long driverId, DeliveryStatus status, long at, long pickupToDropMillis) {
+        Totals change = switch (status) {
+            case PICKED_UP -> new Totals(1, 0, 0, 0, 0);
+            case DELIVERED -> pickupToDropMillis >= 0
+                    ? new Totals(0, 1, 0, pickupToDropMillis, 1)
+                    : new Totals(0, 1, 0, 0, 0);
+            case CANCELLED -> new Totals(0, 0, 1, 0, 0);
+            default -> null;
+        };
+        if (change == null) {
+            return;
+        }
+        drivers.computeIfAbsent(driverId, id -> new DriverStats()).add(at, change);
+        dirty.add(driverId);
+    }
+
+    /**
+     * Adds lifetime totals loaded from a snapshot. Adding rather than replacing keeps transitions
+     * recorded while the snapshot was loading.
+     */
+    public void restore(long driverId, Totals lifetime) {
+        drivers.computeIfAbsent(driverId, id -> new DriverStats()).restore(lifetime);
+    }
+
+    public Snapshot get(long driverId, long now) {
+        DriverStats stats = drivers.get(driverId);
+        return stats == null ? null : stats.snapshot(driverId, now);
+    }
+
+    public List<Snapshot> all(long now) {
+        List<Snapshot> result = new ArrayList<>(drivers.size());
+        drivers.forEach((driverId, stats) -> result.add(stats.snapshot(driverId, now)));
+        return result;
+    }
+
+    /**
+     * Snapshots of drivers changed since the last call; pass them back to {@link #markDirty} if writing fails.
+     */
+    public List<Snapshot> drainDirty(long now) {
+        List<Snapshot> result = new ArrayList<>();
+        for (Long driverId : dirty) {
+            dirty.remove(driverId);
+            DriverStats stats = drivers.get(driverId);
+            if (stats != null) {
+                result.add(stats.snapshot(driverId, now));
+            }
+        }
+        return result;
+    }
+
+    public void markDirty(long driverId) {
+        dirty.add(driverId);
+    }
+
+    public int size() {
+        return drivers.size();
+    }
+
+    private static final class DriverStats {
+        private final Ring lastHour = new Ring(60, MINUTE_MILLIS);
+        private final Ring lastDay = new Ring(24, HOUR_MILLIS);
+        private Totals lifetime = Totals.EMPTY;
+
+        synchronized void add(long at, Totals change) {
+            lastHour.add(at, change);
+            lastDay.add(at, change);
+            lifetime = lifetime.plus(change);
+        }
+
+        synchronized void restore(Totals restored) {
+            lifetime = lifetime.plus(restored);
+        }
+
+        synchronized Snapshot snapshot(long driverId, long now) {
+            return new Snapshot(driverId, lastHour.sum(now), lastDay.sum(now), lifetime);
+        }
+    }
+
+    // Fixed-size ring of time buckets; a slot belongs to the period stored in periods[slot]
+    private static final class Ring {
+        private final long bucketMillis;
+        private final long[] periods;
+        private final long[] pickedUp;
+        private final long[] delivered;
+        private final long[] cancelled;
+        private final long[] pickupToDropMillis;
+        private final long[] timedDeliveries;
+
+        Ring(int buckets, long bucketMillis) {
+            this.bucketMillis = bucketMillis;
+            this.periods = new long[buckets];
+            this.pickedUp = new long[buckets];
+            this.delivered = new long[buckets];
+            this.cancelled = new long[buckets];
+            this.pickupToDropMillis = new long[buckets];
+            this.timedDeliveries = new long[buckets];
+            Arrays.fill(periods, -1L);
+        }
+
+        void add(long at, Totals change) {
+            long period = at / bucketMillis;
+            int slot = Math.floorMod(period, periods.length);
+            if (periods[slot] != period) {
+                if (periods[slot] > period) {
+                    // Older than anything the ring still covers
+                    return;
+                }
+                periods[slot] = period;
+                pickedUp[slot] = 0;
+                delivered[slot] = 0;
+                cancelled[slot] = 0;
+                pickupToDropMillis[slot] = 0;
+                timedDeliveries[slot] = 0;
+            }
+            pickedUp[slot] += change.pickedUp();
+            delivered[slot] += change.delivered();
+            cancelled[slot] += change.cancelled();
+            pickupToDropMillis[slot] += change.pickupToDropMillis();
+            timedDeliveries[slot] += change.timedDeliveries();
+        }
+
+        Totals sum(long now) {
+            long current = now / bucketMillis;
+            long oldest = current - periods.length + 1;
+            long sumPickedUp = 0;
+            long sumDelivered = 0;
+            long sumCancelled = 0;
+            long sumMillis = 0;
+            long sumTimed = 0;
+            for (int slot = 0; slot < periods.length; slot++) {
+                if (periods[slot] >= oldest && periods[slot] <= current) {
+                    sumPickedUp += pickedUp[slot];
+                    sumDelivered += delivered[slot];
+                    sumCancelled += cancelled[slot];
+                    sumMillis += pickupToDropMillis[slot];
+                    sumTimed += timedDeliveries[slot];
+                }
+            }
+            return new Totals(sumPickedUp, sumDelivered, sumCancelled, sumMillis, sumTimed);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.delivery.delivery_service.tracking;
+
+import com.delivery.delivery_service.model.DeliveryStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Decides status transitions from a driver's position relative to a delivery's pickup and drop-off.
+ * <ul>
+ *   <li>ASSIGNED becomes PICKED_UP after the driver stays inside the pickup fence for the dwell time.</li>
+ *   <li>PICKED_UP becomes IN_TRANSIT once the driver leaves the pickup fence (or is already at the drop-off).</li>
+ *   <li>IN_TRANSIT becomes DELIVERED after the driver stays inside the drop-off fence for the dwell time.</li>
+ * </ul>
+ * A fence is entered within {@code enterRadiusKm} and only left beyond {@code exitRadiusKm}, so GPS
+ * jitter at the boundary does not restart the dwell timer. Only deliveries carried by the pinging
+ * driver are checked, so the work per ping is a few distance calculations.
+ */
+public class GeofenceTracker {
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    public record Transition(long deliveryId, DeliveryStatus from, DeliveryStatus to) {
+    }
+
+    // When the driver entered the fence relevant to the delivery's status
+    private record Dwell(DeliveryStatus status, long enteredAt) {
+    }
+
+    private final double enterRadiusKm;
+    private final double exitRadiusKm;
+    private final long dwellMillis;
+    private final boolean autoDeliver;
+    private final Map<Long, Dwell> dwells = new ConcurrentHashMap<>();
+
+    public GeofenceTracker(double enterRadiusKm, double exitRadiusKm, long dwellMillis, boolean autoDeliver) {
+        if (exitRadiusKm < enterRadiusKm) {
+            throw new IllegalArgumentException("Geofence exit radius must not be smaller than the enter radius");
+        }
+        this.enterRadiusKm = enterRadiusKm;
+        this.exitRadiusKm = exitRadiusKm;
+        this.dwellMillis = dwellMillis;
+        this.autoDeliver = autoDeliver;
+    }
+
+    /**
+     * Returns the transition this position triggers, or null.
+     */
+    public Transition evaluate(ActiveDeliveryRegistry.ActiveDelivery delivery, double latitude, double longitude, long at) {
+        DeliveryStatus status = delivery.status();
+        if (status == DeliveryStatus.ASSIGNED && delivery.hasPickup()) {
+            return dwell(delivery, latitude, longitude, delivery.pickupLatitude(), delivery.pickupLongitude(),
+                    at, DeliveryStatus.PICKED_UP);
+        }
+        if (status == DeliveryStatus.PICKED_UP) {
+            boolean leftPickup = delivery.hasPickup() && !within(latitude, longitude,
+                    delivery.pickupLatitude(), delivery.pickupLongitude(), exitRadiusKm);
+            boolean atDropOff = delivery.hasDropOff() && within(latitude, longitude,
+                    delivery.deliveryLatitude(), delivery.deliveryLongitude(), enterRadiusKm);
+            return leftPickup || atDropOff
+                    ? new Transition(delivery.deliveryId(), status, DeliveryStatus.IN_TRANSIT)
+                    : null;
+        }
+        if (status == DeliveryStatus.IN_TRANSIT && autoDeliver && delivery.hasDropOff()) {
+            return dwell(delivery, latitude, longitude, delivery.deliveryLatitude(), delivery.deliveryLongitude(),
+                    at, DeliveryStatus.DELIVERED);
+        }
+        return null;
+    }
+
+    /**
+     * Drops dwell timers of deliveries that are no longer tracked.
+     */
+    public void retain(LongPredicate tracked) {
+        dwells.keySet().removeIf(deliveryId -> !tracked.test(deliveryId));
+    }
+
+    public int dwellingCount() {
+        return dwells.size();
+    }
+
+    private Transition dwell(ActiveDeliveryRegistry.ActiveDelivery delivery, double latitude, double longitude,
+                             double fenceLatitude, double fenceLongitude, long at, DeliveryStatus next) {
+        long deliveryId = delivery.deliveryId();
+        Dwell current = dwells.get(deliveryId);
+        boolean inside = current != null && current.status() == delivery.status()
+                ? within(latitude, longitude, fenceLatitude, fenceLongitude, exitRadiusKm)
+                : within(latitude, longitude, fenceLatitude, fenceLongitude, enterRadiusKm);
+        if (!inside) {
+            if (current != null) {
+                dwells.remove(deliveryId, current);
+            }
+            return null;
+        }
+        if (current == null || current.status() != delivery.status()) {
+            dwells.put(deliveryId, new Dwell(delivery.status(), at));
+            return dwellMillis <= 0 ? new Transition(deliveryId, delivery.status(), next) : null;
+        }
+        return at - current.enteredAt() >= dwellMillis
+                ? new Transition(deliveryId, delivery.status(), next)
+                : null;
+    }
+
+    private static boolean within(double latitude, double longitude, double fenceLatitude, double fenceLongitude, double radiusKm) {
+        // Latitude alone rules out most positions before the full distance calculation
+        if (Math.abs(latitude - fenceLatitude) * KM_PER_DEGREE_LATITUDE > radiusKm) {
+            return false;
+        }
+        return DispatchIndex.distanceKm(latitude, longitude, fenceLatitude, fenceLongitude) <= radiusKm;
+    }
+}
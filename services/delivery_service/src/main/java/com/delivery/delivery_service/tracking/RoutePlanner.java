@@ -0,0 +1,238 @@
+package com.delivery.delivery_service.tracking;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Groups deliveries that one driver can carry together and orders their stops.
+ * <p>
+ * Deliveries are compatible when their pickups are close and they head in a similar direction.
+ * Stops are ordered by nearest feasible neighbour and then improved with 2-opt segment reversals,
+ * rejecting any order that would drop off a delivery before picking it up. Routes are short
+ * (a handful of deliveries), so the quadratic improvement step stays in the microsecond range.
+ */
+public class RoutePlanner {
+
+    public enum StopType {
+        PICKUP,
+        DROPOFF
+    }
+
+    /**
+     * {@code pickedUp} deliveries are already on board and only need their drop-off.
+     */
+    public record RouteJob(long deliveryId, double pickupLatitude, double pickupLongitude,
+                           double dropLatitude, double dropLongitude, boolean pickedUp) {
+    }
+
+    public record Stop(long deliveryId, StopType type, double latitude, double longitude) {
+    }
+
+    public record Route(List<RouteJob> jobs, List<Stop> stops, double distanceKm) {
+    }
+
+    private final double pickupRadiusKm;
+    private final double maxBearingDifference;
+    private final int maxDeliveriesPerRoute;
+    private final int improvementPasses;
+
+    public RoutePlanner(double pickupRadiusKm, double maxBearingDifference, int maxDeliveriesPerRoute, int improvementPasses) {
+        this.pickupRadiusKm = pickupRadiusKm;
+        this.maxBearingDifference = maxBearingDifference;
+        this.maxDeliveriesPerRoute = maxDeliveriesPerRoute;
+        this.improvementPasses = improvementPasses;
+    }
+
+    public int maxDeliveriesPerRoute() {
+        return maxDeliveriesPerRoute;
+    }
+
+    /**
+     * Splits jobs into compatible groups. Jobs are seeded in the given order, so callers pass the
+     * oldest first; each seed pulls in its nearest compatible neighbours.
+     */
+    public List<List<RouteJob>> group(List<RouteJob> jobs) {
+        // Bucket pickups by a grid at least one pickup radius wide, so a seed only scans nearby jobs
+        double cellDegrees = Math.max(pickupRadiusKm / 111.0, 1e-4);
+        // A degree of longitude shrinks with latitude; size columns for the batch's highest latitude
+        double maxLatitude = jobs.stream().mapToDouble(job -> Math.abs(job.pickupLatitude())).max().orElse(0.0);
+        double columnDegrees = cellDegrees / Math.max(0.01, Math.cos(Math.toRadians(maxLatitude)));
+        Map<Long, List<Integer>> cells = new HashMap<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            cells.computeIfAbsent(cellKey(jobs.get(i).pickupLatitude(), jobs.get(i).pickupLongitude(), cellDegrees, columnDegrees),
+                    key -> new ArrayList<>()).add(i);
+        }
+        
+        Set<Integer> grouped = new HashSet<>();
+        List<List<RouteJob>> groups = new ArrayList<>();
+        for (int seedIndex = 0; seedIndex < jobs.size(); seedIndex++) {
+            if (!grouped.add(seedIndex)) {
+                continue;
+            }
+            RouteJob seed = jobs.get(seedIndex);
+            double seedBearing = bearing(seed);
+            
+            List<Integer> compatible = new ArrayList<>();
+            long row = (long) Math.floor(seed.pickupLatitude() / cellDegrees);
+            long column = (long) Math.floor(seed.pickupLongitude() / columnDegrees);
+            for (long r = row - 1; r <= row + 1; r++) {
+                for (long c = column - 1; c <= column + 1; c++) {
+                    for (int other : cells.getOrDefault(r * 1_000_003L + c, List.of())) {
+                        RouteJob job = jobs.get(other);
+                        if (!grouped.contains(other)
+                                && pickupDistance(seed, job) <= pickupRadiusKm
+                                && angleBetween(seedBearing, bearing(job)) <= maxBearingDifference) {
+                            compatible.add(other);
+                        }
+                    }
+                }
+            }
+            compatible.sort(Comparator.comparingDouble(other -> pickupDistance(seed, jobs.get(other))));
+            
+            List<RouteJob> group = new ArrayList<>();
+            group.add(seed);
+            for (int other : compatible) {
+                if (group.size() >= maxDeliveriesPerRoute) {
+                    break;
+                }
+                grouped.add(other);
+                group.add(jobs.get(other));
+            }
+            groups.add(group);
+        }
+        return groups;
+    }
+
+    /**
+     * Orders the stops of {@code jobs} starting from the driver's position; pass {@link Double#NaN}
+     * when the position is unknown to start at the first chosen pickup.
+     */
+    public Route plan(double startLatitude, double startLongitude, List<RouteJob> jobs) {
+        List<Stop> stops = nearestNeighbour(startLatitude, startLongitude, jobs);
+        for (int pass = 0; pass < improvementPasses; pass++) {
+            if (!twoOpt(startLatitude, startLongitude, stops)) {
+                break;
+            }
+        }
+        return new Route(jobs, stops, length(startLatitude, startLongitude, stops));
+    }
+
+    private List<Stop> nearestNeighbour(double startLatitude, double startLongitude, List<RouteJob> jobs) {
+        List<Stop> open = new ArrayList<>();
+        for (RouteJob job : jobs) {
+            open.add(job.pickedUp() ? dropOff(job) : pickup(job));
+        }
+        
+        List<Stop> stops = new ArrayList<>(jobs.size() * 2);
+        Map<Long, RouteJob> byId = new HashMap<>();
+        jobs.forEach(job -> byId.put(job.deliveryId(), job));
+        double latitude = startLatitude;
+        double longitude = startLongitude;
+        while (!open.isEmpty()) {
+            int nearest = 0;
+            if (!Double.isNaN(latitude)) {
+                double best = Double.MAX_VALUE;
+                for (int i = 0; i < open.size(); i++) {
+                    double distance = DispatchIndex.distanceKm(latitude, longitude, open.get(i).latitude(), open.get(i).longitude());
+                    if (distance < best) {
+                        best = distance;
+                        nearest = i;
+                    }
+                }
+            }
+            Stop next = open.remove(nearest);
+            stops.add(next);
+            if (next.type() == StopType.PICKUP) {
+                open.add(dropOff(byId.get(next.deliveryId())));
+            }
+            latitude = next.latitude();
+            longitude = next.longitude();
+        }
+        return stops;
+    }
+
+    /**
+     * One pass of 2-opt: reverse any segment that shortens the route and keeps every pickup
+     * before its drop-off.
+     */
+    private boolean twoOpt(double startLatitude, double startLongitude, List<Stop> stops) {
+        boolean improved = false;
+        double currentLength = length(startLatitude, startLongitude, stops);
+        for (int i = 0; i < stops.size() - 1; i++) {
+            for (int j = i + 1; j < stops.size(); j++) {
+                Collections.reverse(stops.subList(i, j + 1));
+                double candidateLength = length(startLatitude, startLongitude, stops);
+                if (candidateLength < currentLength - 1e-9 && isFeasible(stops)) {
+                    currentLength = candidateLength;
+                    improved = true;
+                } else {
+                    Collections.reverse(stops.subList(i, j + 1));
+                }
+            }
+        }
+        return improved;
+    }
+
+    private static boolean isFeasible(List<Stop> stops) {
+        Set<Long> droppedOff = new HashSet<>();
+        for (Stop stop : stops) {
+            if (stop.type() == StopType.DROPOFF) {
+                droppedOff.add(stop.deliveryId());
+            } else if (droppedOff.contains(stop.deliveryId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static double length(double startLatitude, double startLongitude, List<Stop> stops) {
+        double total = 0;
+        double latitude = startLatitude;
+        double longitude = startLongitude;
+        for (Stop stop : stops) {
+            if (!Double.isNaN(latitude)) {
+                total += DispatchIndex.distanceKm(latitude, longitude, stop.latitude(), stop.longitude());
+            }
+            latitude = stop.latitude();
+            longitude = stop.longitude();
+        }
+        return total;
+    }
+
+    private static Stop pickup(RouteJob job) {
+        return new Stop(job.deliveryId(), StopType.PICKUP, job.pickupLatitude(), job.pickupLongitude());
+    }
+
+    private static Stop dropOff(RouteJob job) {
+        return new Stop(job.deliveryId(), StopType.DROPOFF, job.dropLatitude(), job.dropLongitude());
+    }
+
+    private static double pickupDistance(RouteJob a, RouteJob b) {
+        return DispatchIndex.distanceKm(a.pickupLatitude(), a.pickupLongitude(), b.pickupLatitude(), b.pickupLongitude());
+    }
+
+    // Initial compass bearing from pickup to drop-off, in degrees
+    private static double bearing(RouteJob job) {
+        double lat1 = Math.toRadians(job.pickupLatitude());
+        double lat2 = Math.toRadians(job.dropLatitude());
+        double dLon = Math.toRadians(job.dropLongitude() - job.pickupLongitude());
+        double y = Math.sin(dLon) * Math.cos(lat2);
+        double x = Math.cos(lat1) * Math.sin(lat2) - Math.sin(lat1) * Math.cos(lat2) * Math.cos(dLon);
+        return (Math.toDegrees(Math.atan2(y, x)) + 360.0) % 360.0;
+    }
+
+    private static double angleBetween(double a, double b) {
+        double difference = Math.abs(a - b) % 360.0;
+        return difference > 180.0 ? 360.0 - difference : difference;
+    }
+
+    private static long cellKey(double latitude, double longitude, double cellDegrees, double columnDegrees) {
+        return (long) Math.floor(latitude / cellDegrees) * 1_000_003L + (long) Math.floor(longitude / columnDegrees);
+    }
+}
@@ -0,0 +1,138 @@
+package com.delivery.delivery_service.tracking;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Effective travel speeds learned from completed trips, keyed by origin and destination grid cell.
+ * <p>
+ * An estimate uses the most specific level with enough samples: the exact cell pair, then
+ * everything leaving the origin cell, then the global average, then a configured default. Each
+ * level keeps a running mean whose sample count is capped, so recent trips keep shifting it.
+ * Lookups are two hash probes and no allocation beyond the result.
+ * <p>
+ * Cells are {@code cellDegrees} of latitude tall and about as many kilometres wide: rows nearer
+ * the poles have fewer columns, so a cell covers a similar area at any latitude.
+ */
+public class TravelTimeGrid {
+
+    public enum Source {
+        CELL_PAIR,
+        ORIGIN_CELL,
+        GLOBAL,
+        DEFAULT
+    }
+
+    public record Estimate(long seconds, double distanceKm, Source source) {
+    }
+
+    private record Speed(long samples, double kmh) {
+        Speed add(double observedKmh, long maxSamples) {
+            long n = Math.min(samples + 1, maxSamples);
+            return new Speed(n, kmh + (observedKmh - kmh) / n);
+        }
+    }
+
+    private static final Speed EMPTY = new Speed(0, 0);
+
+    private final double cellDegrees;
+    // Per latitude row: how many columns it has and the id of its first cell
+    private final int[] rowColumns;
+    private final int[] rowOffsets;
+    private final double defaultKmh;
+    private final double minKmh;
+    private final double maxKmh;
+    private final long minSamples;
+    private final long maxSamples;
+    private final Map<Long, Speed> pairs = new ConcurrentHashMap<>();
+    private final Map<Integer, Speed> origins = new ConcurrentHashMap<>();
+    private final AtomicReference<Speed> global = new AtomicReference<>(EMPTY);
+
+    public TravelTimeGrid(double cellDegrees, double defaultKmh, double minKmh, double maxKmh, long minSamples, long maxSamples) {
+        if (Math.ceil(180.0 / cellDegrees + 1) * Math.ceil(360.0 / cellDegrees) > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Travel time cells of " + cellDegrees + " degrees are too small");
+        }
+        this.cellDegrees = cellDegrees;
+        int rows = (int) Math.ceil(180.0 / cellDegrees) + 1;
+        this.rowColumns = new int[rows];
+        this.rowOffsets = new int[rows];
+        int offset = 0;
+        for (int row = 0; row < rows; row++) {
+            double centerLatitude = Math.min(90.0, -90.0 + (row + 0.5) * cellDegrees);
+            rowColumns[row] = Math.max(1, (int) Math.ceil(360.0 * Math.cos(Math.toRadians(centerLatitude)) / cellDegrees));
+            rowOffsets[row] = offset;
+            offset += rowColumns[row];
+        }
+        this.defaultKmh = defaultKmh;
+        this.minKmh = minKmh;
+        this.maxKmh = maxKmh;
+        this.minSamples = minSamples;
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Learns from one completed trip; implausible speeds (GPS jumps, trips left open) are ignored.
+     */
+    public boolean record(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude, long durationSeconds) {
+        if (durationSeconds <= 0) {
+            return false;
+        }
+        double distanceKm = DispatchIndex.distanceKm(fromLatitude, fromLongitude, toLatitude, toLongitude);
+        double kmh = distanceKm / (durationSeconds / 3600.0);
+        if (kmh < minKmh || kmh > maxKmh) {
+            return false;
+        }
+        
+        int from = cell(fromLatitude, fromLongitude);
+        int to = cell(toLatitude, toLongitude);
+        pairs.merge(pairKey(from, to), new Speed(1, kmh), (existing, ignored) -> existing.add(kmh, maxSamples));
+        origins.merge(from, new Speed(1, kmh), (existing, ignored) -> existing.add(kmh, maxSamples));
+        global.updateAndGet(existing -> existing.add(kmh, maxSamples));
+        return true;
+    }
+
+    public Estimate estimate(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+        double distanceKm = DispatchIndex.distanceKm(fromLatitude, fromLongitude, toLatitude, toLongitude);
+        int from = cell(fromLatitude, fromLongitude);
+        
+        Speed speed = pairs.get(pairKey(from, cell(toLatitude, toLongitude)));
+        if (speed != null && speed.samples() >= minSamples) {
+            return estimate(distanceKm, speed.kmh(), Source.CELL_PAIR);
+        }
+        speed = origins.get(from);
+        if (speed != null && speed.samples() >= minSamples) {
+            return estimate(distanceKm, speed.kmh(), Source.ORIGIN_CELL);
+        }
+        speed = global.get();
+        if (speed.samples() >= minSamples) {
+            return estimate(distanceKm, speed.kmh(), Source.GLOBAL);
+        }
+        return estimate(distanceKm, defaultKmh, Source.DEFAULT);
+    }
+
+    public int pairCount() {
+        return pairs.size();
+    }
+
+    public void clear() {
+        pairs.clear();
+        origins.clear();
+        global.set(EMPTY);
+    }
+
+    private static Estimate estimate(double distanceKm, double kmh, Source source) {
+        return new Estimate(Math.round(distanceKm / kmh * 3600.0), distanceKm, source);
+    }
+
+    private int cell(double latitude, double longitude) {
+        int row = Math.min(Math.max((int) Math.floor((latitude + 90.0) / cellDegrees), 0), rowColumns.length - 1);
+        int columns = rowColumns[row];
+        int column = Math.floorMod((int) Math.floor((longitude + 180.0) / 360.0 * columns), columns);
+        return rowOffsets[row] + column;
+    }
+
+    private static long pairKey(int from, int to) {
+        return ((long) from << 32) | (to & 0xffffffffL);
+    }
+}
@@ -0,0 +1,48 @@
+package com.delivery.delivery_service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal timing loop for the tests tagged {@code benchmark}. Each run warms up first, then counts
+ * how many operations complete in a fixed window. Results feed a sink so the JIT cannot drop the
+ * work. Window lengths can be changed with {@code -Dbenchmark.warmup-ms} and {@code -Dbenchmark.measure-ms}.
+ */
+public final class Throughput {
+
+    private static final long WARMUP_MILLIS = Long.getLong("benchmark.warmup-ms", 1_000L);
+    private static final long MEASURE_MILLIS = Long.getLong("benchmark.measure-ms", 3_000L);
+
+    private static volatile long sink;
+
+    private Throughput() {
+    }
+
+    /**
+     * Runs {@code operation} until the window closes and prints the operations per second.
+     */
+    public static double measure(String name, LongSupplier operation) {
+        run(operation, WARMUP_MILLIS);
+        long start = System.nanoTime();
+        long operations = run(operation, MEASURE_MILLIS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double perSecond = operations / seconds;
+        System.out.printf("%-50s %,14.0f ops/s%n", name, perSecond);
+        return perSecond;
+    }
+
+    private static long run(LongSupplier operation, long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long operations = 0;
+        long accumulated = 0;
+        // Checking the clock every 64 operations keeps System.nanoTime out of the measurement
+        do {
+            for (int i = 0; i < 64; i++) {
+                accumulated += operation.getAsLong();
+            }
+            operations += 64;
+        } while (System.nanoTime() < deadline);
+        sink += accumulated;
+        return operations;
+    }
+}
@@ -0,0 +1,103 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.model.DeliveryStatus;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeliveryExportServiceTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 10, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2025, 11, 1, 0, 0);
+
+    @Test
+    void csvField_ShouldLeavePlainTextUnquoted() {
+        // Act & Assert
+        assertEquals("Galle Road 12", DeliveryExportService.csvField("Galle Road 12"));
+        assertEquals("", DeliveryExportService.csvField(""));
+    }
+
+    @Test
+    void csvField_ShouldQuoteSeparatorsAndLineBreaks() {
+        // Act & Assert
+        assertEquals("\"12, Galle Road\"", DeliveryExportService.csvField("12, Galle Road"));
+        assertEquals("\"Ring twice\nthen wait\"", DeliveryExportService.csvField("Ring twice\nthen wait"));
+        assertEquals("\"Ring twice\r\n\"", DeliveryExportService.csvField("Ring twice\r\n"));
+    }
+
+    @Test
+    void csvField_ShouldDoubleEmbeddedQuotes() {
+        // Act & Assert
+        assertEquals("\"The \"\"blue\"\" gate\"", DeliveryExportService.csvField("The \"blue\" gate"));
+    }
+
+    @Test
+    void neutralizeFormula_ShouldPrefixQuote_WhenCellStartsLikeAFormula() {
+        // Act & Assert
+        for (String formula : List.of("=1+1", "+94771234567", "-2", "@SUM(A1)", "\tcmd", "\rcmd")) {
+            assertEquals("'" + formula, DeliveryExportService.neutralizeFormula(formula));
+        }
+    }
+
+    @Test
+    void neutralizeFormula_ShouldLeaveOtherTextAlone() {
+        // Act & Assert
+        assertEquals("Kamal", DeliveryExportService.neutralizeFormula("Kamal"));
+        assertEquals("1+1=2", DeliveryExportService.neutralizeFormula("1+1=2"));
+        assertEquals("", DeliveryExportService.neutralizeFormula(""));
+    }
+
+    @Test
+    void filteredQuery_ShouldOnlyOrder_WhenNoFiltersAreGiven() {
+        // Act
+        DeliveryExportService.FilteredQuery query = DeliveryExportService.filteredQuery(null, null, null);
+
+        // Assert
+        assertTrue(query.sql().endsWith(" FROM deliveries_new ORDER BY id"), query.sql());
+        assertEquals(0, query.args().length);
+        assertFalse(DeliveryExportService.filteredQuery(null, null, List.of()).sql().contains("WHERE"));
+    }
+
+    @Test
+    void filteredQuery_ShouldFilterOnCreationTime_WithExclusiveUpperBound() {
+        // Act
+        DeliveryExportService.FilteredQuery both = DeliveryExportService.filteredQuery(FROM, TO, null);
+        DeliveryExportService.FilteredQuery fromOnly = DeliveryExportService.filteredQuery(FROM, null, null);
+        DeliveryExportService.FilteredQuery toOnly = DeliveryExportService.filteredQuery(null, TO, null);
+
+        // Assert
+        assertTrue(both.sql().endsWith(" WHERE created_at >= ? AND created_at < ? ORDER BY id"), both.sql());
+        assertArrayEquals(new Object[] {Timestamp.valueOf(FROM), Timestamp.valueOf(TO)}, both.args());
+        assertTrue(fromOnly.sql().endsWith(" WHERE created_at >= ? ORDER BY id"), fromOnly.sql());
+        assertArrayEquals(new Object[] {Timestamp.valueOf(FROM)}, fromOnly.args());
+        assertTrue(toOnly.sql().endsWith(" WHERE created_at < ? ORDER BY id"), toOnly.sql());
+        assertArrayEquals(new Object[] {Timestamp.valueOf(TO)}, toOnly.args());
+    }
+
+    @Test
+    void filteredQuery_ShouldBindOnePlaceholderPerStatus() {
+        // Act
+        DeliveryExportService.FilteredQuery query = DeliveryExportService.filteredQuery(null, null,
+                List.of(DeliveryStatus.DELIVERED, DeliveryStatus.CANCELLED));
+
+        // Assert
+        assertTrue(query.sql().endsWith(" WHERE status IN (?, ?) ORDER BY id"), query.sql());
+        assertArrayEquals(new Object[] {"DELIVERED", "CANCELLED"}, query.args());
+    }
+
+    @Test
+    void filteredQuery_ShouldCombineTimeAndStatusFilters_InParameterOrder() {
+        // Act
+        DeliveryExportService.FilteredQuery query = DeliveryExportService.filteredQuery(FROM, TO,
+                List.of(DeliveryStatus.PENDING));
+
+        // Assert
+        assertTrue(query.sql().endsWith(" WHERE created_at >= ? AND created_at < ? AND status IN (?) ORDER BY id"),
+                query.sql());
+        assertArrayEquals(new Object[] {Timestamp.valueOf(FROM), Timestamp.valueOf(TO), "PENDING"}, query.args());
+    }
+}
@@ -0,0 +1,118 @@
+package com.delivery.delivery_service.service;
+
+import com.delivery.delivery_service.Throughput;
+import com.delivery.delivery_service.dto.DeliveryPatchRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Updates per second of the partial {@code PATCH} against loading the row and rewriting every
+ * column, which is what the {@code PUT} path issued before. Needs a PostgreSQL database:
+ * {@code mvn test -Pbenchmark -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/postgres
+ * -Dbenchmark.jdbc.username=postgres -Dbenchmark.jdbc.password=postgres}.
+ * <p>
+ * The rows live in a temporary table, which shadows {@code deliveries_new} for this connection only.
+ */
+@Tag("benchmark")
+class DeliveryPatchBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+
+    private static final String SELECT_ROW_SQL = "SELECT * FROM deliveries_new WHERE id = ?";
+    private static final String UPDATE_FULL_ROW_SQL = "UPDATE deliveries_new SET order_id = ?, driver_id = ?, " +
+            "driver_name = ?, driver_phone = ?, customer_name = ?, customer_phone = ?, delivery_address = ?, " +
+            "restaurant_name = ?, restaurant_address = ?, status = ?, assigned_at = ?, picked_up_at = ?, " +
+            "delivered_at = ?, pickup_latitude = ?, pickup_longitude = ?, delivery_latitude = ?, " +
+            "delivery_longitude = ?, notes = ?, created_at = ?, updated_at = ? WHERE id = ?";
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private DeliveryService deliveryService;
+
+    @BeforeEach
+    void setUp() {
+        String url = System.getProperty("benchmark.jdbc.url");
+        assumeTrue(url != null, "set -Dbenchmark.jdbc.url to run against PostgreSQL");
+
+        dataSource = new SingleConnectionDataSource(url, System.getProperty("benchmark.jdbc.username"),
+                System.getProperty("benchmark.jdbc.password"), true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TEMPORARY TABLE deliveries_new (" +
+                "id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL, driver_id BIGINT NOT NULL, " +
+                "driver_name VARCHAR(255), driver_phone VARCHAR(255), customer_name VARCHAR(255) NOT NULL, " +
+                "customer_phone VARCHAR(255) NOT NULL, delivery_address VARCHAR(255) NOT NULL, " +
+                "restaurant_name VARCHAR(255), restaurant_address VARCHAR(255), status VARCHAR(255), " +
+                "assigned_at TIMESTAMP, picked_up_at TIMESTAMP, delivered_at TIMESTAMP, " +
+                "pickup_latitude DOUBLE PRECISION, pickup_longitude DOUBLE PRECISION, " +
+                "delivery_latitude DOUBLE PRECISION, delivery_longitude DOUBLE PRECISION, " +
+                "notes VARCHAR(255), created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO deliveries_new SELECT n, n, n % 500, 'Driver', '000', 'Customer', " +
+                "'111', 'Somewhere 1', 'Restaurant', 'Somewhere 2', 'ASSIGNED', now(), NULL, NULL, " +
+                "6.9, 79.85, 6.95, 79.86, NULL, now(), NULL FROM generate_series(1, ?) AS n", ROWS);
+        jdbcTemplate.execute("ANALYZE deliveries_new");
+
+        // Only the JDBC path is exercised; notes never change the in-memory registry
+        deliveryService = new DeliveryService(null, jdbcTemplate, null, null, null, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dataSource != null) {
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void patchDelivery_ShouldUpdateOnlyGivenColumns_WithoutReadingTheRow() {
+        // Arrange
+        long[] updates = {0};
+
+        // Act
+        double perSecond = Throughput.measure("DeliveryService.patchDelivery (notes)", () -> {
+            long id = 1 + random.nextInt(ROWS);
+            deliveryService.patchDelivery(id, DeliveryPatchRequest.builder().notes("Patched " + updates[0]++).build());
+            return id;
+        });
+
+        // Assert
+        assertTrue(perSecond > 0);
+        assertTrue(jdbcTemplate.queryForObject("SELECT count(*) FROM deliveries_new WHERE notes IS NOT NULL",
+                Long.class) > 0);
+    }
+
+    @Test
+    void fullRowUpdate_ShouldRewriteEveryColumn_AfterReadingTheRow() {
+        // Arrange
+        long[] updates = {0};
+
+        // Act
+        double perSecond = Throughput.measure("SELECT + full-row UPDATE (notes)", () -> {
+            long id = 1 + random.nextInt(ROWS);
+            Map<String, Object> row = jdbcTemplate.queryForMap(SELECT_ROW_SQL, id);
+            jdbcTemplate.update(UPDATE_FULL_ROW_SQL, row.get("order_id"), row.get("driver_id"),
+                    row.get("driver_name"), row.get("driver_phone"), row.get("customer_name"),
+                    row.get("customer_phone"), row.get("delivery_address"), row.get("restaurant_name"),
+                    row.get("restaurant_address"), row.get("status"), row.get("assigned_at"),
+                    row.get("picked_up_at"), row.get("delivered_at"), row.get("pickup_latitude"),
+                    row.get("pickup_longitude"), row.get("delivery_latitude"), row.get("delivery_longitude"),
+                    "Patched " + updates[0]++, row.get("created_at"), Timestamp.valueOf(LocalDateTime.now()), id);
+            return id;
+        });
+
+        // Assert
+        assertTrue(perSecond > 0);
+    }
+}
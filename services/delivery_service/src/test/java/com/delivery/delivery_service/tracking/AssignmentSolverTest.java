@@ -0,0 +1,160 @@
+package com.delivery.delivery_service.tracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssignmentSolverTest {
+
+    private static final AssignmentSolver EXACT = new AssignmentSolver(100, 0);
+    private static final AssignmentSolver GREEDY = new AssignmentSolver(0, 0);
+    private static final AssignmentSolver GREEDY_WITH_SWAPS = new AssignmentSolver(0, 5);
+
+    @Test
+    void solve_ShouldFindGlobalOptimum_WhenSolvedExactly() {
+        // Arrange: taking the cheapest edge first forces the other job onto an expensive worker
+        List<List<AssignmentSolver.Option>> options = List.of(
+                List.of(option(0, 1), option(1, 2)),
+                List.of(option(0, 2), option(1, 10)));
+
+        // Act
+        int[] exact = EXACT.solve(options, 2);
+        int[] greedy = GREEDY.solve(options, 2);
+
+        // Assert
+        assertArrayEquals(new int[]{1, 0}, exact);
+        assertArrayEquals(new int[]{0, 1}, greedy);
+        assertEquals(4.0, totalCost(options, exact));
+        assertEquals(11.0, totalCost(options, greedy));
+    }
+
+    @Test
+    void solve_ShouldReachOptimum_WhenGreedyIsImprovedBySwaps() {
+        // Arrange
+        List<List<AssignmentSolver.Option>> options = List.of(
+                List.of(option(0, 1), option(1, 2)),
+                List.of(option(0, 2), option(1, 10)));
+
+        // Act
+        int[] assignment = GREEDY_WITH_SWAPS.solve(options, 2);
+
+        // Assert
+        assertArrayEquals(new int[]{1, 0}, assignment);
+    }
+
+    @Test
+    void solve_ShouldLeaveCheapestSetAssigned_WhenThereAreMoreJobsThanWorkers() {
+        // Arrange
+        List<List<AssignmentSolver.Option>> options = List.of(
+                List.of(option(0, 1)),
+                List.of(option(0, 2), option(1, 5)),
+                List.of(option(1, 1)));
+
+        // Act
+        int[] assignment = EXACT.solve(options, 2);
+
+        // Assert
+        assertArrayEquals(new int[]{0, -1, 1}, assignment);
+    }
+
+    @Test
+    void solve_ShouldPickCheapestWorker_WhenThereAreMoreWorkersThanJobs() {
+        // Arrange
+        List<List<AssignmentSolver.Option>> options = List.of(
+                List.of(option(0, 7), option(1, 3), option(2, 5)));
+
+        // Act & Assert
+        assertArrayEquals(new int[]{1}, EXACT.solve(options, 3));
+        assertArrayEquals(new int[]{1}, GREEDY.solve(options, 3));
+    }
+
+    @Test
+    void solve_ShouldLeaveJobUnassigned_WhenItHasNoOptions() {
+        // Arrange
+        List<List<AssignmentSolver.Option>> options = List.of(
+                List.of(),
+                List.of(option(0, 1)),
+                List.of(option(1, 1)));
+
+        // Act
+        int[] assignment = EXACT.solve(options, 2);
+
+        // Assert
+        assertArrayEquals(new int[]{-1, 0, 1}, assignment);
+    }
+
+    @Test
+    void solve_ShouldNeverBeatExact_WhenSolvedGreedily() {
+        // Arrange: random sparse rectangular instances
+        Random random = new Random(42);
+        for (int instance = 0; instance < 50; instance++) {
+            int jobCount = 2 + random.nextInt(8);
+            int workerCount = 2 + random.nextInt(8);
+            List<List<AssignmentSolver.Option>> options = new ArrayList<>();
+            for (int job = 0; job < jobCount; job++) {
+                List<AssignmentSolver.Option> jobOptions = new ArrayList<>();
+                for (int worker = 0; worker < workerCount; worker++) {
+                    if (random.nextDouble() < 0.5) {
+                        jobOptions.add(option(worker, 1 + random.nextInt(20)));
+                    }
+                }
+                options.add(jobOptions);
+            }
+
+            // Act
+            int[] exact = EXACT.solve(options, workerCount);
+            int[] greedy = GREEDY_WITH_SWAPS.solve(options, workerCount);
+
+            // Assert
+            assertValid(options, exact);
+            assertValid(options, greedy);
+            assertTrue(assignedCount(exact) >= assignedCount(greedy), "instance " + instance);
+            if (assignedCount(exact) == assignedCount(greedy)) {
+                assertTrue(totalCost(options, exact) <= totalCost(options, greedy), "instance " + instance);
+            }
+        }
+    }
+
+    private static AssignmentSolver.Option option(int worker, double cost) {
+        return new AssignmentSolver.Option(worker, cost);
+    }
+
+    private static void assertValid(List<List<AssignmentSolver.Option>> options, int[] assignment) {
+        Set<Integer> used = new HashSet<>();
+        for (int job = 0; job < assignment.length; job++) {
+            int worker = assignment[job];
+            if (worker < 0) {
+                continue;
+            }
+            assertTrue(used.add(worker), "worker " + worker + " assigned twice in " + Arrays.toString(assignment));
+            assertTrue(options.get(job).stream().anyMatch(option -> option.worker() == worker),
+                    "job " + job + " assigned to a worker it has no option for");
+        }
+    }
+
+    private static long assignedCount(int[] assignment) {
+        return Arrays.stream(assignment).filter(worker -> worker >= 0).count();
+    }
+
+    private static double totalCost(List<List<AssignmentSolver.Option>> options, int[] assignment) {
+        double total = 0;
+        for (int job = 0; job < assignment.length; job++) {
+            int worker = assignment[job];
+            if (worker >= 0) {
+                total += options.get(job).stream()
+                        .filter(option -> option.worker() == worker)
+                        .mapToDouble(AssignmentSolver.Option::cost)
+                        .min()
+                        .orElseThrow();
+            }
+        }
+        return total;
+    }
+}
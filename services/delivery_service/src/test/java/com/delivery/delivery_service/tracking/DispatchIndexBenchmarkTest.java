@@ -0,0 +1,89 @@
+package com.delivery.delivery_service.tracking;
+
+import com.delivery.delivery_service.Throughput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dispatch lookups against a city-sized fleet. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class DispatchIndexBenchmarkTest {
+
+    private static final int DRIVERS = 50_000;
+    private static final int QUERIES = 4_096;
+    private static final long NOW = 1_000_000L;
+    // A one-degree square, roughly 110 km across, gives about five drivers per 0.01 degree cell
+    private static final double MIN_LATITUDE = 6.4;
+    private static final double MIN_LONGITUDE = 79.5;
+    private static final double SPAN_DEGREES = 1.0;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private DispatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DispatchIndex(0.01, 60_000L);
+        for (long driverId = 1; driverId <= DRIVERS; driverId++) {
+            index.goOnline(driverId, "Driver " + driverId, "000",
+                    new DriverPosition(driverId, latitude(), longitude(), 0f, 0f, NOW));
+        }
+    }
+
+    @Test
+    void nearest_ShouldAnswerQueries_With50kDriversOnline() {
+        // Arrange
+        double[][] pickups = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            pickups[i] = new double[] {latitude(), longitude()};
+        }
+        int[] next = {0};
+
+        // Act
+        double perSecond = Throughput.measure("DispatchIndex.nearest (k=5, 5 km, 50k drivers)", () -> {
+            double[] pickup = pickups[next[0]++ & (QUERIES - 1)];
+            return index.nearest(pickup[0], pickup[1], 5, 5.0, NOW).size();
+        });
+
+        // Assert
+        assertEquals(5, index.nearest(7.0, 80.0, 5, 5.0, NOW).size());
+        assertTrue(perSecond > 0);
+    }
+
+    @Test
+    void tryReserve_ShouldReserveAndRelease_With50kDriversOnline() {
+        // Arrange
+        long[] driverIds = new long[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            driverIds[i] = 1 + random.nextInt(DRIVERS);
+        }
+        int[] next = {0};
+
+        // Act
+        double perSecond = Throughput.measure("DispatchIndex.tryReserve + release (50k drivers)", () -> {
+            long driverId = driverIds[next[0]++ & (QUERIES - 1)];
+            if (!index.tryReserve(driverId)) {
+                return 0;
+            }
+            index.release(driverId);
+            return 1;
+        });
+
+        // Assert: every reservation was handed back
+        assertEquals(DRIVERS, index.availableDrivers(NOW).size());
+        assertTrue(perSecond > 0);
+    }
+
+    private double latitude() {
+        return MIN_LATITUDE + random.nextDouble() * SPAN_DEGREES;
+    }
+
+    private double longitude() {
+        return MIN_LONGITUDE + random.nextDouble() * SPAN_DEGREES;
+    }
+}
@@ -0,0 +1,148 @@
+package com.delivery.delivery_service.tracking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DispatchIndexTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long MAX_POSITION_AGE = 60_000L;
+
+    private DispatchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new DispatchIndex(0.01, MAX_POSITION_AGE);
+    }
+
+    @Test
+    void tryReserve_ShouldSucceedOnce_UntilDriverIsReleased() {
+        // Arrange
+        goOnline(1, 6.90, 79.85);
+
+        // Act & Assert
+        assertTrue(index.tryReserve(1));
+        assertFalse(index.tryReserve(1));
+        assertFalse(index.isAvailable(1));
+
+        index.release(1);
+        assertTrue(index.isAvailable(1));
+        assertTrue(index.tryReserve(1));
+    }
+
+    @Test
+    void tryReserve_ShouldFail_WhenDriverIsOffline() {
+        // Act & Assert
+        assertFalse(index.tryReserve(1));
+        assertFalse(index.isAvailable(1));
+    }
+
+    @Test
+    void markBusy_ShouldKeepDriverBusy_WhenDriverComesOnlineLater() {
+        // Arrange
+        index.markBusy(1);
+
+        // Act
+        goOnline(1, 6.90, 79.85);
+
+        // Assert
+        assertFalse(index.isAvailable(1));
+        assertFalse(index.tryReserve(1));
+        assertTrue(index.availableDrivers(NOW).isEmpty());
+    }
+
+    @Test
+    void busyDriver_ShouldStayBusy_WhenGoingOfflineAndOnlineAgain() {
+        // Arrange
+        goOnline(1, 6.90, 79.85);
+        assertTrue(index.tryReserve(1));
+
+        // Act
+        index.goOffline(1);
+        goOnline(1, 6.90, 79.85);
+
+        // Assert
+        assertFalse(index.isAvailable(1));
+        index.release(1);
+        assertTrue(index.isAvailable(1));
+    }
+
+    @Test
+    void nearest_ShouldSkipReservedDrivers() {
+        // Arrange
+        goOnline(1, 6.900, 79.850);
+        goOnline(2, 6.905, 79.850);
+        index.tryReserve(1);
+
+        // Act
+        List<DispatchIndex.Candidate> candidates = index.nearest(6.900, 79.850, 2, 5.0, NOW);
+
+        // Assert
+        assertEquals(1, candidates.size());
+        assertEquals(2L, candidates.get(0).driver().driverId());
+        assertEquals(List.of(2L), index.availableDrivers(NOW).stream().map(DispatchIndex.DriverEntry::driverId).toList());
+    }
+
+    @Test
+    void nearest_ShouldReturnClosestDriversWithinRadius_NearestFirst() {
+        // Arrange
+        goOnline(1, 6.930, 79.850);
+        goOnline(2, 6.910, 79.850);
+        goOnline(3, 6.920, 79.850);
+        goOnline(4, 7.500, 79.850);
+        index.goOnline(5, "Stale", "000", new DriverPosition(5, 6.900, 79.850, 0f, 0f, NOW - MAX_POSITION_AGE - 1));
+
+        // Act
+        List<DispatchIndex.Candidate> candidates = index.nearest(6.900, 79.850, 2, 10.0, NOW);
+
+        // Assert
+        assertEquals(List.of(2L, 3L), candidates.stream().map(candidate -> candidate.driver().driverId()).toList());
+    }
+
+    @Test
+    void tryReserve_ShouldLetExactlyOneCallerWin_WhenCalledConcurrently() throws Exception {
+        // Arrange
+        goOnline(1, 6.90, 79.85);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return index.tryReserve(1);
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(5, TimeUnit.SECONDS)) {
+                    winners++;
+                }
+            }
+
+            // Assert
+            assertEquals(1, winners);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void goOnline(long driverId, double latitude, double longitude) {
+        index.goOnline(driverId, "Driver " + driverId, "000",
+                new DriverPosition(driverId, latitude, longitude, 0f, 0f, NOW));
+    }
+}
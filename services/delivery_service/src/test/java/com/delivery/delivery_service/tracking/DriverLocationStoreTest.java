@@ -0,0 +1,138 @@
+package com.delivery.delivery_service.tracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DriverLocationStoreTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long SAMPLE_INTERVAL = 10_000L;
+
+    private final DriverLocationStore store = new DriverLocationStore(16, SAMPLE_INTERVAL);
+
+    @Test
+    void update_ShouldGiveEachNewDriverItsOwnSlot() {
+        // Act
+        store.update(1, 6.90, 79.85, 20f, 90f, NOW);
+        store.update(2, 6.95, 79.86, 0f, 0f, NOW);
+
+        // Assert
+        assertEquals(2, store.size());
+        assertEquals(new DriverPosition(1, 6.90, 79.85, 20f, 90f, NOW), store.get(1));
+        assertEquals(new DriverPosition(2, 6.95, 79.86, 0f, 0f, NOW), store.get(2));
+    }
+
+    @Test
+    void update_ShouldReuseSlot_WhenDriverPingsAgain() {
+        // Arrange
+        store.update(1, 6.90, 79.85, 20f, 90f, NOW);
+
+        // Act
+        store.update(1, 6.91, 79.84, 25f, 180f, NOW + 1_000);
+
+        // Assert
+        assertEquals(1, store.size());
+        assertEquals(new DriverPosition(1, 6.91, 79.84, 25f, 180f, NOW + 1_000), store.get(1));
+    }
+
+    @Test
+    void get_ShouldReturnNull_WhenDriverHasNotReported() {
+        // Act & Assert
+        assertNull(store.get(1));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void update_ShouldIgnoreStalePing_AndKeepNewerPosition() {
+        // Arrange
+        store.update(1, 6.90, 79.85, 20f, 90f, NOW);
+
+        // Act
+        DriverLocationStore.UpdateResult stale = store.update(1, 7.00, 80.00, 0f, 0f, NOW - 1);
+        DriverLocationStore.UpdateResult sameTime = store.update(1, 6.91, 79.85, 20f, 90f, NOW);
+
+        // Assert
+        assertEquals(DriverLocationStore.UpdateResult.STALE, stale);
+        assertEquals(DriverLocationStore.UpdateResult.UPDATED, sameTime);
+        assertEquals(6.91, store.get(1).latitude());
+    }
+
+    @Test
+    void update_ShouldSampleFirstPing_AndThenOncePerInterval() {
+        // Act & Assert
+        assertEquals(DriverLocationStore.UpdateResult.SAMPLED, store.update(1, 6.90, 79.85, 0f, 0f, NOW));
+        assertEquals(DriverLocationStore.UpdateResult.UPDATED, store.update(1, 6.90, 79.85, 0f, 0f, NOW + SAMPLE_INTERVAL - 1));
+        assertEquals(DriverLocationStore.UpdateResult.SAMPLED, store.update(1, 6.90, 79.85, 0f, 0f, NOW + SAMPLE_INTERVAL));
+        assertEquals(DriverLocationStore.UpdateResult.UPDATED, store.update(1, 6.90, 79.85, 0f, 0f, NOW + SAMPLE_INTERVAL + 1));
+    }
+
+    @Test
+    void update_ShouldKeepEveryPosition_WhenGrowingPastInitialCapacity() {
+        // Act: 16 slots double three times
+        for (long driverId = 1; driverId <= 100; driverId++) {
+            store.update(driverId, driverId, -driverId, 0f, 0f, NOW + driverId);
+        }
+
+        // Assert
+        assertEquals(100, store.size());
+        for (long driverId = 1; driverId <= 100; driverId++) {
+            assertEquals(new DriverPosition(driverId, driverId, -driverId, 0f, 0f, NOW + driverId), store.get(driverId));
+        }
+        List<DriverPosition> visited = new ArrayList<>();
+        store.forEach(visited::add);
+        assertEquals(100, visited.size());
+    }
+
+    @Test
+    void update_ShouldNotLosePositions_WhenDriversAreAddedConcurrently() throws Exception {
+        // Arrange: every thread adds its own drivers and keeps moving them, forcing repeated growth
+        int threads = 8;
+        int driversPerThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        // Act
+        try {
+            for (int t = 0; t < threads; t++) {
+                long firstDriverId = (long) t * driversPerThread + 1;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int ping = 0; ping < 3; ping++) {
+                        for (long driverId = firstDriverId; driverId < firstDriverId + driversPerThread; driverId++) {
+                            store.update(driverId, driverId, ping, 0f, 0f, NOW + ping);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        int drivers = threads * driversPerThread;
+        assertEquals(drivers, store.size());
+        for (long driverId = 1; driverId <= drivers; driverId++) {
+            assertEquals(new DriverPosition(driverId, driverId, 2, 0f, 0f, NOW + 2), store.get(driverId));
+        }
+        Set<Long> visited = new HashSet<>();
+        store.forEach(position -> assertTrue(visited.add(position.driverId())));
+        assertEquals(drivers, visited.size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.delivery.delivery_service.tracking;
+
+import com.delivery.delivery_service.model.DeliveryStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DriverStatsStoreTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+    // Aligned to an hour so bucket boundaries are easy to reason about
+    private static final long START = 1_000 * HOUR;
+
+    private final DriverStatsStore store = new DriverStatsStore();
+
+    @Test
+    void record_ShouldCountDeliveryInEveryWindow() {
+        // Act
+        store.record(1, DeliveryStatus.PICKED_UP, START, -1);
+        store.record(1, DeliveryStatus.DELIVERED, START + MINUTE, 90_000);
+
+        // Assert
+        DriverStatsStore.Snapshot snapshot = store.get(1, START + MINUTE);
+        for (DriverStatsStore.Totals totals : List.of(snapshot.lastHour(), snapshot.lastDay(), snapshot.lifetime())) {
+            assertEquals(1, totals.pickedUp());
+            assertEquals(1, totals.delivered());
+            assertEquals(90.0, totals.averagePickupToDropSeconds());
+        }
+    }
+
+    @Test
+    void record_ShouldIgnoreStatusesThatAreNotCounted() {
+        // Act
+        store.record(1, DeliveryStatus.ASSIGNED, START, -1);
+        store.record(1, DeliveryStatus.IN_TRANSIT, START, -1);
+
+        // Assert
+        assertNull(store.get(1, START));
+        assertTrue(store.drainDirty(START).isEmpty());
+    }
+
+    @Test
+    void lastHour_ShouldDropBucket_OnceItIsAnHourOld() {
+        // Arrange
+        store.record(1, DeliveryStatus.DELIVERED, START, -1);
+
+        // Act & Assert
+        assertEquals(1, store.get(1, START + 59 * MINUTE + 59_999).lastHour().delivered());
+        DriverStatsStore.Snapshot anHourLater = store.get(1, START + HOUR);
+        assertEquals(0, anHourLater.lastHour().delivered());
+        assertEquals(1, anHourLater.lastDay().delivered());
+        assertEquals(1, anHourLater.lifetime().delivered());
+    }
+
+    @Test
+    void lastDay_ShouldDropBucket_OnceItIsADayOld() {
+        // Arrange
+        store.record(1, DeliveryStatus.CANCELLED, START, -1);
+
+        // Act & Assert
+        assertEquals(1, store.get(1, START + 23 * HOUR + 59 * MINUTE).lastDay().cancelled());
+        DriverStatsStore.Snapshot aDayLater = store.get(1, START + 24 * HOUR);
+        assertEquals(0, aDayLater.lastDay().cancelled());
+        assertEquals(1, aDayLater.lifetime().cancelled());
+    }
+
+    @Test
+    void record_ShouldResetReusedSlot_WhenRingWrapsAround() {
+        // Arrange: minute 0 and minute 60 share a slot in the hour ring
+        store.record(1, DeliveryStatus.DELIVERED, START, -1);
+        store.record(1, DeliveryStatus.DELIVERED, START, -1);
+
+        // Act
+        store.record(1, DeliveryStatus.DELIVERED, START + HOUR, -1);
+
+        // Assert
+        DriverStatsStore.Snapshot snapshot = store.get(1, START + HOUR);
+        assertEquals(1, snapshot.lastHour().delivered());
+        assertEquals(3, snapshot.lastDay().delivered());
+        assertEquals(3, snapshot.lifetime().delivered());
+    }
+
+    @Test
+    void record_ShouldOnlyCountLifetime_WhenOlderThanTheSlotsPeriod() {
+        // Arrange
+        store.record(1, DeliveryStatus.DELIVERED, START + HOUR, -1);
+
+        // Act: an hour earlier maps to the same slot, which now holds a newer minute
+        store.record(1, DeliveryStatus.DELIVERED, START, -1);
+
+        // Assert
+        DriverStatsStore.Snapshot snapshot = store.get(1, START + HOUR);
+        assertEquals(1, snapshot.lastHour().delivered());
+        assertEquals(2, snapshot.lifetime().delivered());
+    }
+
+    @Test
+    void restore_ShouldAddToTransitionsRecordedWhileLoading() {
+        // Arrange
+        store.record(1, DeliveryStatus.DELIVERED, START, 60_000);
+
+        // Act
+        store.restore(1, new DriverStatsStore.Totals(10, 8, 2, 480_000, 8));
+
+        // Assert
+        DriverStatsStore.Totals lifetime = store.get(1, START).lifetime();
+        assertEquals(new DriverStatsStore.Totals(10, 9, 2, 540_000, 9), lifetime);
+        assertEquals(0, store.get(1, START).lastHour().pickedUp());
+    }
+
+    @Test
+    void drainDirty_ShouldReturnChangedDriversOnce() {
+        // Arrange
+        store.record(1, DeliveryStatus.DELIVERED, START, -1);
+        store.restore(2, new DriverStatsStore.Totals(1, 1, 0, 0, 0));
+
+        // Act
+        List<DriverStatsStore.Snapshot> first = store.drainDirty(START);
+        List<DriverStatsStore.Snapshot> second = store.drainDirty(START);
+        store.markDirty(2);
+        List<DriverStatsStore.Snapshot> afterMarking = store.drainDirty(START);
+
+        // Assert
+        assertEquals(List.of(1L), first.stream().map(DriverStatsStore.Snapshot::driverId).toList());
+        assertTrue(second.isEmpty());
+        assertEquals(List.of(2L), afterMarking.stream().map(DriverStatsStore.Snapshot::driverId).toList());
+    }
+}
@@ -0,0 +1,127 @@
+package com.delivery.delivery_service.tracking;
+
+import com.delivery.delivery_service.model.DeliveryStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeofenceTrackerTest {
+
+    private static final double PICKUP_LATITUDE = 6.90;
+    private static final double PICKUP_LONGITUDE = 79.85;
+    private static final double DROP_LATITUDE = 6.95;
+    private static final double DROP_LONGITUDE = 79.86;
+    private static final double KM_PER_DEGREE = Math.PI * DispatchIndex.EARTH_RADIUS_KM / 180.0;
+    private static final long DWELL = 60_000L;
+
+    // Entered within 100 m, left only beyond 200 m
+    private final GeofenceTracker tracker = new GeofenceTracker(0.1, 0.2, DWELL, true);
+
+    @Test
+    void evaluate_ShouldPickUp_AfterDwellingInsidePickupFence() {
+        // Arrange
+        ActiveDeliveryRegistry.ActiveDelivery delivery = delivery(DeliveryStatus.ASSIGNED);
+
+        // Act & Assert
+        assertNull(atPickup(delivery, 0.0, 0));
+        assertNull(atPickup(delivery, 0.05, DWELL - 1));
+        assertEquals(new GeofenceTracker.Transition(1, DeliveryStatus.ASSIGNED, DeliveryStatus.PICKED_UP),
+                atPickup(delivery, 0.05, DWELL));
+    }
+
+    @Test
+    void evaluate_ShouldKeepDwellTimer_WhenJitterStaysWithinExitRadius() {
+        // Arrange
+        ActiveDeliveryRegistry.ActiveDelivery delivery = delivery(DeliveryStatus.ASSIGNED);
+
+        // Act & Assert: 150 m is outside the enter radius but inside the exit radius
+        assertNull(atPickup(delivery, 0.0, 0));
+        assertNull(atPickup(delivery, 0.15, DWELL / 2));
+        assertEquals(1, tracker.dwellingCount());
+        assertNotNull(atPickup(delivery, 0.15, DWELL));
+    }
+
+    @Test
+    void evaluate_ShouldRestartDwellTimer_WhenDriverLeavesBeyondExitRadius() {
+        // Arrange
+        ActiveDeliveryRegistry.ActiveDelivery delivery = delivery(DeliveryStatus.ASSIGNED);
+
+        // Act & Assert
+        assertNull(atPickup(delivery, 0.0, 0));
+        assertNull(atPickup(delivery, 0.25, DWELL / 2));
+        assertEquals(0, tracker.dwellingCount());
+        assertNull(atPickup(delivery, 0.0, DWELL / 2 + 1));
+        assertNull(atPickup(delivery, 0.0, DWELL));
+        assertNotNull(atPickup(delivery, 0.0, DWELL * 3 / 2 + 1));
+    }
+
+    @Test
+    void evaluate_ShouldNotStartDwelling_WhenFirstSeenBetweenEnterAndExitRadius() {
+        // Arrange
+        ActiveDeliveryRegistry.ActiveDelivery delivery = delivery(DeliveryStatus.ASSIGNED);
+
+        // Act & Assert
+        assertNull(atPickup(delivery, 0.15, 0));
+        assertEquals(0, tracker.dwellingCount());
+        assertNull(atPickup(delivery, 0.15, DWELL));
+    }
+
+    @Test
+    void evaluate_ShouldStartTransit_OnlyOnceDriverIsBeyondExitRadius() {
+        // Arrange
+        ActiveDeliveryRegistry.ActiveDelivery delivery = delivery(DeliveryStatus.PICKED_UP);
+
+        // Act & Assert
+        assertNull(atPickup(delivery, 0.15, 0));
+        assertEquals(new GeofenceTracker.Transition(1, DeliveryStatus.PICKED_UP, DeliveryStatus.IN_TRANSIT),
+                atPickup(delivery, 0.25, 1));
+    }
+
+    @Test
+    void evaluate_ShouldDeliver_AfterDwellingInsideDropOffFence() {
+        // Arrange
+        ActiveDeliveryRegistry.ActiveDelivery delivery = delivery(DeliveryStatus.IN_TRANSIT);
+
+        // Act & Assert
+        assertNull(tracker.evaluate(delivery, DROP_LATITUDE, DROP_LONGITUDE, 0));
+        assertEquals(new GeofenceTracker.Transition(1, DeliveryStatus.IN_TRANSIT, DeliveryStatus.DELIVERED),
+                tracker.evaluate(delivery, DROP_LATITUDE, DROP_LONGITUDE, DWELL));
+    }
+
+    @Test
+    void evaluate_ShouldNotDeliver_WhenAutoDeliverIsOff() {
+        // Arrange
+        GeofenceTracker manualDelivery = new GeofenceTracker(0.1, 0.2, DWELL, false);
+        ActiveDeliveryRegistry.ActiveDelivery delivery = delivery(DeliveryStatus.IN_TRANSIT);
+
+        // Act & Assert
+        assertNull(manualDelivery.evaluate(delivery, DROP_LATITUDE, DROP_LONGITUDE, 0));
+        assertNull(manualDelivery.evaluate(delivery, DROP_LATITUDE, DROP_LONGITUDE, DWELL));
+    }
+
+    @Test
+    void retain_ShouldDropDwellTimersOfUntrackedDeliveries() {
+        // Arrange
+        atPickup(delivery(DeliveryStatus.ASSIGNED), 0.0, 0);
+
+        // Act
+        tracker.retain(deliveryId -> false);
+
+        // Assert
+        assertEquals(0, tracker.dwellingCount());
+    }
+
+    @Test
+    void constructor_ShouldRejectExitRadiusSmallerThanEnterRadius() {
+        assertThrows(IllegalArgumentException.class, () -> new GeofenceTracker(0.2, 0.1, DWELL, true));
+    }
+
+    private GeofenceTracker.Transition atPickup(ActiveDeliveryRegistry.ActiveDelivery delivery, double kmNorth, long at) {
+        return tracker.evaluate(delivery, PICKUP_LATITUDE + kmNorth / KM_PER_DEGREE, PICKUP_LONGITUDE, at);
+    }
+
+    private static ActiveDeliveryRegistry.ActiveDelivery delivery(DeliveryStatus status) {
+        return new ActiveDeliveryRegistry.ActiveDelivery(1, 7L, status,
+                PICKUP_LATITUDE, PICKUP_LONGITUDE, DROP_LATITUDE, DROP_LONGITUDE, null);
+    }
+}
@@ -0,0 +1,84 @@
+package com.delivery.delivery_service.tracking;
+
+import com.delivery.delivery_service.Throughput;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Planning time against the number of pending deliveries, and against the number of deliveries
+ * in one route. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class RoutePlannerBenchmarkTest {
+
+    // Pickups come from a few hundred restaurants in a 0.3 degree square, drop-offs up to 5 km away
+    private static final int RESTAURANTS = 300;
+    private static final double MIN_LATITUDE = 6.8;
+    private static final double MIN_LONGITUDE = 79.8;
+    private static final double SPAN_DEGREES = 0.3;
+    private static final double DROP_OFF_DEGREES = 0.045;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @ParameterizedTest(name = "{0} pending deliveries")
+    @ValueSource(ints = {100, 500, 1_000, 2_000, 5_000})
+    void groupAndPlan_ShouldProposeRoutes_ForPendingBatchSize(int pending) {
+        // Arrange: the settings in application.properties
+        RoutePlanner planner = new RoutePlanner(1.5, 45.0, 3, 10);
+        List<RoutePlanner.RouteJob> jobs = jobs(pending);
+
+        // Act
+        double perSecond = Throughput.measure("RoutePlanner.group + plan (" + pending + " pending)", () -> {
+            long stops = 0;
+            for (List<RoutePlanner.RouteJob> group : planner.group(jobs)) {
+                stops += planner.plan(Double.NaN, Double.NaN, group).stops().size();
+            }
+            return stops;
+        });
+
+        // Assert
+        assertEquals(pending, planner.group(jobs).stream().mapToInt(List::size).sum());
+        assertTrue(perSecond > 0);
+    }
+
+    @ParameterizedTest(name = "{0} deliveries per route")
+    @ValueSource(ints = {2, 3, 4, 6, 8, 12})
+    void plan_ShouldOrderStops_ForRouteSize(int deliveries) {
+        // Arrange
+        RoutePlanner planner = new RoutePlanner(1.5, 45.0, deliveries, 10);
+        List<RoutePlanner.RouteJob> jobs = jobs(deliveries);
+
+        // Act
+        double perSecond = Throughput.measure("RoutePlanner.plan (" + deliveries + " deliveries)", () ->
+                planner.plan(MIN_LATITUDE, MIN_LONGITUDE, jobs).stops().size());
+
+        // Assert
+        assertEquals(2 * deliveries, planner.plan(MIN_LATITUDE, MIN_LONGITUDE, jobs).stops().size());
+        assertTrue(perSecond > 0);
+    }
+
+    private List<RoutePlanner.RouteJob> jobs(int count) {
+        double[][] restaurants = new double[RESTAURANTS][];
+        for (int i = 0; i < RESTAURANTS; i++) {
+            restaurants[i] = new double[] {
+                    MIN_LATITUDE + random.nextDouble() * SPAN_DEGREES,
+                    MIN_LONGITUDE + random.nextDouble() * SPAN_DEGREES};
+        }
+        List<RoutePlanner.RouteJob> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double[] pickup = restaurants[random.nextInt(RESTAURANTS)];
+            jobs.add(new RoutePlanner.RouteJob(i + 1, pickup[0], pickup[1],
+                    pickup[0] + random.nextDouble(-DROP_OFF_DEGREES, DROP_OFF_DEGREES),
+                    pickup[1] + random.nextDouble(-DROP_OFF_DEGREES, DROP_OFF_DEGREES),
+                    false));
+        }
+        return jobs;
+    }
+}
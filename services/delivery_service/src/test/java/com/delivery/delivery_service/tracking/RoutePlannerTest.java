@@ -0,0 +1,105 @@
+package com.delivery.delivery_service.tracking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoutePlannerTest {
+
+    // Roughly 1.1 km per unit near the equator
+    private static final double UNIT = 0.01;
+
+    @Test
+    void plan_ShouldShortenNearestNeighbourRoute_WhenImprovedWithTwoOpt() {
+        // Arrange: nearest neighbour goes west, then south, and has to come all the way back north
+        List<RoutePlanner.RouteJob> jobs = List.of(
+                onBoard(1, -3, 0),
+                onBoard(2, -1, -4),
+                onBoard(3, -3, -3),
+                onBoard(4, -1, 3));
+        RoutePlanner withoutImprovement = new RoutePlanner(1.0, 45.0, 4, 0);
+        RoutePlanner withImprovement = new RoutePlanner(1.0, 45.0, 4, 5);
+
+        // Act
+        RoutePlanner.Route nearestNeighbour = withoutImprovement.plan(0, 0, jobs);
+        RoutePlanner.Route improved = withImprovement.plan(0, 0, jobs);
+
+        // Assert
+        assertEquals(List.of(1L, 3L, 2L, 4L), deliveryIds(nearestNeighbour));
+        assertEquals(List.of(4L, 1L, 3L, 2L), deliveryIds(improved));
+        assertTrue(improved.distanceKm() < nearestNeighbour.distanceKm() * 0.85,
+                improved.distanceKm() + " km is not shorter than " + nearestNeighbour.distanceKm() + " km");
+    }
+
+    @Test
+    void plan_ShouldKeepEveryPickupBeforeItsDropOff() {
+        // Arrange: drop-offs are closer to the driver than the pickups
+        List<RoutePlanner.RouteJob> jobs = List.of(
+                new RoutePlanner.RouteJob(1, 5 * UNIT, 5 * UNIT, UNIT, 0, false),
+                new RoutePlanner.RouteJob(2, 5 * UNIT, 6 * UNIT, 0, UNIT, false),
+                new RoutePlanner.RouteJob(3, 6 * UNIT, 5 * UNIT, -UNIT, 0, false));
+        RoutePlanner planner = new RoutePlanner(1.0, 45.0, 4, 5);
+
+        // Act
+        RoutePlanner.Route route = planner.plan(0, 0, jobs);
+
+        // Assert
+        assertEquals(6, route.stops().size());
+        Set<Long> pickedUp = new HashSet<>();
+        for (RoutePlanner.Stop stop : route.stops()) {
+            if (stop.type() == RoutePlanner.StopType.PICKUP) {
+                assertTrue(pickedUp.add(stop.deliveryId()));
+            } else {
+                assertTrue(pickedUp.contains(stop.deliveryId()), "delivery " + stop.deliveryId() + " dropped before pickup");
+            }
+        }
+    }
+
+    @Test
+    void group_ShouldSeparateDeliveries_WhenTheyHeadInDifferentDirections() {
+        // Arrange
+        RoutePlanner planner = new RoutePlanner(1.0, 45.0, 4, 0);
+        List<RoutePlanner.RouteJob> jobs = List.of(
+                new RoutePlanner.RouteJob(1, 0, 0, 5 * UNIT, 0, false),
+                new RoutePlanner.RouteJob(2, 0, 0.1 * UNIT, 5 * UNIT, 0.2 * UNIT, false),
+                new RoutePlanner.RouteJob(3, 0, 0.2 * UNIT, -5 * UNIT, 0, false));
+
+        // Act
+        List<List<RoutePlanner.RouteJob>> groups = planner.group(jobs);
+
+        // Assert
+        assertEquals(2, groups.size());
+        assertEquals(List.of(1L, 2L), groups.get(0).stream().map(RoutePlanner.RouteJob::deliveryId).toList());
+        assertEquals(List.of(3L), groups.get(1).stream().map(RoutePlanner.RouteJob::deliveryId).toList());
+    }
+
+    @Test
+    void group_ShouldFindEastWestNeighbours_WhenFarFromTheEquator() {
+        // Arrange: at 60 degrees a degree of longitude is half as long, 0.8 km apart east-west
+        RoutePlanner planner = new RoutePlanner(1.0, 45.0, 4, 0);
+        double latitude = 60.0;
+        double eastOffset = 0.8 / (111.32 * Math.cos(Math.toRadians(latitude)));
+        List<RoutePlanner.RouteJob> jobs = List.of(
+                new RoutePlanner.RouteJob(1, latitude, -1e-6, latitude + 0.05, 0, false),
+                new RoutePlanner.RouteJob(2, latitude, eastOffset - 1e-6, latitude + 0.05, eastOffset, false));
+
+        // Act
+        List<List<RoutePlanner.RouteJob>> groups = planner.group(jobs);
+
+        // Assert
+        assertEquals(1, groups.size());
+        assertEquals(2, groups.get(0).size());
+    }
+
+    private static RoutePlanner.RouteJob onBoard(long deliveryId, double x, double y) {
+        return new RoutePlanner.RouteJob(deliveryId, 0, 0, y * UNIT, x * UNIT, true);
+    }
+
+    private static List<Long> deliveryIds(RoutePlanner.Route route) {
+        return route.stops().stream().map(RoutePlanner.Stop::deliveryId).toList();
+    }
+}
@@ -0,0 +1,103 @@
+package com.delivery.delivery_service.tracking;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TravelTimeGridTest {
+
+    private static final double CELL_DEGREES = 0.01;
+    private static final double DEFAULT_KMH = 20.0;
+
+    // Two samples qualify a level; the running mean is capped at four samples
+    private final TravelTimeGrid grid = new TravelTimeGrid(CELL_DEGREES, DEFAULT_KMH, 2.0, 120.0, 2, 4);
+
+    @Test
+    void estimate_ShouldUseDefaultSpeed_WhenNothingIsLearned() {
+        // Act
+        TravelTimeGrid.Estimate estimate = grid.estimate(6.900, 79.850, 6.950, 79.850);
+
+        // Assert
+        assertEquals(TravelTimeGrid.Source.DEFAULT, estimate.source());
+        assertEquals(Math.round(estimate.distanceKm() / DEFAULT_KMH * 3600.0), estimate.seconds());
+    }
+
+    @Test
+    void estimate_ShouldPreferMostSpecificLevelWithEnoughSamples() {
+        // Arrange: two 30 km/h trips between the same pair of cells
+        recordTrip(6.9005, 79.8505, 6.9505, 79.8505, 30.0);
+        recordTrip(6.9005, 79.8505, 6.9505, 79.8505, 30.0);
+
+        // Act
+        TravelTimeGrid.Estimate samePair = grid.estimate(6.9005, 79.8505, 6.9505, 79.8505);
+        TravelTimeGrid.Estimate sameOrigin = grid.estimate(6.9005, 79.8505, 7.2005, 79.8505);
+        TravelTimeGrid.Estimate elsewhere = grid.estimate(7.5005, 80.1005, 7.6005, 80.1005);
+
+        // Assert
+        assertEquals(TravelTimeGrid.Source.CELL_PAIR, samePair.source());
+        assertEquals(TravelTimeGrid.Source.ORIGIN_CELL, sameOrigin.source());
+        assertEquals(TravelTimeGrid.Source.GLOBAL, elsewhere.source());
+        assertEquals(Math.round(samePair.distanceKm() / 30.0 * 3600.0), samePair.seconds());
+    }
+
+    @Test
+    void estimate_ShouldFallBack_WhenLevelHasTooFewSamples() {
+        // Arrange
+        recordTrip(6.9005, 79.8505, 6.9505, 79.8505, 30.0);
+
+        // Act & Assert
+        assertEquals(TravelTimeGrid.Source.DEFAULT, grid.estimate(6.9005, 79.8505, 6.9505, 79.8505).source());
+    }
+
+    @Test
+    void record_ShouldRejectImplausibleTrips() {
+        // Act & Assert
+        assertFalse(grid.record(6.900, 79.850, 6.950, 79.850, 0));
+        assertFalse(grid.record(6.900, 79.850, 6.950, 79.850, 1));
+        assertFalse(grid.record(6.900, 79.850, 6.901, 79.850, 3600));
+        assertEquals(0, grid.pairCount());
+    }
+
+    @Test
+    void record_ShouldFollowRecentTrips_OnceSampleCountIsCapped() {
+        // Arrange: four slow trips fill the cap
+        for (int i = 0; i < 4; i++) {
+            recordTrip(6.9005, 79.8505, 6.9505, 79.8505, 20.0);
+        }
+
+        // Act: each fast trip moves the mean a quarter of the way
+        for (int i = 0; i < 4; i++) {
+            recordTrip(6.9005, 79.8505, 6.9505, 79.8505, 60.0);
+        }
+
+        // Assert: an uncapped mean would still be 40 km/h
+        TravelTimeGrid.Estimate estimate = grid.estimate(6.9005, 79.8505, 6.9505, 79.8505);
+        double kmh = estimate.distanceKm() / (estimate.seconds() / 3600.0);
+        assertTrue(kmh > 45.0, "expected the mean to follow recent trips, got " + kmh + " km/h");
+    }
+
+    @Test
+    void estimate_ShouldShareOriginCell_WhenPointsAreCloseEastWestAtHighLatitude() {
+        // Arrange: at 60 degrees a cell spans about twice CELL_DEGREES of longitude
+        double latitude = 60.005;
+        double cellWidth = 360.0 / Math.ceil(360.0 * Math.cos(Math.toRadians(latitude)) / CELL_DEGREES);
+        double westEdge = -180.0 + Math.floor((10.0 + 180.0) / cellWidth) * cellWidth;
+        double west = westEdge + 0.1 * cellWidth;
+        double east = westEdge + 0.85 * cellWidth;
+        assertTrue(east - west > CELL_DEGREES);
+        recordTrip(latitude, west, latitude + 0.1, west, 30.0);
+        recordTrip(latitude, west, latitude + 0.1, west, 30.0);
+
+        // Act
+        TravelTimeGrid.Estimate estimate = grid.estimate(latitude, east, latitude - 0.1, east);
+
+        // Assert
+        assertEquals(TravelTimeGrid.Source.ORIGIN_CELL, estimate.source());
+    }
+
+    private void recordTrip(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude, double kmh) {
+        double distanceKm = DispatchIndex.distanceKm(fromLatitude, fromLongitude, toLatitude, toLongitude);
+        long seconds = Math.round(distanceKm / kmh * 3600.0);
+        assertTrue(grid.record(fromLatitude, fromLongitude, toLatitude, toLongitude, seconds));
+    }
+}
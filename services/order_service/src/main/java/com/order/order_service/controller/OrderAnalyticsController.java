@@ -0,0 +1,39 @@
+package com.order.order_service.controller;
+
+import com.order.order_service.dto.OrderStatsDTO;
+import com.order.order_service.model.OrderStatus;
+import com.order.order_service.model.RollupGranularity;
+import com.order.order_service.service.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/orders/analytics")
+@RequiredArgsConstructor
+public class OrderAnalyticsController {
+
+    private final OrderAnalyticsService orderAnalyticsService;
+
+    @GetMapping("/restaurant/{restaurantId}")
+    public ResponseEntity<List<OrderStatsDTO>> getRestaurantStats(
+            @PathVariable Long restaurantId,
+            @RequestParam(defaultValue = "HOUR") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) OrderStatus status) {
+        List<OrderStatsDTO> stats = orderAnalyticsService.getRestaurantStats(restaurantId, granularity, from, to, status);
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/backfill")
+    public ResponseEntity<Map<String, Long>> backfill() {
+        long processed = orderAnalyticsService.backfill();
+        return ResponseEntity.ok(Map.of("ordersProcessed", processed));
+    }
+}
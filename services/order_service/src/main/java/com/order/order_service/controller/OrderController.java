@@ -28,20 +28,29 @@ public class OrderController {
     }
 
     @GetMapping("/{orderId}")
-    public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long orderId) {
-        OrderDTO order = orderService.getOrderById(orderId);
+    public ResponseEntity<OrderDTO> getOrderById(@PathVariable Long orderId,
+                                                 @RequestParam(defaultValue = "false") boolean includeArchived) {
+        OrderDTO order = includeArchived
+                ? orderService.getOrderByIdIncludingArchive(orderId)
+                : orderService.getOrderById(orderId);
         return ResponseEntity.ok(order);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<OrderDTO>> getOrdersByUserId(@PathVariable Long userId) {
-        List<OrderDTO> orders = orderService.getOrdersByUserId(userId);
+    public ResponseEntity<List<OrderDTO>> getOrdersByUserId(@PathVariable Long userId,
+                                                            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<OrderDTO> orders = includeArchived
+                ? orderService.getOrderHistoryByUserId(userId)
+                : orderService.getOrdersByUserId(userId);
         return ResponseEntity.ok(orders);
     }
 
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<List<OrderDTO>> getOrdersByRestaurantId(@PathVariable Long restaurantId) {
-        List<OrderDTO> orders = orderService.getOrdersByRestaurantId(restaurantId);
+    public ResponseEntity<List<OrderDTO>> getOrdersByRestaurantId(@PathVariable Long restaurantId,
+                                                                  @RequestParam(defaultValue = "false") boolean includeArchived) {
+        List<OrderDTO> orders = includeArchived
+                ? orderService.getOrderHistoryByRestaurantId(restaurantId)
+                : orderService.getOrdersByRestaurantId(restaurantId);
         return ResponseEntity.ok(orders);
     }
 
@@ -0,0 +1,22 @@
+package com.order.order_service.dto;
+
+import com.order.order_service.model.OrderStatus;
+import com.order.order_service.model.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatsDTO {
+    private Long restaurantId;
+    private RollupGranularity granularity;
+    private LocalDateTime bucketStart;
+    private OrderStatus status;
+    private Long orderCount;
+    private BigDecimal revenue;
+}
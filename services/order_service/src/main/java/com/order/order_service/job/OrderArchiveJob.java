@@ -0,0 +1,20 @@
+package com.order.order_service.job;
+
+import com.order.order_service.service.OrderArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true")
+public class OrderArchiveJob {
+
+    private final OrderArchiveService orderArchiveService;
+
+    @Scheduled(cron = "${order.archive.cron:0 30 3 * * *}")
+    public void archiveCompletedOrders() {
+        orderArchiveService.archiveCompletedOrders();
+    }
+}
@@ -0,0 +1,68 @@
+package com.order.order_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import java.time.LocalDateTime;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Completed order moved out of the live {@code orders} table by the archival job.
+ * Keeps the original order id so history lookups by id keep working.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_user_time", columnList = "user_id, order_time"),
+        @Index(name = "idx_orders_archive_restaurant_time", columnList = "restaurant_id, order_time"),
+        @Index(name = "idx_orders_archive_month", columnList = "archive_month")
+})
+public class ArchivedOrder {
+    
+    @Id
+    private Long id;
+    
+    @Column(name = "user_id")
+    private Long userId;
+    
+    @Column(name = "restaurant_id")
+    private Long restaurantId;
+    
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    
+    @Column(name = "order_time")
+    private LocalDateTime orderTime;
+    
+    private LocalDateTime deliveryTime;
+    
+    private BigDecimal totalAmount;
+    
+    private String deliveryAddress;
+    
+    private String specialInstructions;
+    
+    // History lists load items for up to 100 archived orders per query instead of one query each
+    @OneToMany(mappedBy = "order")
+    @BatchSize(size = 100)
+    private List<ArchivedOrderItem> orderItems;
+    
+    private Long deliveryPersonnelId;
+    
+    private Boolean isPaid;
+    private String paymentId;
+    
+    @Enumerated(EnumType.STRING)
+    private PaymentMethod paymentMethod;
+    
+    // Partition key: first day of the month the order was placed in
+    @Column(name = "archive_month")
+    private LocalDateTime archiveMonth;
+    
+    private LocalDateTime archivedAt;
+}
@@ -12,7 +12,11 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_user_id", columnList = "user_id"),
+        @Index(name = "idx_orders_restaurant_status", columnList = "restaurant_id, status"),
+        @Index(name = "idx_orders_status_order_time", columnList = "status, order_time")
+})
 public class Order {
     
     @Id
@@ -0,0 +1,6 @@
+package com.order.order_service.model;
+
+public enum RollupGranularity {
+    HOUR,
+    DAY
+}
@@ -0,0 +1,51 @@
+package com.order.order_service.repository;
+
+import com.order.order_service.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    
+    List<ArchivedOrder> findByUserIdOrderByOrderTimeDesc(Long userId);
+    
+    List<ArchivedOrder> findByRestaurantIdOrderByOrderTimeDesc(Long restaurantId);
+    
+    /**
+     * Copies the given live orders into the archive table in a single statement.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, user_id, restaurant_id, status, order_time, delivery_time, " +
+            "total_amount, delivery_address, special_instructions, delivery_personnel_id, is_paid, payment_id, " +
+            "payment_method, archive_month, archived_at) " +
+            "SELECT id, user_id, restaurant_id, status, order_time, delivery_time, total_amount, delivery_address, " +
+            "special_instructions, delivery_personnel_id, is_paid, payment_id, payment_method, " +
+            "date_trunc('month', order_time), now() FROM orders WHERE id IN (:orderIds) " +
+            "ON CONFLICT (id) DO NOTHING",
+            nativeQuery = true)
+    int copyOrders(@Param("orderIds") List<Long> orderIds);
+    
+    /**
+     * Copies the items of the given live orders into the archive item table.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, menu_item_id, menu_item_name, quantity, price, order_id, customizations) " +
+            "SELECT id, menu_item_id, menu_item_name, quantity, price, order_id, customizations " +
+            "FROM order_items WHERE order_id IN (:orderIds) " +
+            "ON CONFLICT (id) DO NOTHING",
+            nativeQuery = true)
+    int copyOrderItems(@Param("orderIds") List<Long> orderIds);
+    
+    @Modifying
+    @Query(value = "DELETE FROM order_items WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int deleteLiveOrderItems(@Param("orderIds") List<Long> orderIds);
+    
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE id IN (:orderIds)", nativeQuery = true)
+    int deleteLiveOrders(@Param("orderIds") List<Long> orderIds);
+}
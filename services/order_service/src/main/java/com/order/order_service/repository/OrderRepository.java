@@ -2,9 +2,14 @@ package com.order.order_service.repository;
 
 import com.order.order_service.model.Order;
 import com.order.order_service.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -21,4 +26,9 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
     
     List<Order> findByRestaurantIdAndStatus(Long restaurantId, OrderStatus status);
+    
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.orderTime < :cutoff ORDER BY o.id")
+    List<Long> findArchivableIds(@Param("statuses") Collection<OrderStatus> statuses,
+                                 @Param("cutoff") LocalDateTime cutoff,
+                                 Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.order.order_service.repository;
+
+import com.order.order_service.model.OrderStatsRollup;
+import com.order.order_service.model.OrderStatus;
+import com.order.order_service.model.RollupGranularity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderStatsRollupRepository extends JpaRepository<OrderStatsRollup, Long> {
+
+    /**
+     * Adds the given deltas to a rollup bucket, creating the bucket if it does not exist yet.
+     * Negative deltas are used when an order leaves a status.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_stats_rollups (restaurant_id, granularity, bucket_start, status, order_count, revenue) " +
+            "VALUES (:restaurantId, :granularity, :bucketStart, :status, :orderCount, :revenue) " +
+            "ON CONFLICT (restaurant_id, granularity, bucket_start, status) DO UPDATE SET " +
+            "order_count = order_stats_rollups.order_count + EXCLUDED.order_count, " +
+            "revenue = order_stats_rollups.revenue + EXCLUDED.revenue",
+            nativeQuery = true)
+    int upsertIncrement(@Param("restaurantId") Long restaurantId,
+                        @Param("granularity") String granularity,
+                        @Param("bucketStart") LocalDateTime bucketStart,
+                        @Param("status") String status,
+                        @Param("orderCount") long orderCount,
+                        @Param("revenue") BigDecimal revenue);
+
+    /**
+     * Next page of restaurant ids that have orders, archived orders or rollup rows, in id order.
+     */
+    @Query(value = "SELECT restaurant_id FROM (" +
+            "SELECT restaurant_id FROM orders UNION SELECT restaurant_id FROM orders_archive " +
+            "UNION SELECT restaurant_id FROM order_stats_rollups) ids " +
+            "WHERE restaurant_id > :afterId ORDER BY restaurant_id LIMIT :limit",
+            nativeQuery = true)
+    List<Long> findRestaurantIdsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_stats_rollups WHERE restaurant_id IN (:restaurantIds)", nativeQuery = true)
+    int deleteByRestaurantIds(@Param("restaurantIds") List<Long> restaurantIds);
+
+    /**
+     * Writes absolute hourly and daily totals for the given restaurants, aggregated from live and
+     * archived orders. Existing buckets are overwritten, not incremented.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_stats_rollups (restaurant_id, granularity, bucket_start, status, order_count, revenue) " +
+            "SELECT s.restaurant_id, g.granularity, date_trunc(g.unit, s.order_time), s.status, " +
+            "COUNT(*), COALESCE(SUM(s.total_amount), 0) " +
+            "FROM (SELECT restaurant_id, order_time, status, total_amount FROM orders WHERE restaurant_id IN (:restaurantIds) " +
+            "UNION ALL SELECT restaurant_id, order_time, status, total_amount FROM orders_archive " +
+            "WHERE restaurant_id IN (:restaurantIds)) s " +
+            "CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS g(granularity, unit) " +
+            "WHERE s.order_time IS NOT NULL AND s.status IS NOT NULL " +
+            "GROUP BY s.restaurant_id, g.granularity, date_trunc(g.unit, s.order_time), s.status " +
+            "ON CONFLICT (restaurant_id, granularity, bucket_start, status) DO UPDATE SET " +
+            "order_count = EXCLUDED.order_count, revenue = EXCLUDED.revenue",
+            nativeQuery = true)
+    int insertTotalsFromOrders(@Param("restaurantIds") List<Long> restaurantIds);
+
+    @Query(value = "SELECT COALESCE(SUM(order_count), 0) FROM order_stats_rollups " +
+            "WHERE restaurant_id IN (:restaurantIds) AND granularity = 'DAY'",
+            nativeQuery = true)
+    long countOrdersInDailyBuckets(@Param("restaurantIds") List<Long> restaurantIds);
+
+    @Query("SELECT r FROM OrderStatsRollup r WHERE r.restaurantId = :restaurantId AND r.granularity = :granularity " +
+            "AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart, r.status")
+    List<OrderStatsRollup> findBuckets(@Param("restaurantId") Long restaurantId,
+                                       @Param("granularity") RollupGranularity granularity,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    @Query("SELECT r FROM OrderStatsRollup r WHERE r.restaurantId = :restaurantId AND r.granularity = :granularity " +
+            "AND r.status = :status AND r.bucketStart >= :from AND r.bucketStart < :to ORDER BY r.bucketStart")
+    List<OrderStatsRollup> findBucketsByStatus(@Param("restaurantId") Long restaurantId,
+                                               @Param("granularity") RollupGranularity granularity,
+                                               @Param("status") OrderStatus status,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+}
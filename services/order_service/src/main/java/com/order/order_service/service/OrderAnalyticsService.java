@@ -0,0 +1,20 @@
+package com.order.order_service.service;
+
+import com.order.order_service.dto.OrderStatsDTO;
+import com.order.order_service.model.Order;
+import com.order.order_service.model.OrderStatus;
+import com.order.order_service.model.RollupGranularity;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderAnalyticsService {
+    void recordOrderCreated(Order order);
+    
+    void recordStatusChange(Order order, OrderStatus previousStatus);
+    
+    List<OrderStatsDTO> getRestaurantStats(Long restaurantId, RollupGranularity granularity,
+                                           LocalDateTime from, LocalDateTime to, OrderStatus status);
+    
+    long backfill();
+}
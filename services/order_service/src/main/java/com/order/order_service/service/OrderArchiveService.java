@@ -0,0 +1,7 @@
+package com.order.order_service.service;
+
+public interface OrderArchiveService {
+    int archiveBatch();
+    
+    long archiveCompletedOrders();
+}
@@ -12,10 +12,16 @@ public interface OrderService {
     
     OrderDTO getOrderById(Long orderId);
     
+    OrderDTO getOrderByIdIncludingArchive(Long orderId);
+    
     List<OrderDTO> getOrdersByUserId(Long userId);
     
+    List<OrderDTO> getOrderHistoryByUserId(Long userId);
+    
     List<OrderDTO> getOrdersByRestaurantId(Long restaurantId);
     
+    List<OrderDTO> getOrderHistoryByRestaurantId(Long restaurantId);
+    
     OrderDTO updateOrderStatus(Long orderId, UpdateOrderStatusRequest request);
     
     OrderDTO assignDeliveryPersonnel(Long orderId, Long deliveryPersonnelId);
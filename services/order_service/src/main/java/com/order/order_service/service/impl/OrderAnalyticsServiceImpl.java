@@ -0,0 +1,150 @@
+package com.order.order_service.service.impl;
+
+import com.order.order_service.dto.OrderStatsDTO;
+import com.order.order_service.model.Order;
+import com.order.order_service.model.OrderStatsRollup;
+import com.order.order_service.model.OrderStatus;
+import com.order.order_service.model.RollupGranularity;
+import com.order.order_service.repository.OrderStatsRollupRepository;
+import com.order.order_service.service.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderAnalyticsServiceImpl.class);
+    private static final int MAX_BACKFILL_ATTEMPTS = 5;
+
+    private final OrderStatsRollupRepository rollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${order.analytics.backfill.chunk-size:500}")
+    private int backfillChunkSize;
+
+    @Override
+    @Transactional
+    public void recordOrderCreated(Order order) {
+        applyDelta(order, order.getStatus(), 1);
+    }
+
+    @Override
+    @Transactional
+    public void recordStatusChange(Order order, OrderStatus previousStatus) {
+        if (previousStatus == order.getStatus()) {
+            return;
+        }
+        
+        // Move the order from its old status bucket into the new one
+        applyDelta(order, previousStatus, -1);
+        applyDelta(order, order.getStatus(), 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderStatsDTO> getRestaurantStats(Long restaurantId, RollupGranularity granularity,
+                                                  LocalDateTime from, LocalDateTime to, OrderStatus status) {
+        if (!from.isBefore(to)) {
+            throw new IllegalStateException("'from' must be before 'to'");
+        }
+        
+        List<OrderStatsRollup> rollups = status == null
+                ? rollupRepository.findBuckets(restaurantId, granularity, from, to)
+                : rollupRepository.findBucketsByStatus(restaurantId, granularity, status, from, to);
+        
+        return rollups.stream().map(this::mapToDTO).collect(Collectors.toList());
+    }
+
+    @Override
+    public long backfill() {
+        // Each chunk of restaurants is rebuilt from the source rows in one repeatable-read transaction:
+        // the old buckets stay visible until it commits, and a live increment that lands after the
+        // snapshot was taken makes the chunk fail with a serialization error and run again, so
+        // concurrent writes are neither lost nor counted twice.
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        
+        long processed = 0;
+        long lastRestaurantId = 0L;
+        while (true) {
+            List<Long> restaurantIds = rollupRepository.findRestaurantIdsAfter(lastRestaurantId, backfillChunkSize);
+            if (restaurantIds.isEmpty()) {
+                break;
+            }
+            
+            processed += rebuildChunk(transactionTemplate, restaurantIds);
+            lastRestaurantId = restaurantIds.get(restaurantIds.size() - 1);
+            logger.debug("Backfilled order rollups up to restaurant id {}", lastRestaurantId);
+        }
+        
+        logger.info("Order rollup backfill finished, {} orders processed", processed);
+        return processed;
+    }
+    
+    // Helper methods
+    private long rebuildChunk(TransactionTemplate transactionTemplate, List<Long> restaurantIds) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Long processed = transactionTemplate.execute(tx -> {
+                    // Buckets with no remaining source rows go away; the rest are written as absolute totals
+                    rollupRepository.deleteByRestaurantIds(restaurantIds);
+                    rollupRepository.insertTotalsFromOrders(restaurantIds);
+                    return rollupRepository.countOrdersInDailyBuckets(restaurantIds);
+                });
+                return processed == null ? 0 : processed;
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= MAX_BACKFILL_ATTEMPTS) {
+                    throw e;
+                }
+                logger.debug("Rollup rebuild for restaurants {} to {} raced with a live update, retrying",
+                        restaurantIds.get(0), restaurantIds.get(restaurantIds.size() - 1));
+            }
+        }
+    }
+    
+    private void applyDelta(Order order, OrderStatus status, int sign) {
+        if (status == null || order.getRestaurantId() == null || order.getOrderTime() == null) {
+            return;
+        }
+        
+        BigDecimal revenue = sign < 0 ? amountOf(order).negate() : amountOf(order);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            rollupRepository.upsertIncrement(order.getRestaurantId(), granularity.name(),
+                    bucketStart(order.getOrderTime(), granularity), status.name(), sign, revenue);
+        }
+    }
+    
+    private BigDecimal amountOf(Order order) {
+        return Objects.requireNonNullElse(order.getTotalAmount(), BigDecimal.ZERO);
+    }
+    
+    static LocalDateTime bucketStart(LocalDateTime time, RollupGranularity granularity) {
+        return time.truncatedTo(granularity == RollupGranularity.HOUR ? ChronoUnit.HOURS : ChronoUnit.DAYS);
+    }
+    
+    private OrderStatsDTO mapToDTO(OrderStatsRollup rollup) {
+        return new OrderStatsDTO(
+                rollup.getRestaurantId(),
+                rollup.getGranularity(),
+                rollup.getBucketStart(),
+                rollup.getStatus(),
+                rollup.getOrderCount(),
+                rollup.getRevenue()
+        );
+    }
+}
@@ -0,0 +1,92 @@
+package com.order.order_service.service.impl;
+
+import com.order.order_service.model.OrderStatus;
+import com.order.order_service.repository.ArchivedOrderRepository;
+import com.order.order_service.repository.OrderRepository;
+import com.order.order_service.service.OrderArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveServiceImpl implements OrderArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveServiceImpl.class);
+    
+    static final Set<OrderStatus> ARCHIVABLE_STATUSES =
+            EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED, OrderStatus.REFUNDED);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${order.archive.min-age-days:30}")
+    private int minAgeDays;
+
+    @Value("${order.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${order.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Value("${order.archive.pause-between-batches-ms:200}")
+    private long pauseBetweenBatchesMs;
+
+    @Override
+    public int archiveBatch() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(minAgeDays);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        // Copy and delete inside one transaction so an order is never in both tables or neither
+        Integer moved = transactionTemplate.execute(tx -> {
+            List<Long> orderIds = orderRepository.findArchivableIds(
+                    ARCHIVABLE_STATUSES, cutoff, PageRequest.of(0, batchSize));
+            if (orderIds.isEmpty()) {
+                return 0;
+            }
+            
+            archivedOrderRepository.copyOrders(orderIds);
+            archivedOrderRepository.copyOrderItems(orderIds);
+            archivedOrderRepository.deleteLiveOrderItems(orderIds);
+            return archivedOrderRepository.deleteLiveOrders(orderIds);
+        });
+        
+        return moved != null ? moved : 0;
+    }
+
+    @Override
+    public long archiveCompletedOrders() {
+        long total = 0;
+        
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved = archiveBatch();
+            total += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            
+            // Throttle so archival does not starve live order traffic of I/O and locks
+            try {
+                Thread.sleep(pauseBetweenBatchesMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        
+        if (total > 0) {
+            logger.info("Archived {} completed orders older than {} days", total, minAgeDays);
+        }
+        return total;
+    }
+}
@@ -2,18 +2,23 @@ package com.order.order_service.service.impl;
 
 import com.order.order_service.dto.*;
 import com.order.order_service.exception.ResourceNotFoundException;
+import com.order.order_service.model.ArchivedOrder;
+import com.order.order_service.model.ArchivedOrderItem;
 import com.order.order_service.model.Order;
 import com.order.order_service.model.OrderItem;
 import com.order.order_service.model.OrderStatus;
+import com.order.order_service.repository.ArchivedOrderRepository;
 import com.order.order_service.repository.OrderRepository;
+import com.order.order_service.service.OrderAnalyticsService;
 import com.order.order_service.service.OrderService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,7 +26,14 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
 
+    // History merges live and archived orders into one list, newest first
+    private static final Comparator<OrderDTO> NEWEST_FIRST = Comparator
+            .comparing(OrderDTO::getOrderTime, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(OrderDTO::getId, Comparator.nullsLast(Comparator.reverseOrder()));
+
     private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderAnalyticsService orderAnalyticsService;
 
     @Override
     @Transactional
@@ -59,10 +71,12 @@ public class OrderServiceImpl implements OrderService {
         order.setTotalAmount(totalAmount);
         
         Order savedOrder = orderRepository.save(order);
+        orderAnalyticsService.recordOrderCreated(savedOrder);
         return mapToDTO(savedOrder);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public OrderDTO getOrderById(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
@@ -70,17 +84,50 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public OrderDTO getOrderByIdIncludingArchive(Long orderId) {
+        return orderRepository.findById(orderId)
+                .map(this::mapToDTO)
+                .or(() -> archivedOrderRepository.findById(orderId).map(this::mapArchivedToDTO))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByUserId(Long userId) {
         List<Order> orders = orderRepository.findByUserId(userId);
         return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrderHistoryByUserId(Long userId) {
+        List<OrderDTO> orders = new ArrayList<>(getOrdersByUserId(userId));
+        archivedOrderRepository.findByUserIdOrderByOrderTimeDesc(userId).stream()
+                .map(this::mapArchivedToDTO)
+                .forEach(orders::add);
+        orders.sort(NEWEST_FIRST);
+        return orders;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByRestaurantId(Long restaurantId) {
         List<Order> orders = orderRepository.findByRestaurantId(restaurantId);
         return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderDTO> getOrderHistoryByRestaurantId(Long restaurantId) {
+        List<OrderDTO> orders = new ArrayList<>(getOrdersByRestaurantId(restaurantId));
+        archivedOrderRepository.findByRestaurantIdOrderByOrderTimeDesc(restaurantId).stream()
+                .map(this::mapArchivedToDTO)
+                .forEach(orders::add);
+        orders.sort(NEWEST_FIRST);
+        return orders;
+    }
+
     @Override
     @Transactional
     public OrderDTO updateOrderStatus(Long orderId, UpdateOrderStatusRequest request) {
@@ -88,7 +135,8 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         
         // Validate status transitions based on business rules
-        validateStatusTransition(order.getStatus(), request.getStatus());
+        OrderStatus previousStatus = order.getStatus();
+        validateStatusTransition(previousStatus, request.getStatus());
         
         order.setStatus(request.getStatus());
         
@@ -98,6 +146,7 @@ public class OrderServiceImpl implements OrderService {
         }
         
         Order updatedOrder = orderRepository.save(order);
+        orderAnalyticsService.recordStatusChange(updatedOrder, previousStatus);
         return mapToDTO(updatedOrder);
     }
 
@@ -108,6 +157,7 @@ public class OrderServiceImpl implements OrderService {
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
         
         order.setDeliveryPersonnelId(deliveryPersonnelId);
+        OrderStatus previousStatus = order.getStatus();
         
         // If status is READY_FOR_PICKUP, update to OUT_FOR_DELIVERY
         if (order.getStatus() == OrderStatus.READY_FOR_PICKUP) {
@@ -115,16 +165,19 @@ public class OrderServiceImpl implements OrderService {
         }
         
         Order updatedOrder = orderRepository.save(order);
+        orderAnalyticsService.recordStatusChange(updatedOrder, previousStatus);
         return mapToDTO(updatedOrder);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByStatus(OrderStatus status) {
         List<Order> orders = orderRepository.findByStatus(status);
         return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<OrderDTO> getOrdersByDeliveryPersonnelId(Long deliveryPersonnelId) {
         List<Order> orders = orderRepository.findByDeliveryPersonnelId(deliveryPersonnelId);
         return orders.stream().map(this::mapToDTO).collect(Collectors.toList());
@@ -153,8 +206,10 @@ public class OrderServiceImpl implements OrderService {
             throw new IllegalStateException("Cannot cancel a delivered order");
         }
         
+        OrderStatus previousStatus = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
         Order updatedOrder = orderRepository.save(order);
+        orderAnalyticsService.recordStatusChange(updatedOrder, previousStatus);
         
         return mapToDTO(updatedOrder);
     }
@@ -212,4 +267,41 @@ public class OrderServiceImpl implements OrderService {
         orderItemDTO.setCustomizations(orderItem.getCustomizations());
         return orderItemDTO;
     }
+    
+    private OrderDTO mapArchivedToDTO(ArchivedOrder order) {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setId(order.getId());
+        orderDTO.setUserId(order.getUserId());
+        orderDTO.setRestaurantId(order.getRestaurantId());
+        orderDTO.setStatus(order.getStatus());
+        orderDTO.setOrderTime(order.getOrderTime());
+        orderDTO.setDeliveryTime(order.getDeliveryTime());
+        orderDTO.setTotalAmount(order.getTotalAmount());
+        orderDTO.setDeliveryAddress(order.getDeliveryAddress());
+        orderDTO.setSpecialInstructions(order.getSpecialInstructions());
+        orderDTO.setDeliveryPersonnelId(order.getDeliveryPersonnelId());
+        orderDTO.setIsPaid(order.getIsPaid());
+        orderDTO.setPaymentId(order.getPaymentId());
+        orderDTO.setPaymentMethod(order.getPaymentMethod());
+        
+        if (order.getOrderItems() != null) {
+            List<OrderItemDTO> orderItemDTOs = order.getOrderItems().stream()
+                    .map(this::mapArchivedItemToDTO)
+                    .collect(Collectors.toList());
+            orderDTO.setOrderItems(orderItemDTOs);
+        }
+        
+        return orderDTO;
+    }
+    
+    private OrderItemDTO mapArchivedItemToDTO(ArchivedOrderItem orderItem) {
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setId(orderItem.getId());
+        orderItemDTO.setMenuItemId(orderItem.getMenuItemId());
+        orderItemDTO.setMenuItemName(orderItem.getMenuItemName());
+        orderItemDTO.setQuantity(orderItem.getQuantity());
+        orderItemDTO.setPrice(orderItem.getPrice());
+        orderItemDTO.setCustomizations(orderItem.getCustomizations());
+        return orderItemDTO;
+    }
 }
\ No newline at end of file
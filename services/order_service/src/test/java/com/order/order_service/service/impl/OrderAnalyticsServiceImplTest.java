@@ -0,0 +1,131 @@
+package com.order.order_service.service.impl;
+
+import com.order.order_service.model.Order;
+import com.order.order_service.model.OrderStatus;
+import com.order.order_service.repository.OrderStatsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderAnalyticsServiceImplTest {
+
+    @Mock
+    private OrderStatsRollupRepository rollupRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private OrderAnalyticsServiceImpl orderAnalyticsService;
+
+    private Order testOrder;
+    private LocalDateTime orderTime = LocalDateTime.of(2025, 5, 1, 18, 42, 10);
+
+    @BeforeEach
+    void setUp() {
+        testOrder = new Order();
+        testOrder.setId(1L);
+        testOrder.setRestaurantId(2L);
+        testOrder.setStatus(OrderStatus.PENDING);
+        testOrder.setOrderTime(orderTime);
+        testOrder.setTotalAmount(BigDecimal.valueOf(20.0));
+        ReflectionTestUtils.setField(orderAnalyticsService, "backfillChunkSize", 2);
+    }
+
+    @Test
+    void recordOrderCreated_ShouldIncrementHourAndDayBuckets() {
+        // Act
+        orderAnalyticsService.recordOrderCreated(testOrder);
+
+        // Assert
+        verify(rollupRepository).upsertIncrement(2L, "HOUR", LocalDateTime.of(2025, 5, 1, 18, 0), "PENDING", 1, BigDecimal.valueOf(20.0));
+        verify(rollupRepository).upsertIncrement(2L, "DAY", LocalDateTime.of(2025, 5, 1, 0, 0), "PENDING", 1, BigDecimal.valueOf(20.0));
+    }
+
+    @Test
+    void recordStatusChange_ShouldMoveOrderBetweenStatusBuckets() {
+        // Arrange
+        testOrder.setStatus(OrderStatus.CONFIRMED);
+
+        // Act
+        orderAnalyticsService.recordStatusChange(testOrder, OrderStatus.PENDING);
+
+        // Assert
+        verify(rollupRepository, times(2)).upsertIncrement(eq(2L), anyString(), any(), eq("PENDING"), eq(-1L), eq(BigDecimal.valueOf(-20.0)));
+        verify(rollupRepository, times(2)).upsertIncrement(eq(2L), anyString(), any(), eq("CONFIRMED"), eq(1L), eq(BigDecimal.valueOf(20.0)));
+    }
+
+    @Test
+    void recordStatusChange_ShouldDoNothing_WhenStatusIsUnchanged() {
+        // Act
+        orderAnalyticsService.recordStatusChange(testOrder, OrderStatus.PENDING);
+
+        // Assert
+        verify(rollupRepository, never()).upsertIncrement(anyLong(), anyString(), any(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void getRestaurantStats_ShouldRejectEmptyRange() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> orderAnalyticsService.getRestaurantStats(
+                2L, null, orderTime, orderTime, null));
+    }
+
+    @Test
+    void backfill_ShouldWriteAbsoluteTotalsPerRestaurantChunk() {
+        // Arrange
+        when(rollupRepository.findRestaurantIdsAfter(0L, 2)).thenReturn(List.of(2L, 5L));
+        when(rollupRepository.findRestaurantIdsAfter(5L, 2)).thenReturn(List.of(9L));
+        when(rollupRepository.findRestaurantIdsAfter(9L, 2)).thenReturn(List.of());
+        when(rollupRepository.countOrdersInDailyBuckets(List.of(2L, 5L))).thenReturn(7L);
+        when(rollupRepository.countOrdersInDailyBuckets(List.of(9L))).thenReturn(3L);
+
+        // Act
+        long processed = orderAnalyticsService.backfill();
+
+        // Assert
+        assertEquals(10L, processed);
+        verify(rollupRepository).insertTotalsFromOrders(List.of(2L, 5L));
+        verify(rollupRepository).insertTotalsFromOrders(List.of(9L));
+        verify(rollupRepository, never()).deleteAllInBatch();
+        verify(rollupRepository, never()).upsertIncrement(anyLong(), anyString(), any(), anyString(), anyLong(), any());
+    }
+
+    @Test
+    void backfill_ShouldRetryChunk_WhenItRacesWithALiveUpdate() {
+        // Arrange
+        when(rollupRepository.findRestaurantIdsAfter(0L, 2)).thenReturn(List.of(2L));
+        when(rollupRepository.findRestaurantIdsAfter(2L, 2)).thenReturn(List.of());
+        when(rollupRepository.insertTotalsFromOrders(List.of(2L)))
+                .thenThrow(new CannotAcquireLockException("could not serialize access"))
+                .thenReturn(4);
+        when(rollupRepository.countOrdersInDailyBuckets(List.of(2L))).thenReturn(5L);
+
+        // Act
+        long processed = orderAnalyticsService.backfill();
+
+        // Assert
+        assertEquals(5L, processed);
+        verify(rollupRepository, times(2)).deleteByRestaurantIds(List.of(2L));
+        verify(rollupRepository, times(2)).insertTotalsFromOrders(List.of(2L));
+    }
+}
@@ -5,11 +5,14 @@ import com.order.order_service.dto.OrderDTO;
 import com.order.order_service.dto.OrderItemRequest;
 import com.order.order_service.dto.UpdateOrderStatusRequest;
 import com.order.order_service.exception.ResourceNotFoundException;
+import com.order.order_service.model.ArchivedOrder;
 import com.order.order_service.model.Order;
 import com.order.order_service.model.OrderItem;
 import com.order.order_service.model.OrderStatus;
 import com.order.order_service.model.PaymentMethod;
+import com.order.order_service.repository.ArchivedOrderRepository;
 import com.order.order_service.repository.OrderRepository;
+import com.order.order_service.service.OrderAnalyticsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +36,12 @@ class OrderServiceImplTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private OrderAnalyticsService orderAnalyticsService;
+
+    @Mock
+    private ArchivedOrderRepository archivedOrderRepository;
+
     @InjectMocks
     private OrderServiceImpl orderService;
 
@@ -98,6 +107,7 @@ class OrderServiceImplTest {
         assertEquals(restaurantId, result.getRestaurantId());
         assertEquals(OrderStatus.PENDING, result.getStatus());
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderAnalyticsService, times(1)).recordOrderCreated(testOrder);
     }
 
     @Test
@@ -138,6 +148,7 @@ class OrderServiceImplTest {
         assertEquals(OrderStatus.CONFIRMED, result.getStatus());
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(orderAnalyticsService, times(1)).recordStatusChange(testOrder, OrderStatus.PENDING);
     }
 
     @Test
@@ -155,4 +166,47 @@ class OrderServiceImplTest {
         verify(orderRepository, times(1)).findById(orderId);
         verify(orderRepository, times(1)).save(any(Order.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getOrderByIdIncludingArchive_ShouldFallBackToArchive_WhenOrderIsNotLive() {
+        // Arrange
+        ArchivedOrder archivedOrder = new ArchivedOrder();
+        archivedOrder.setId(orderId);
+        archivedOrder.setUserId(userId);
+        archivedOrder.setStatus(OrderStatus.DELIVERED);
+        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(archivedOrderRepository.findById(orderId)).thenReturn(Optional.of(archivedOrder));
+
+        // Act
+        OrderDTO result = orderService.getOrderByIdIncludingArchive(orderId);
+
+        // Assert
+        assertEquals(orderId, result.getId());
+        assertEquals(OrderStatus.DELIVERED, result.getStatus());
+    }
+
+    @Test
+    void getOrderHistoryByUserId_ShouldMergeLiveAndArchivedOrdersNewestFirst() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        testOrder.setOrderTime(now.minusDays(2));
+        Order newerOrder = new Order();
+        newerOrder.setId(5L);
+        newerOrder.setUserId(userId);
+        newerOrder.setStatus(OrderStatus.PENDING);
+        newerOrder.setOrderTime(now);
+        ArchivedOrder archivedOrder = new ArchivedOrder();
+        archivedOrder.setId(3L);
+        archivedOrder.setUserId(userId);
+        archivedOrder.setStatus(OrderStatus.DELIVERED);
+        archivedOrder.setOrderTime(now.minusDays(1));
+        when(orderRepository.findByUserId(userId)).thenReturn(List.of(testOrder, newerOrder));
+        when(archivedOrderRepository.findByUserIdOrderByOrderTimeDesc(userId)).thenReturn(List.of(archivedOrder));
+
+        // Act
+        List<OrderDTO> result = orderService.getOrderHistoryByUserId(userId);
+
+        // Assert
+        assertEquals(List.of(5L, 3L, orderId), result.stream().map(OrderDTO::getId).toList());
+    }
+}
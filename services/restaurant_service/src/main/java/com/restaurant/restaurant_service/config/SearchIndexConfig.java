@@ -0,0 +1,58 @@
+package com.restaurant.restaurant_service.config;
+
+import com.restaurant.restaurant_service.search.AutocompleteIndex;
+import com.restaurant.restaurant_service.search.GeoGridIndex;
+import com.restaurant.restaurant_service.search.MenuFacetBlock;
+import com.restaurant.restaurant_service.search.MenuSnapshot;
+import com.restaurant.restaurant_service.search.RestaurantScopedCache;
+import com.restaurant.restaurant_service.search.ScheduleIndex;
+import com.restaurant.restaurant_service.search.SearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.Map;
+
+@Configuration
+public class SearchIndexConfig {
+
+    @Bean
+    public SearchIndex searchIndex() {
+        return new SearchIndex(Map.of(
+                "name", 3.0,
+                "cuisine", 2.0,
+                "category", 2.0,
+                "description", 1.0));
+    }
+
+    @Bean
+    public AutocompleteIndex autocompleteIndex(
+            @Value("${restaurant.autocomplete.max-entries:100000}") int maxEntries,
+            @Value("${restaurant.autocomplete.top-k:10}") int topK) {
+        return new AutocompleteIndex(maxEntries, topK);
+    }
+
+    @Bean
+    public RestaurantScopedCache<MenuFacetBlock> menuFacetCache(
+            @Value("${restaurant.menu.cache.max-restaurants:10000}") int maxRestaurants) {
+        return new RestaurantScopedCache<>(maxRestaurants);
+    }
+
+    @Bean
+    public RestaurantScopedCache<MenuSnapshot> menuSnapshotCache(
+            @Value("${restaurant.menu.cache.max-restaurants:10000}") int maxRestaurants) {
+        return new RestaurantScopedCache<>(maxRestaurants);
+    }
+
+    @Bean
+    public GeoGridIndex geoGridIndex(@Value("${restaurant.nearby.cell-degrees:0.05}") double cellDegrees) {
+        return new GeoGridIndex(cellDegrees);
+    }
+
+    @Bean
+    public ScheduleIndex scheduleIndex(@Value("${restaurant.schedule.default-zone:UTC}") String defaultZone) {
+        return new ScheduleIndex(ZoneId.of(defaultZone), Clock.systemUTC());
+    }
+}
@@ -1,12 +1,19 @@
 package com.restaurant.restaurant_service.controller;
 
+import com.restaurant.restaurant_service.dto.BulkAvailabilityRequest;
+import com.restaurant.restaurant_service.dto.BulkOperationResultDTO;
 import com.restaurant.restaurant_service.dto.MenuItemDTO;
+import com.restaurant.restaurant_service.dto.MenuItemFilter;
+import com.restaurant.restaurant_service.service.MenuBulkService;
 import com.restaurant.restaurant_service.service.MenuItemService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -15,6 +22,7 @@ import java.util.List;
 public class MenuItemController {
 
     private final MenuItemService menuItemService;
+    private final MenuBulkService menuBulkService;
 
     @GetMapping
     public ResponseEntity<List<MenuItemDTO>> getAllMenuItems() {
@@ -52,11 +60,43 @@ public class MenuItemController {
         return ResponseEntity.ok(menuItemService.getMenuItemsByDietaryRequirements(restaurantId, vegetarian, vegan, glutenFree));
     }
 
+    @GetMapping("/restaurant/{restaurantId}/filter")
+    public ResponseEntity<List<MenuItemDTO>> filterMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean vegetarian,
+            @RequestParam(required = false) Boolean vegan,
+            @RequestParam(required = false) Boolean glutenFree,
+            @RequestParam(defaultValue = "true") Boolean available,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        MenuItemFilter filter = new MenuItemFilter(category, vegetarian, vegan, glutenFree, available, minPrice, maxPrice);
+        return ResponseEntity.ok(menuItemService.filterMenuItems(restaurantId, filter));
+    }
+
     @PostMapping
     public ResponseEntity<MenuItemDTO> createMenuItem(@RequestBody MenuItemDTO menuItemDTO) {
         return new ResponseEntity<>(menuItemService.createMenuItem(menuItemDTO), HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/restaurant/{restaurantId}/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<BulkOperationResultDTO> importMenuItems(
+            @PathVariable Long restaurantId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) {
+        MenuBulkService.ImportFormat format = contentType.toLowerCase().startsWith("text/csv")
+                ? MenuBulkService.ImportFormat.CSV
+                : MenuBulkService.ImportFormat.JSON_LINES;
+        return ResponseEntity.ok(menuBulkService.importMenuItems(restaurantId, format, body));
+    }
+
+    @PatchMapping("/restaurant/{restaurantId}/availability")
+    public ResponseEntity<BulkOperationResultDTO> setAvailability(
+            @PathVariable Long restaurantId,
+            @RequestBody BulkAvailabilityRequest request) {
+        return ResponseEntity.ok(menuBulkService.setAvailability(restaurantId, request));
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<MenuItemDTO> updateMenuItem(@PathVariable Long id, @RequestBody MenuItemDTO menuItemDTO) {
         return ResponseEntity.ok(menuItemService.updateMenuItem(id, menuItemDTO));
@@ -1,13 +1,24 @@
 package com.restaurant.restaurant_service.controller;
 
+import com.restaurant.restaurant_service.dto.AutocompleteSuggestionDTO;
+import com.restaurant.restaurant_service.dto.NearbyRestaurantDTO;
 import com.restaurant.restaurant_service.dto.RestaurantDTO;
+import com.restaurant.restaurant_service.dto.SearchResultDTO;
+import com.restaurant.restaurant_service.search.MenuSnapshot;
+import com.restaurant.restaurant_service.search.SearchDocumentType;
+import com.restaurant.restaurant_service.service.MenuSnapshotService;
 import com.restaurant.restaurant_service.service.RestaurantService;
+import com.restaurant.restaurant_service.service.SearchService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/restaurants")
@@ -15,10 +26,13 @@ import java.util.List;
 public class RestaurantController {
 
     private final RestaurantService restaurantService;
+    private final SearchService searchService;
+    private final MenuSnapshotService menuSnapshotService;
 
     @GetMapping
-    public ResponseEntity<List<RestaurantDTO>> getAllActiveRestaurants() {
-        return ResponseEntity.ok(restaurantService.getActiveRestaurants());
+    public ResponseEntity<List<RestaurantDTO>> getAllActiveRestaurants(
+            @RequestParam(defaultValue = "false") boolean openNow) {
+        return ResponseEntity.ok(openNow ? restaurantService.getOpenRestaurants() : restaurantService.getActiveRestaurants());
     }
     
     @GetMapping("/all")
@@ -31,6 +45,22 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantService.getRestaurantById(id));
     }
 
+    @GetMapping("/{id}/menu-snapshot")
+    public ResponseEntity<byte[]> getMenuSnapshot(@PathVariable Long id, WebRequest request) {
+        MenuSnapshot snapshot = menuSnapshotService.getMenuSnapshot(id);
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
+    }
+
     @PostMapping
     public ResponseEntity<RestaurantDTO> createRestaurant(@RequestBody RestaurantDTO restaurantDTO) {
         return new ResponseEntity<>(restaurantService.createRestaurant(restaurantDTO), HttpStatus.CREATED);
@@ -52,6 +82,36 @@ public class RestaurantController {
         return ResponseEntity.ok(restaurantService.searchRestaurantsByName(name));
     }
 
+    @GetMapping("/search/text")
+    public ResponseEntity<List<SearchResultDTO>> searchText(
+            @RequestParam String q,
+            @RequestParam(required = false) SearchDocumentType type,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.search(q, type, limit));
+    }
+
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AutocompleteSuggestionDTO>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(searchService.autocomplete(q, limit));
+    }
+
+    @PostMapping("/search/reindex")
+    public ResponseEntity<Map<String, Integer>> reindex() {
+        return ResponseEntity.ok(Map.of("documentsIndexed", searchService.rebuildIndex()));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRestaurantDTO>> getNearbyRestaurants(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "5") double radiusKm,
+            @RequestParam(required = false) String cuisine,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(restaurantService.findNearbyRestaurants(lat, lon, radiusKm, cuisine, limit));
+    }
+
     @GetMapping("/cuisine/{cuisineType}")
     public ResponseEntity<List<RestaurantDTO>> getRestaurantsByCuisine(@PathVariable String cuisineType) {
         return ResponseEntity.ok(restaurantService.getRestaurantsByCuisine(cuisineType));
@@ -61,4 +121,9 @@ public class RestaurantController {
     public ResponseEntity<List<String>> getAllCuisineTypes() {
         return ResponseEntity.ok(restaurantService.getAllCuisineTypes());
     }
-}
\ No newline at end of file
+
+    @PostMapping("/ratings/repair")
+    public ResponseEntity<Map<String, Long>> repairRatings() {
+        return ResponseEntity.ok(Map.of("restaurantsRepaired", restaurantService.repairAllRatings()));
+    }
+}
@@ -1,5 +1,6 @@
 package com.restaurant.restaurant_service.controller;
 
+import com.restaurant.restaurant_service.dto.CursorPageDTO;
 import com.restaurant.restaurant_service.dto.ReviewDTO;
 import com.restaurant.restaurant_service.service.ReviewService;
 import lombok.RequiredArgsConstructor;
@@ -36,6 +37,24 @@ public class ReviewController {
         return ResponseEntity.ok(reviewService.getReviewsByRestaurantSorted(restaurantId));
     }
 
+    @GetMapping("/restaurant/{restaurantId}/feed")
+    public ResponseEntity<CursorPageDTO<ReviewDTO>> getReviewFeed(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(defaultValue = "newest") String sort) {
+        boolean oldestFirst;
+        if ("oldest".equalsIgnoreCase(sort)) {
+            oldestFirst = true;
+        } else if ("newest".equalsIgnoreCase(sort)) {
+            oldestFirst = false;
+        } else {
+            throw new IllegalArgumentException("sort must be newest or oldest");
+        }
+        return ResponseEntity.ok(reviewService.getReviewFeed(restaurantId, cursor, limit, minRating, oldestFirst));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<ReviewDTO>> getReviewsByUser(@PathVariable Long userId) {
         return ResponseEntity.ok(reviewService.getReviewsByUser(userId));
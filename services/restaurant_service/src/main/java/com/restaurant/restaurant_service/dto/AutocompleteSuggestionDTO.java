@@ -0,0 +1,14 @@
+package com.restaurant.restaurant_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AutocompleteSuggestionDTO {
+    private String type;
+    private String text;
+    private Long restaurantId;
+}
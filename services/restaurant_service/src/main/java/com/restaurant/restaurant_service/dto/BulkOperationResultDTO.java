@@ -0,0 +1,19 @@
+package com.restaurant.restaurant_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResultDTO {
+    private int total;
+    private int succeeded;
+    private int failed;
+    // Capped; failed holds the full count
+    private List<BulkRowErrorDTO> errors = new ArrayList<>();
+}
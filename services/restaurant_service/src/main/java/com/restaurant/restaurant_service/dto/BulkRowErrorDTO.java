@@ -0,0 +1,18 @@
+package com.restaurant.restaurant_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A rejected row of a bulk operation: {@code row} is the 1-based input line for imports,
+ * {@code menuItemId} the item for availability updates.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkRowErrorDTO {
+    private Long row;
+    private Long menuItemId;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.restaurant.restaurant_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuCategoryDTO {
+    private String name;
+    private List<MenuItemDTO> items = new ArrayList<>();
+}
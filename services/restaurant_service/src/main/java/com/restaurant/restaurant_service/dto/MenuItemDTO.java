@@ -1,10 +1,12 @@
 package com.restaurant.restaurant_service.dto;
 
+import com.restaurant.restaurant_service.model.ScheduleWindow;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -21,4 +23,6 @@ public class MenuItemDTO {
     private Boolean isVegan;
     private Boolean isGlutenFree;
     private Long restaurantId;
+    private List<ScheduleWindow> availabilityWindows;
+    private Boolean availableNow;
 }
\ No newline at end of file
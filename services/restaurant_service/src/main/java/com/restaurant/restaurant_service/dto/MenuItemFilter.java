@@ -0,0 +1,24 @@
+package com.restaurant.restaurant_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Facets for menu filtering. {@code null} means "don't care"; dietary flags only
+ * narrow the result when set to {@code true}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuItemFilter {
+    private String category;
+    private Boolean vegetarian;
+    private Boolean vegan;
+    private Boolean glutenFree;
+    private Boolean available;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+}
@@ -0,0 +1,13 @@
+package com.restaurant.restaurant_service.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyRestaurantDTO {
+    private RestaurantDTO restaurant;
+    private Double distanceKm;
+}
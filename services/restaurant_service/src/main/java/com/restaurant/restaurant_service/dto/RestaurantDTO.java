@@ -1,11 +1,13 @@
 package com.restaurant.restaurant_service.dto;
 
+import com.restaurant.restaurant_service.model.ScheduleWindow;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -19,9 +21,16 @@ public class RestaurantDTO {
     private String description;
     private String cuisineType;
     private String openingHours;
+    private List<ScheduleWindow> openingSchedule;
+    private String timeZone;
+    private Boolean openNow;
     private String imageUrl;
+    private Double latitude;
+    private Double longitude;
     private Boolean isActive;
     private Double averageRating;
+    private Long ratingCount;
+    private Map<Integer, Long> ratingDistribution;
     private List<MenuItemDTO> menuItems = new ArrayList<>();
     private List<ReviewDTO> reviews = new ArrayList<>();
 }
\ No newline at end of file
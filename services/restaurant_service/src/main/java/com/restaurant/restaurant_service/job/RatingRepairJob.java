@@ -0,0 +1,20 @@
+package com.restaurant.restaurant_service.job;
+
+import com.restaurant.restaurant_service.service.RestaurantService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "restaurant.rating.repair.enabled", havingValue = "true")
+public class RatingRepairJob {
+
+    private final RestaurantService restaurantService;
+
+    @Scheduled(cron = "${restaurant.rating.repair.cron:0 0 4 * * SUN}")
+    public void repairRatings() {
+        restaurantService.repairAllRatings();
+    }
+}
@@ -4,10 +4,17 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "menu_items")
 @Data
 @NoArgsConstructor
@@ -40,6 +47,13 @@ public class MenuItem {
     
     private Boolean isGlutenFree = false;
     
+    // Times of the week the item can be ordered (e.g. breakfast only); empty means whenever the restaurant is open
+    @ElementCollection
+    @CollectionTable(name = "menu_item_availability_windows", joinColumns = @JoinColumn(name = "menu_item_id"))
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    private List<ScheduleWindow> availabilityWindows = new ArrayList<>();
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
@@ -4,11 +4,16 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Table(name = "restaurants")
 @Data
 @NoArgsConstructor
@@ -36,13 +41,42 @@ public class Restaurant {
     
     private String openingHours;
     
+    // Structured hours; empty means no restriction. openingHours stays as the display text.
+    @ElementCollection
+    @CollectionTable(name = "restaurant_opening_windows", joinColumns = @JoinColumn(name = "restaurant_id"))
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    private List<ScheduleWindow> openingSchedule = new ArrayList<>();
+    
+    // IANA zone the schedules are written in, e.g. Asia/Colombo
+    private String timeZone;
+    
     private String imageUrl;
     
+    private Double latitude;
+    
+    private Double longitude;
+    
     @Column(nullable = false)
     private Boolean isActive = true;
     
     private Double averageRating;
     
+    // Running rating totals, adjusted by one relative UPDATE on each review change
+    private Long ratingSum = 0L;
+    
+    private Long ratingCount = 0L;
+    
+    private Long oneStarCount = 0L;
+    
+    private Long twoStarCount = 0L;
+    
+    private Long threeStarCount = 0L;
+    
+    private Long fourStarCount = 0L;
+    
+    private Long fiveStarCount = 0L;
+    
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<MenuItem> menuItems = new ArrayList<>();
     
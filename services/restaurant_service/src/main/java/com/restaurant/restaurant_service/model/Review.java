@@ -4,11 +4,18 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "reviews", indexes = {
+        // Backs the keyset-paginated review feed: (restaurant, createdAt, id) in both directions
+        @Index(name = "idx_reviews_restaurant_created_id", columnList = "restaurant_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
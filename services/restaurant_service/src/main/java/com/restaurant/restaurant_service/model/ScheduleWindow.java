@@ -0,0 +1,32 @@
+package com.restaurant.restaurant_service.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+/**
+ * A recurring weekly time window. A {@code null} day means every day; an end before the
+ * start runs past midnight into the next day, and equal times mean the whole day.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScheduleWindow {
+    
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+    
+    @Column(nullable = false)
+    private LocalTime startTime;
+    
+    @Column(nullable = false)
+    private LocalTime endTime;
+}
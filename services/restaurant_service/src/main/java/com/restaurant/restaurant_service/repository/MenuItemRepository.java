@@ -1,7 +1,9 @@
 package com.restaurant.restaurant_service.repository;
 
 import com.restaurant.restaurant_service.model.MenuItem;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,8 +21,10 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      * Find only available menu items for a restaurant
      * Used for customer-facing views
      */
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<MenuItem> findByRestaurantIdAndIsAvailableTrue(Long restaurantId);
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<MenuItem> findByRestaurantIdAndCategoryAndIsAvailableTrue(Long restaurantId, String category);
     
     List<MenuItem> findByCategoryAndIsAvailableTrue(String category);
@@ -1,15 +1,23 @@
 package com.restaurant.restaurant_service.repository;
 
 import com.restaurant.restaurant_service.model.Restaurant;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<Restaurant> findByIsActiveTrue();
     
     List<Restaurant> findByCuisineTypeAndIsActiveTrue(String cuisineType);
@@ -17,6 +25,19 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
     @Query("SELECT r FROM Restaurant r WHERE r.name LIKE %?1% AND r.isActive = true")
     List<Restaurant> searchByName(String name);
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     @Query("SELECT DISTINCT r.cuisineType FROM Restaurant r WHERE r.cuisineType IS NOT NULL")
     List<String> findAllCuisineTypes();
-}
\ No newline at end of file
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Restaurant r WHERE r.id = :id")
+    Optional<Restaurant> findByIdForUpdate(@Param("id") Long id);
+    
+    @Query("SELECT r.id FROM Restaurant r WHERE r.id > :afterId ORDER BY r.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Rows created before the running totals existed have no sum or count yet
+    @Query("SELECT r.id FROM Restaurant r WHERE r.id > :afterId AND (r.ratingSum IS NULL OR r.ratingCount IS NULL) " +
+            "ORDER BY r.id")
+    List<Long> findUnseededRatingIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
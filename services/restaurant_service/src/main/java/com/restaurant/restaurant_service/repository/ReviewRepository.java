@@ -1,9 +1,14 @@
 package com.restaurant.restaurant_service.repository;
 
+import com.restaurant.restaurant_service.dto.ReviewDTO;
 import com.restaurant.restaurant_service.model.Review;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -16,4 +21,44 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     List<Review> findByUserId(Long userId);
     
     List<Review> findByRestaurantIdAndRatingGreaterThanEqual(Long restaurantId, Integer rating);
+    
+    @Query("SELECT r.rating AS rating, COUNT(r) AS count FROM Review r WHERE r.restaurant.id = :restaurantId GROUP BY r.rating")
+    List<RatingCount> countByRating(@Param("restaurantId") Long restaurantId);
+    
+    // Feed queries project straight into ReviewDTO, skipping entity hydration and the persistence context
+    String FEED_SELECT = "SELECT new com.restaurant.restaurant_service.dto.ReviewDTO(" +
+            "r.id, r.userId, r.userName, r.rating, r.comment, r.createdAt, r.restaurant.id) FROM Review r " +
+            "WHERE r.restaurant.id = :restaurantId AND (:minRating IS NULL OR r.rating >= :minRating) ";
+    
+    @Query(FEED_SELECT + "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewDTO> findFeedNewestFirst(@Param("restaurantId") Long restaurantId,
+                                        @Param("minRating") Integer minRating,
+                                        Pageable pageable);
+    
+    @Query(FEED_SELECT + "AND (r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+            "ORDER BY r.createdAt DESC, r.id DESC")
+    List<ReviewDTO> findFeedNewestFirstAfter(@Param("restaurantId") Long restaurantId,
+                                             @Param("minRating") Integer minRating,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+    
+    @Query(FEED_SELECT + "ORDER BY r.createdAt ASC, r.id ASC")
+    List<ReviewDTO> findFeedOldestFirst(@Param("restaurantId") Long restaurantId,
+                                        @Param("minRating") Integer minRating,
+                                        Pageable pageable);
+    
+    @Query(FEED_SELECT + "AND (r.createdAt > :createdAt OR (r.createdAt = :createdAt AND r.id > :id)) " +
+            "ORDER BY r.createdAt ASC, r.id ASC")
+    List<ReviewDTO> findFeedOldestFirstAfter(@Param("restaurantId") Long restaurantId,
+                                             @Param("minRating") Integer minRating,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+    
+    interface RatingCount {
+        Integer getRating();
+        
+        Long getCount();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.restaurant.restaurant_service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead over restaurant names, cuisine types and dish names.
+ * <p>
+ * Every word start of a suggestion is a trie key, so "hut" finds "Pizza Hut". Cuisines and
+ * dishes are reference-counted across restaurants and menu items and weighted by how common
+ * they are. The number of distinct suggestions is capped; once full, new ones are dropped
+ * until a rebuild.
+ */
+public class AutocompleteIndex {
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteIndex.class);
+
+    private static final int MAX_KEY_LENGTH = 48;
+    private static final int MAX_WORD_STARTS = 4;
+    private static final double RESTAURANT_WEIGHT = 2.0;
+    private static final double CUISINE_WEIGHT = 3.0;
+    private static final double DISH_WEIGHT = 1.0;
+
+    private final int maxEntries;
+    private final int topK;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private PrefixTrie trie;
+    private Map<String, Suggestion> suggestions;
+    private Map<String, Integer> referenceCounts;
+    private Map<Long, String> cuisineByRestaurant;
+    private Map<Long, String> dishByMenuItem;
+    private boolean capacityWarningLogged;
+
+    public AutocompleteIndex(int maxEntries, int topK) {
+        this.maxEntries = maxEntries;
+        this.topK = topK;
+        reset();
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            return trie.complete(normalized, Math.min(limit, topK));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or refreshes an active restaurant; its previous cuisine, if different, is released.
+     */
+    public void putRestaurant(Long restaurantId, String name, String cuisineType, Double averageRating) {
+        lock.writeLock().lock();
+        try {
+            removeRestaurantLocked(restaurantId);
+            String normalizedName = normalize(name);
+            if (!normalizedName.isEmpty()) {
+                double rating = averageRating != null ? averageRating : 0.0;
+                addLocked(new Suggestion("RESTAURANT:" + restaurantId, SuggestionType.RESTAURANT, name, restaurantId,
+                        RESTAURANT_WEIGHT + rating / 5.0));
+            }
+            
+            String cuisineKey = normalize(cuisineType);
+            if (!cuisineKey.isEmpty()) {
+                cuisineByRestaurant.put(restaurantId, cuisineKey);
+                retainLocked("CUISINE:" + cuisineKey, SuggestionType.CUISINE, cuisineType);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeRestaurant(Long restaurantId) {
+        lock.writeLock().lock();
+        try {
+            removeRestaurantLocked(restaurantId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putMenuItem(Long menuItemId, String name) {
+        lock.writeLock().lock();
+        try {
+            removeMenuItemLocked(menuItemId);
+            String dishKey = normalize(name);
+            if (!dishKey.isEmpty()) {
+                dishByMenuItem.put(menuItemId, dishKey);
+                retainLocked("DISH:" + dishKey, SuggestionType.DISH, name);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeMenuItem(Long menuItemId) {
+        lock.writeLock().lock();
+        try {
+            removeMenuItemLocked(menuItemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index with the contents of {@code fresh}.
+     */
+    public void replaceWith(AutocompleteIndex fresh) {
+        lock.writeLock().lock();
+        try {
+            trie = fresh.trie;
+            suggestions = fresh.suggestions;
+            referenceCounts = fresh.referenceCounts;
+            cuisineByRestaurant = fresh.cuisineByRestaurant;
+            dishByMenuItem = fresh.dishByMenuItem;
+            capacityWarningLogged = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public AutocompleteIndex emptyCopy() {
+        return new AutocompleteIndex(maxEntries, topK);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return suggestions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void reset() {
+        trie = new PrefixTrie(topK);
+        suggestions = new HashMap<>();
+        referenceCounts = new HashMap<>();
+        cuisineByRestaurant = new HashMap<>();
+        dishByMenuItem = new HashMap<>();
+    }
+
+    private void removeRestaurantLocked(Long restaurantId) {
+        removeSuggestionLocked("RESTAURANT:" + restaurantId);
+        String cuisineKey = cuisineByRestaurant.remove(restaurantId);
+        if (cuisineKey != null) {
+            releaseLocked("CUISINE:" + cuisineKey);
+        }
+    }
+
+    private void removeMenuItemLocked(Long menuItemId) {
+        String dishKey = dishByMenuItem.remove(menuItemId);
+        if (dishKey != null) {
+            releaseLocked("DISH:" + dishKey);
+        }
+    }
+
+    private void retainLocked(String key, SuggestionType type, String text) {
+        int count = referenceCounts.merge(key, 1, Integer::sum);
+        Suggestion existing = suggestions.get(key);
+        removeSuggestionLocked(key);
+        addLocked(sharedSuggestion(key, type, existing != null ? existing.text() : text, count));
+    }
+
+    private void releaseLocked(String key) {
+        Integer count = referenceCounts.computeIfPresent(key, (k, c) -> c > 1 ? c - 1 : null);
+        Suggestion existing = suggestions.get(key);
+        removeSuggestionLocked(key);
+        if (count != null && existing != null) {
+            addLocked(sharedSuggestion(key, existing.type(), existing.text(), count));
+        }
+    }
+
+    private static Suggestion sharedSuggestion(String key, SuggestionType type, String text, int count) {
+        // Shared suggestions rank higher the more restaurants or menu items use them
+        double baseWeight = type == SuggestionType.CUISINE ? CUISINE_WEIGHT : DISH_WEIGHT;
+        return new Suggestion(key, type, text, null, baseWeight + Math.log(count));
+    }
+
+    private void addLocked(Suggestion suggestion) {
+        if (suggestions.size() >= maxEntries && !suggestions.containsKey(suggestion.key())) {
+            if (!capacityWarningLogged) {
+                logger.warn("Autocomplete index reached {} entries; new suggestions are dropped until the next rebuild", maxEntries);
+                capacityWarningLogged = true;
+            }
+            return;
+        }
+        suggestions.put(suggestion.key(), suggestion);
+        for (String term : terms(suggestion.text())) {
+            trie.insert(term, suggestion);
+        }
+    }
+
+    private void removeSuggestionLocked(String key) {
+        Suggestion existing = suggestions.remove(key);
+        if (existing != null) {
+            for (String term : terms(existing.text())) {
+                trie.remove(term, key);
+            }
+        }
+    }
+
+    private static Set<String> terms(String text) {
+        List<String> tokens = TextAnalyzer.tokenize(text);
+        Set<String> terms = new LinkedHashSet<>();
+        for (int i = 0; i < tokens.size() && i < MAX_WORD_STARTS; i++) {
+            String term = String.join(" ", tokens.subList(i, tokens.size()));
+            terms.add(term.length() > MAX_KEY_LENGTH ? term.substring(0, MAX_KEY_LENGTH) : term);
+        }
+        return terms;
+    }
+
+    private static String normalize(String text) {
+        return String.join(" ", TextAnalyzer.tokenize(text));
+    }
+}
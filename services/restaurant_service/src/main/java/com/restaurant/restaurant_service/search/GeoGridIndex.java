@@ -0,0 +1,165 @@
+package com.restaurant.restaurant_service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Fixed lat/lon grid over restaurant locations.
+ * <p>
+ * A radius query only visits the cells overlapping the circle's bounding box and then
+ * checks exact haversine distance, so its cost depends on local density rather than
+ * on the total number of restaurants.
+ */
+public class GeoGridIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE_LAT = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private final double cellDegrees;
+    private final Map<Long, Map<Long, GeoPoint>> cells = new HashMap<>();
+    private final Map<Long, GeoPoint> points = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public GeoGridIndex(double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+    }
+
+    public void put(GeoPoint point) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(point.id());
+            points.put(point.id(), point);
+            cells.computeIfAbsent(cellKey(point.latitude(), point.longitude()), k -> new HashMap<>())
+                    .put(point.id(), point);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void replaceAll(List<GeoPoint> replacement) {
+        GeoGridIndex fresh = new GeoGridIndex(cellDegrees);
+        replacement.forEach(fresh::put);
+        
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            cells.putAll(fresh.cells);
+            points.clear();
+            points.putAll(fresh.points);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Points within {@code radiusKm} of the origin that pass {@code filter}, nearest first.
+     */
+    public List<GeoHit> nearby(double latitude, double longitude, double radiusKm, int limit, Predicate<GeoPoint> filter) {
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        // Near the poles a radius spans every longitude
+        double lonDelta = cosLat < 1e-6 ? 180.0 : Math.min(180.0, radiusKm / (KM_PER_DEGREE_LAT * cosLat));
+        
+        long minRow = row(Math.max(-90.0, latitude - latDelta));
+        long maxRow = row(Math.min(90.0, latitude + latDelta));
+        long minColumn = column(longitude - lonDelta);
+        long maxColumn = column(longitude + lonDelta);
+        long columnsPerRow = columnsPerRow();
+        
+        List<GeoHit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (long r = minRow; r <= maxRow; r++) {
+                for (long c = minColumn; c <= maxColumn && c - minColumn < columnsPerRow; c++) {
+                    // Wrap columns across the antimeridian
+                    long wrapped = Math.floorMod(c, columnsPerRow);
+                    Map<Long, GeoPoint> cell = cells.get(r * columnsPerRow + wrapped);
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (GeoPoint point : cell.values()) {
+                        double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                        if (distance <= radiusKm && filter.test(point)) {
+                            hits.add(new GeoHit(point, distance));
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        hits.sort(Comparator.comparingDouble(GeoHit::distanceKm));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private void removeLocked(Long id) {
+        GeoPoint existing = points.remove(id);
+        if (existing == null) {
+            return;
+        }
+        long key = cellKey(existing.latitude(), existing.longitude());
+        Map<Long, GeoPoint> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(id);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        long columnsPerRow = columnsPerRow();
+        return row(latitude) * columnsPerRow + Math.floorMod(column(longitude), columnsPerRow);
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor((latitude + 90.0) / cellDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor((longitude + 180.0) / cellDegrees);
+    }
+
+    private long columnsPerRow() {
+        return (long) Math.ceil(360.0 / cellDegrees);
+    }
+
+    public record GeoPoint(Long id, double latitude, double longitude, String cuisineKey) {
+    }
+
+    public record GeoHit(GeoPoint point, double distanceKm) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.restaurant.restaurant_service.search;
+
+import com.restaurant.restaurant_service.dto.MenuItemDTO;
+import com.restaurant.restaurant_service.dto.MenuItemFilter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable facet bitsets for one restaurant's menu.
+ * <p>
+ * Items are stored in price order, so a price range is a contiguous run of bits and every
+ * other facet is one bitset. A filter is answered by AND-ing the relevant sets.
+ */
+public class MenuFacetBlock {
+
+    private final MenuItemDTO[] items;
+    private final BigDecimal[] prices;
+    private final BitSet available = new BitSet();
+    private final BitSet vegetarian = new BitSet();
+    private final BitSet vegan = new BitSet();
+    private final BitSet glutenFree = new BitSet();
+    private final Map<String, BitSet> byCategory = new HashMap<>();
+
+    public MenuFacetBlock(List<MenuItemDTO> menuItems) {
+        List<MenuItemDTO> sorted = new ArrayList<>(menuItems);
+        sorted.sort(Comparator.comparing(MenuItemDTO::getPrice, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(MenuItemDTO::getId));
+        items = sorted.toArray(new MenuItemDTO[0]);
+        prices = new BigDecimal[items.length];
+        
+        for (int i = 0; i < items.length; i++) {
+            MenuItemDTO item = items[i];
+            prices[i] = item.getPrice();
+            setIf(available, i, item.getIsAvailable());
+            setIf(vegetarian, i, item.getIsVegetarian());
+            setIf(vegan, i, item.getIsVegan());
+            setIf(glutenFree, i, item.getIsGlutenFree());
+            if (item.getCategory() != null) {
+                byCategory.computeIfAbsent(categoryKey(item.getCategory()), c -> new BitSet()).set(i);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return items.length == 0;
+    }
+
+    public List<MenuItemDTO> filter(MenuItemFilter filter) {
+        int from = lowerBound(filter.getMinPrice());
+        int to = upperBound(filter.getMaxPrice());
+        if (from >= to) {
+            // Empty or inverted price range
+            return new ArrayList<>();
+        }
+        BitSet result = new BitSet(items.length);
+        result.set(from, to);
+        
+        if (filter.getAvailable() != null) {
+            if (filter.getAvailable()) {
+                result.and(available);
+            } else {
+                result.andNot(available);
+            }
+        }
+        if (Boolean.TRUE.equals(filter.getVegetarian())) {
+            result.and(vegetarian);
+        }
+        if (Boolean.TRUE.equals(filter.getVegan())) {
+            result.and(vegan);
+        }
+        if (Boolean.TRUE.equals(filter.getGlutenFree())) {
+            result.and(glutenFree);
+        }
+        if (filter.getCategory() != null && !filter.getCategory().isBlank()) {
+            BitSet category = byCategory.get(categoryKey(filter.getCategory()));
+            if (category == null) {
+                return new ArrayList<>();
+            }
+            result.and(category);
+        }
+        
+        List<MenuItemDTO> matches = new ArrayList<>(result.cardinality());
+        for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+            matches.add(copy(items[i]));
+        }
+        return matches;
+    }
+
+    // First position whose price is >= min (items without a price sort first and never match a minimum)
+    private int lowerBound(BigDecimal min) {
+        if (min == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] == null || prices[mid].compareTo(min) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position whose price is > max
+    private int upperBound(BigDecimal max) {
+        if (max == null) {
+            return prices.length;
+        }
+        int low = 0;
+        int high = prices.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (prices[mid] == null || prices[mid].compareTo(max) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void setIf(BitSet bits, int index, Boolean flag) {
+        if (Boolean.TRUE.equals(flag)) {
+            bits.set(index);
+        }
+    }
+
+    private static String categoryKey(String category) {
+        return category.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Cached DTOs are shared between requests, so callers get their own copy
+    private static MenuItemDTO copy(MenuItemDTO item) {
+        return new MenuItemDTO(item.getId(), item.getName(), item.getDescription(), item.getPrice(),
+                item.getCategory(), item.getImageUrl(), item.getIsAvailable(), item.getIsVegetarian(),
+                item.getIsVegan(), item.getIsGlutenFree(), item.getRestaurantId(),
+                item.getAvailabilityWindows(), item.getAvailableNow());
+    }
+}
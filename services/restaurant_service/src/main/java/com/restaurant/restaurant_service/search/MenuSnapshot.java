@@ -0,0 +1,9 @@
+package com.restaurant.restaurant_service.search;
+
+/**
+ * A restaurant's menu page, serialized once and served as-is.
+ *
+ * @param etag quoted strong validator derived from the body
+ */
+public record MenuSnapshot(byte[] body, String etag) {
+}
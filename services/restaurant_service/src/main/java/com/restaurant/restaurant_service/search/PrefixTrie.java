@@ -0,0 +1,109 @@
+package com.restaurant.restaurant_service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Completion trie where every node caches the best {@code topK} suggestions below it,
+ * so a lookup is one walk down the prefix plus a copy of that node's list.
+ * Not thread-safe; {@link AutocompleteIndex} guards it.
+ */
+class PrefixTrie {
+
+    private static final Comparator<Suggestion> BY_WEIGHT = Comparator.comparingDouble(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text);
+
+    private final int topK;
+    private final Node root = new Node();
+
+    PrefixTrie(int topK) {
+        this.topK = topK;
+    }
+
+    void insert(String term, Suggestion suggestion) {
+        Node node = root;
+        offer(node, suggestion);
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+            offer(node, suggestion);
+        }
+        node.terminals.put(suggestion.key(), suggestion);
+    }
+
+    void remove(String term, String suggestionKey) {
+        List<Node> path = new ArrayList<>(term.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.get(term.charAt(i));
+            if (node == null) {
+                return;
+            }
+            path.add(node);
+        }
+        if (node.terminals.remove(suggestionKey) == null) {
+            return;
+        }
+        
+        // Walk back up so each node can refill its cache from already-repaired children
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node current = path.get(depth);
+            current.size--;
+            if (current.top.removeIf(s -> s.key().equals(suggestionKey)) && current.top.size() < Math.min(topK, current.size)) {
+                refill(current);
+            }
+            if (depth > 0 && current.size <= 0) {
+                path.get(depth - 1).children.remove(term.charAt(depth - 1));
+            }
+        }
+    }
+
+    List<Suggestion> complete(String prefix, int limit) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return List.copyOf(node.top.subList(0, Math.min(limit, node.top.size())));
+    }
+
+    private void offer(Node node, Suggestion suggestion) {
+        node.size++;
+        for (Suggestion existing : node.top) {
+            if (existing.key().equals(suggestion.key())) {
+                return;
+            }
+        }
+        if (node.top.size() < topK) {
+            node.top.add(suggestion);
+            node.top.sort(BY_WEIGHT);
+        } else if (BY_WEIGHT.compare(suggestion, node.top.get(topK - 1)) < 0) {
+            node.top.set(topK - 1, suggestion);
+            node.top.sort(BY_WEIGHT);
+        }
+    }
+
+    private void refill(Node node) {
+        Map<String, Suggestion> candidates = new HashMap<>(node.terminals);
+        for (Node child : node.children.values()) {
+            child.top.forEach(s -> candidates.putIfAbsent(s.key(), s));
+        }
+        List<Suggestion> sorted = new ArrayList<>(candidates.values());
+        sorted.sort(BY_WEIGHT);
+        node.top.clear();
+        node.top.addAll(sorted.subList(0, Math.min(topK, sorted.size())));
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Map<String, Suggestion> terminals = new HashMap<>(2);
+        private final List<Suggestion> top = new ArrayList<>(2);
+        // Insertions at or below this node; may count a suggestion twice if it has several keys here
+        private int size;
+    }
+}
@@ -0,0 +1,54 @@
+package com.restaurant.restaurant_service.search;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Per-restaurant cache of derived data (menu facets, menu snapshots), loaded on first use
+ * and dropped when the restaurant's data changes. Holds at most {@code maxEntries}
+ * restaurants; beyond that the least recently used entry is evicted.
+ */
+public class RestaurantScopedCache<T> {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Map<Long, T> entries;
+    // Invalidation counters, striped by restaurant id so they stay bounded however many restaurants exist
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public RestaurantScopedCache(int maxEntries) {
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, T> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public T get(Long restaurantId, Supplier<T> loader) {
+        T entry = entries.get(restaurantId);
+        if (entry != null) {
+            return entry;
+        }
+
+        int stripe = stripe(restaurantId);
+        long generation = generations.get(stripe);
+        T loaded = loader.get();
+        // A write that committed while we were loading bumps the generation; don't cache what we read before it
+        entries.compute(restaurantId, (id, existing) ->
+                generations.get(stripe) == generation ? loaded : existing);
+        return loaded;
+    }
+
+    public void invalidate(Long restaurantId) {
+        generations.incrementAndGet(stripe(restaurantId));
+        entries.remove(restaurantId);
+    }
+
+    private static int stripe(Long restaurantId) {
+        return Math.floorMod(Long.hashCode(restaurantId), GENERATION_STRIPES);
+    }
+}
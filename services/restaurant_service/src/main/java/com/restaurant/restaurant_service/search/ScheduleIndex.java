@@ -0,0 +1,122 @@
+package com.restaurant.restaurant_service.search;
+
+import com.restaurant.restaurant_service.model.ScheduleWindow;
+
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled opening hours per restaurant and availability windows per menu item.
+ * <p>
+ * Restaurants or items without windows have no time restriction. Identical window
+ * lists share one compiled {@link WeekSchedule}, since many items use the same
+ * breakfast or lunch window.
+ */
+public class ScheduleIndex {
+
+    private final ZoneId defaultZone;
+    private final Clock clock;
+    private volatile State state = new State();
+
+    public ScheduleIndex(ZoneId defaultZone, Clock clock) {
+        this.defaultZone = defaultZone;
+        this.clock = clock;
+    }
+
+    public void putRestaurant(Long restaurantId, List<ScheduleWindow> openingSchedule, String timeZone) {
+        state.putRestaurant(restaurantId, openingSchedule, zone(timeZone));
+    }
+
+    public void putMenuItem(Long menuItemId, Long restaurantId, List<ScheduleWindow> availabilityWindows) {
+        state.putMenuItem(menuItemId, restaurantId, availabilityWindows);
+    }
+
+    public void removeMenuItem(Long menuItemId) {
+        state.menuItems.remove(menuItemId);
+    }
+
+    /**
+     * Starts a fresh index; fill it and pass it to {@link #replaceWith(ScheduleIndex)}.
+     */
+    public ScheduleIndex emptyCopy() {
+        return new ScheduleIndex(defaultZone, clock);
+    }
+
+    public void replaceWith(ScheduleIndex fresh) {
+        state = fresh.state;
+    }
+
+    public boolean isRestaurantOpenNow(Long restaurantId) {
+        RestaurantHours hours = state.restaurants.get(restaurantId);
+        if (hours == null || hours.schedule() == null) {
+            return true;
+        }
+        ZonedDateTime now = ZonedDateTime.now(clock.withZone(hours.zone()));
+        return hours.schedule().isOpenAt(now.getDayOfWeek(), now.toLocalTime());
+    }
+
+    /**
+     * Whether the item's own windows and its restaurant's opening hours both allow ordering now.
+     * The manual {@code isAvailable} flag is checked by the caller.
+     */
+    public boolean isMenuItemAvailableNow(Long menuItemId, Long restaurantId) {
+        if (!isRestaurantOpenNow(restaurantId)) {
+            return false;
+        }
+        WeekSchedule windows = state.menuItems.get(menuItemId);
+        if (windows == null) {
+            return true;
+        }
+        RestaurantHours hours = state.restaurants.get(restaurantId);
+        ZonedDateTime now = ZonedDateTime.now(clock.withZone(hours != null ? hours.zone() : defaultZone));
+        return windows.isOpenAt(now.getDayOfWeek(), now.toLocalTime());
+    }
+
+    private ZoneId zone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return defaultZone;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            return defaultZone;
+        }
+    }
+
+    private static final class State {
+        private final Map<Long, RestaurantHours> restaurants = new ConcurrentHashMap<>();
+        private final Map<Long, WeekSchedule> menuItems = new ConcurrentHashMap<>();
+        private final Map<List<ScheduleWindow>, WeekSchedule> compiled = new ConcurrentHashMap<>();
+
+        private void putRestaurant(Long restaurantId, List<ScheduleWindow> openingSchedule, ZoneId zone) {
+            restaurants.put(restaurantId, new RestaurantHours(compile(openingSchedule), zone));
+        }
+
+        private void putMenuItem(Long menuItemId, Long restaurantId, List<ScheduleWindow> availabilityWindows) {
+            WeekSchedule schedule = compile(availabilityWindows);
+            if (schedule == null) {
+                menuItems.remove(menuItemId);
+            } else {
+                menuItems.put(menuItemId, schedule);
+            }
+        }
+
+        private WeekSchedule compile(List<ScheduleWindow> windows) {
+            if (windows == null || windows.isEmpty()) {
+                return null;
+            }
+            List<ScheduleWindow> key = windows.stream()
+                    .map(w -> new ScheduleWindow(w.getDayOfWeek(), w.getStartTime(), w.getEndTime()))
+                    .toList();
+            return compiled.computeIfAbsent(key, WeekSchedule::compile);
+        }
+    }
+
+    private record RestaurantHours(WeekSchedule schedule, ZoneId zone) {
+    }
+}
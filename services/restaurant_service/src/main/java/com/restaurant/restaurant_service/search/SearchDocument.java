@@ -0,0 +1,15 @@
+package com.restaurant.restaurant_service.search;
+
+import java.util.Map;
+
+/**
+ * A restaurant or menu item as seen by the search index.
+ *
+ * @param fields field name to raw text; each field is weighted by {@link SearchIndex}
+ */
+public record SearchDocument(SearchDocumentType type, Long id, Long restaurantId, String title, Map<String, String> fields) {
+
+    public String key() {
+        return type.name() + ":" + id;
+    }
+}
@@ -0,0 +1,6 @@
+package com.restaurant.restaurant_service.search;
+
+public enum SearchDocumentType {
+    RESTAURANT,
+    MENU_ITEM
+}
@@ -0,0 +1,4 @@
+package com.restaurant.restaurant_service.search;
+
+public record SearchHit(SearchDocument document, double score) {
+}
@@ -0,0 +1,198 @@
+package com.restaurant.restaurant_service.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory inverted index over restaurants and menu items.
+ * <p>
+ * Terms are kept in a sorted map so prefix lookups are a range scan. Each query token
+ * is matched exactly, as a prefix, or within a small edit distance, and documents
+ * must match every token. Scores are field weight x match quality x IDF.
+ */
+public class SearchIndex {
+
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.6;
+    private static final double FUZZY_MATCH = 0.4;
+    private static final int MAX_PREFIX_EXPANSIONS = 200;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final Map<String, Double> fieldWeights;
+    private final NavigableMap<String, Map<String, Double>> postings = new TreeMap<>();
+    private final Map<String, SearchDocument> documents = new HashMap<>();
+    private final Map<String, Set<String>> termsByDocument = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SearchIndex(Map<String, Double> fieldWeights) {
+        this.fieldWeights = Map.copyOf(fieldWeights);
+    }
+
+    public void put(SearchDocument document) {
+        Map<String, Double> termWeights = new HashMap<>();
+        document.fields().forEach((field, text) -> {
+            double weight = fieldWeights.getOrDefault(field, 1.0);
+            for (String term : TextAnalyzer.tokenize(text)) {
+                termWeights.merge(term, weight, Math::max);
+            }
+        });
+        
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.key());
+            documents.put(document.key(), document);
+            termsByDocument.put(document.key(), new HashSet<>(termWeights.keySet()));
+            termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new HashMap<>()).put(document.key(), weight));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(SearchDocumentType type, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(type.name() + ":" + id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(SearchDocumentType type, Long id) {
+        lock.readLock().lock();
+        try {
+            return documents.containsKey(type.name() + ":" + id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Swaps in the given documents as the entire index contents.
+     */
+    public void replaceAll(List<SearchDocument> replacement) {
+        SearchIndex fresh = new SearchIndex(fieldWeights);
+        replacement.forEach(fresh::put);
+        
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            postings.putAll(fresh.postings);
+            documents.clear();
+            documents.putAll(fresh.documents);
+            termsByDocument.clear();
+            termsByDocument.putAll(fresh.termsByDocument);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<SearchHit> search(String query, int limit, Predicate<SearchDocument> filter) {
+        List<String> tokens = TextAnalyzer.tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            Map<String, Double> scores = null;
+            for (String token : tokens) {
+                Map<String, Double> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    // Every token has to match somewhere in the document
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((key, score) -> score + tokenScores.get(key));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            
+            List<SearchHit> hits = new ArrayList<>();
+            for (Map.Entry<String, Double> entry : scores.entrySet()) {
+                SearchDocument document = documents.get(entry.getKey());
+                if (filter.test(document)) {
+                    hits.add(new SearchHit(document, entry.getValue()));
+                }
+            }
+            hits.sort(Comparator.comparingDouble(SearchHit::score).reversed()
+                    .thenComparing(hit -> hit.document().title(), Comparator.nullsLast(Comparator.naturalOrder())));
+            return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, Double> scoreToken(String token) {
+        Map<String, Double> tokenScores = new HashMap<>();
+        
+        int expansions = 0;
+        for (Map.Entry<String, Map<String, Double>> entry : postings.subMap(token, true, token + Character.MAX_VALUE, true).entrySet()) {
+            double quality = entry.getKey().equals(token) ? EXACT_MATCH : PREFIX_MATCH;
+            accumulate(tokenScores, entry.getValue(), quality);
+            if (++expansions >= MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+        }
+        
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            // Typos rarely hit the first letter, so only terms sharing it are compared
+            int maxDistance = token.length() >= 8 ? 2 : 1;
+            String first = token.substring(0, 1);
+            for (Map.Entry<String, Map<String, Double>> entry : postings.subMap(first, true, first + Character.MAX_VALUE, true).entrySet()) {
+                String term = entry.getKey();
+                if (term.startsWith(token)) {
+                    continue;
+                }
+                if (TextAnalyzer.editDistance(token, term, maxDistance) <= maxDistance) {
+                    accumulate(tokenScores, entry.getValue(), FUZZY_MATCH);
+                }
+            }
+        }
+        return tokenScores;
+    }
+
+    private void accumulate(Map<String, Double> tokenScores, Map<String, Double> termPostings, double quality) {
+        double idf = Math.log(1.0 + (double) documents.size() / termPostings.size());
+        termPostings.forEach((documentKey, fieldWeight) ->
+                tokenScores.merge(documentKey, fieldWeight * quality * idf, Math::max));
+    }
+
+    private void removeLocked(String documentKey) {
+        Set<String> terms = termsByDocument.remove(documentKey);
+        documents.remove(documentKey);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<String, Double> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(documentKey);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
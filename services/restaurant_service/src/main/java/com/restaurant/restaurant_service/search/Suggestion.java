@@ -0,0 +1,10 @@
+package com.restaurant.restaurant_service.search;
+
+/**
+ * An autocomplete candidate.
+ *
+ * @param key          identity of the suggestion, e.g. {@code RESTAURANT:12} or {@code DISH:margherita pizza}
+ * @param restaurantId set for restaurant suggestions only
+ */
+public record Suggestion(String key, SuggestionType type, String text, Long restaurantId, double weight) {
+}
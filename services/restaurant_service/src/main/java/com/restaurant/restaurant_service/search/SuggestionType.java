@@ -0,0 +1,7 @@
+package com.restaurant.restaurant_service.search;
+
+public enum SuggestionType {
+    RESTAURANT,
+    CUISINE,
+    DISH
+}
@@ -0,0 +1,75 @@
+package com.restaurant.restaurant_service.search;
+
+import com.restaurant.restaurant_service.model.ScheduleWindow;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * A set of weekly windows compiled into one bit per minute of the week (10,080 bits),
+ * so "is it open at this time" is a single bit test.
+ */
+public final class WeekSchedule {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private final long[] minutes = new long[(MINUTES_PER_WEEK + 63) / 64];
+
+    private WeekSchedule() {
+    }
+
+    public static WeekSchedule compile(List<ScheduleWindow> windows) {
+        WeekSchedule schedule = new WeekSchedule();
+        for (ScheduleWindow window : windows) {
+            if (window.getDayOfWeek() == null) {
+                for (DayOfWeek day : DayOfWeek.values()) {
+                    schedule.add(day, window.getStartTime(), window.getEndTime());
+                }
+            } else {
+                schedule.add(window.getDayOfWeek(), window.getStartTime(), window.getEndTime());
+            }
+        }
+        return schedule;
+    }
+
+    /**
+     * Rejects windows the scheduler cannot compile; {@code null} means "no schedule".
+     */
+    public static void validate(List<ScheduleWindow> windows) {
+        if (windows == null) {
+            return;
+        }
+        for (ScheduleWindow window : windows) {
+            if (window == null || window.getStartTime() == null || window.getEndTime() == null) {
+                throw new IllegalArgumentException("Schedule windows need both a start and an end time");
+            }
+        }
+    }
+
+    public boolean isOpenAt(DayOfWeek day, LocalTime time) {
+        int minute = minuteOfWeek(day, time);
+        return (minutes[minute >>> 6] & (1L << minute)) != 0;
+    }
+
+    private void add(DayOfWeek day, LocalTime start, LocalTime end) {
+        int from = minuteOfWeek(day, start);
+        int length = end.equals(start)
+                ? MINUTES_PER_DAY
+                : Math.floorMod(minuteOfDay(end) - minuteOfDay(start), MINUTES_PER_DAY);
+        // Sunday windows that run past midnight wrap into Monday
+        for (int i = 0; i < length; i++) {
+            int minute = (from + i) % MINUTES_PER_WEEK;
+            minutes[minute >>> 6] |= 1L << minute;
+        }
+    }
+
+    private static int minuteOfWeek(DayOfWeek day, LocalTime time) {
+        return (day.getValue() - 1) * MINUTES_PER_DAY + minuteOfDay(time);
+    }
+
+    private static int minuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
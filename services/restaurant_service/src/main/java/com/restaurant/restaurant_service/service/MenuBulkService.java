@@ -0,0 +1,27 @@
+package com.restaurant.restaurant_service.service;
+
+import com.restaurant.restaurant_service.dto.BulkAvailabilityRequest;
+import com.restaurant.restaurant_service.dto.BulkOperationResultDTO;
+
+import java.io.InputStream;
+
+public interface MenuBulkService {
+    
+    enum ImportFormat {
+        CSV,
+        JSON_LINES
+    }
+    
+    /**
+     * Streams menu items from {@code input}, inserting valid rows in JDBC batches.
+     * Invalid rows are skipped and reported; valid rows are kept even if others fail.
+     * Availability windows on JSON lines rows are imported with their item.
+     */
+    BulkOperationResultDTO importMenuItems(Long restaurantId, ImportFormat format, InputStream input);
+    
+    /**
+     * Sets availability for many items of one restaurant in one JDBC batch.
+     * Ids that don't exist or belong to another restaurant are reported as errors.
+     */
+    BulkOperationResultDTO setAvailability(Long restaurantId, BulkAvailabilityRequest request);
+}
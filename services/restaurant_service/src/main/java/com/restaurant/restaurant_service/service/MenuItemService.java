@@ -1,6 +1,7 @@
 package com.restaurant.restaurant_service.service;
 
 import com.restaurant.restaurant_service.dto.MenuItemDTO;
+import com.restaurant.restaurant_service.dto.MenuItemFilter;
 
 import java.util.List;
 
@@ -16,6 +17,12 @@ public interface MenuItemService {
     
     List<MenuItemDTO> getMenuItemsByDietaryRequirements(Long restaurantId, Boolean isVegetarian, Boolean isVegan, Boolean isGlutenFree);
     
+    /**
+     * Combines category, dietary flags, availability and price range in one query,
+     * answered from the restaurant's in-memory facet bitsets. Results are ordered by price.
+     */
+    List<MenuItemDTO> filterMenuItems(Long restaurantId, MenuItemFilter filter);
+    
     MenuItemDTO getMenuItemById(Long id);
     
     MenuItemDTO createMenuItem(MenuItemDTO menuItemDTO);
@@ -0,0 +1,12 @@
+package com.restaurant.restaurant_service.service;
+
+import com.restaurant.restaurant_service.search.MenuSnapshot;
+
+public interface MenuSnapshotService {
+    
+    /**
+     * Pre-serialized menu page (restaurant header with rating summary, available items by category).
+     * Built on first request and reused until the restaurant, its menu or its ratings change.
+     */
+    MenuSnapshot getMenuSnapshot(Long restaurantId);
+}
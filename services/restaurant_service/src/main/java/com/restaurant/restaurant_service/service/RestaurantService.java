@@ -1,5 +1,6 @@
 package com.restaurant.restaurant_service.service;
 
+import com.restaurant.restaurant_service.dto.NearbyRestaurantDTO;
 import com.restaurant.restaurant_service.dto.RestaurantDTO;
 
 import java.util.List;
@@ -10,6 +11,8 @@ public interface RestaurantService {
     
     List<RestaurantDTO> getActiveRestaurants();
     
+    List<RestaurantDTO> getOpenRestaurants();
+    
     RestaurantDTO getRestaurantById(Long id);
     
     RestaurantDTO createRestaurant(RestaurantDTO restaurantDTO);
@@ -24,5 +27,23 @@ public interface RestaurantService {
     
     List<String> getAllCuisineTypes();
     
+    /**
+     * Active restaurants within {@code radiusKm} of a point, nearest first.
+     * @param cuisineType optional, case-insensitive
+     */
+    List<NearbyRestaurantDTO> findNearbyRestaurants(double latitude, double longitude, double radiusKm, String cuisineType, int limit);
+    
     void updateRestaurantRating(Long restaurantId);
+    
+    /**
+     * Applies a single review change to the restaurant's running rating totals.
+     * Pass {@code removedRating} for a deleted/changed review and {@code addedRating} for a new/changed one.
+     */
+    void recordRatingChange(Long restaurantId, Integer removedRating, Integer addedRating);
+    
+    /**
+     * Recomputes rating totals for every restaurant from its reviews, in chunks.
+     * @return number of restaurants repaired
+     */
+    long repairAllRatings();
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.restaurant.restaurant_service.service;
 
+import com.restaurant.restaurant_service.dto.CursorPageDTO;
 import com.restaurant.restaurant_service.dto.ReviewDTO;
 
 import java.util.List;
@@ -16,6 +17,14 @@ public interface ReviewService {
     
     List<ReviewDTO> getReviewsByRating(Long restaurantId, Integer minRating);
     
+    /**
+     * Keyset-paginated reviews of a restaurant ordered by (createdAt, id).
+     * @param cursor     {@code nextCursor} from the previous page, or {@code null} for the first page
+     * @param minRating  optional lower bound on rating
+     * @param oldestFirst {@code false} for newest first
+     */
+    CursorPageDTO<ReviewDTO> getReviewFeed(Long restaurantId, String cursor, int limit, Integer minRating, boolean oldestFirst);
+    
     ReviewDTO getReviewById(Long id);
     
     ReviewDTO createReview(ReviewDTO reviewDTO);
@@ -0,0 +1,35 @@
+package com.restaurant.restaurant_service.service;
+
+import com.restaurant.restaurant_service.dto.AutocompleteSuggestionDTO;
+import com.restaurant.restaurant_service.dto.SearchResultDTO;
+import com.restaurant.restaurant_service.model.MenuItem;
+import com.restaurant.restaurant_service.model.Restaurant;
+import com.restaurant.restaurant_service.search.SearchDocumentType;
+
+import java.util.List;
+
+public interface SearchService {
+    
+    /**
+     * Ranked full-text search over restaurant and menu item text.
+     * @param type restrict to one document type, or {@code null} for both
+     */
+    List<SearchResultDTO> search(String query, SearchDocumentType type, int limit);
+    
+    /**
+     * Typeahead suggestions (restaurants, cuisines, dishes) for a partially typed query.
+     */
+    List<AutocompleteSuggestionDTO> autocomplete(String prefix, int limit);
+    
+    void indexRestaurant(Restaurant restaurant);
+    
+    void indexMenuItem(MenuItem menuItem);
+    
+    void removeMenuItem(Long menuItemId);
+    
+    /**
+     * Reloads the whole index from the database.
+     * @return number of indexed documents
+     */
+    int rebuildIndex();
+}
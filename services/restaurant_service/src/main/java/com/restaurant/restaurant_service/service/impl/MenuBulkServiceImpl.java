@@ -0,0 +1,409 @@
+package com.restaurant.restaurant_service.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurant_service.dto.BulkAvailabilityRequest;
+import com.restaurant.restaurant_service.dto.BulkOperationResultDTO;
+import com.restaurant.restaurant_service.dto.BulkRowErrorDTO;
+import com.restaurant.restaurant_service.dto.MenuItemDTO;
+import com.restaurant.restaurant_service.exception.ResourceNotFoundException;
+import com.restaurant.restaurant_service.model.MenuItem;
+import com.restaurant.restaurant_service.model.ScheduleWindow;
+import com.restaurant.restaurant_service.repository.MenuItemRepository;
+import com.restaurant.restaurant_service.repository.RestaurantRepository;
+import com.restaurant.restaurant_service.search.AfterCommit;
+import com.restaurant.restaurant_service.search.MenuFacetBlock;
+import com.restaurant.restaurant_service.search.MenuSnapshot;
+import com.restaurant.restaurant_service.search.RestaurantScopedCache;
+import com.restaurant.restaurant_service.search.WeekSchedule;
+import com.restaurant.restaurant_service.service.MenuBulkService;
+import com.restaurant.restaurant_service.service.SearchService;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class MenuBulkServiceImpl implements MenuBulkService {
+    private static final Logger logger = LoggerFactory.getLogger(MenuBulkServiceImpl.class);
+
+    // Identity ids make Hibernate insert row by row, so imports go through JDBC batches instead
+    private static final String INSERT_SQL = "INSERT INTO menu_items (name, description, price, category, image_url, " +
+            "is_available, is_vegetarian, is_vegan, is_gluten_free, restaurant_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_WINDOW_SQL = "INSERT INTO menu_item_availability_windows " +
+            "(menu_item_id, day_of_week, start_time, end_time) VALUES (?, ?, ?, ?)";
+    // Plain JDBC, so Hibernate does not invalidate the whole MenuItem cache region as a bulk HQL update would;
+    // RETURNING tells which of the requested ids belong to the restaurant
+    private static final String UPDATE_AVAILABILITY_SQL = "UPDATE menu_items SET is_available = ? " +
+            "WHERE restaurant_id = ? AND id = ANY(?) RETURNING id";
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectMapper objectMapper;
+    private final SearchService searchService;
+    private final RestaurantScopedCache<MenuFacetBlock> menuFacetCache;
+    private final RestaurantScopedCache<MenuSnapshot> menuSnapshotCache;
+
+    @Value("${restaurant.menu.bulk.batch-size:500}")
+    private int batchSize;
+
+    @Value("${restaurant.menu.bulk.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${restaurant.menu.bulk.max-availability-ids:10000}")
+    private int maxAvailabilityIds;
+
+    @Override
+    public BulkOperationResultDTO importMenuItems(Long restaurantId, ImportFormat format, InputStream input) {
+        if (restaurantRepository.findById(restaurantId).isEmpty()) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+
+        BulkOperationResultDTO result = new BulkOperationResultDTO();
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            Map<String, Integer> csvColumns = null;
+            if (format == ImportFormat.CSV) {
+                csvColumns = parseCsvHeader(reader.readLine());
+                lineNumber++;
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.setTotal(result.getTotal() + 1);
+
+                try {
+                    MenuItemDTO item = format == ImportFormat.CSV
+                            ? parseCsvRow(csvColumns, line)
+                            : objectMapper.readValue(line, MenuItemDTO.class);
+                    validate(item);
+                    batch.add(new ParsedRow(lineNumber, item));
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    recordError(result, new BulkRowErrorDTO(lineNumber, null, rowErrorMessage(e)));
+                }
+
+                if (batch.size() >= batchSize) {
+                    insertBatch(restaurantId, batch, result);
+                }
+            }
+            insertBatch(restaurantId, batch, result);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read menu import for restaurant " + restaurantId, e);
+        } finally {
+            if (result.getSucceeded() > 0) {
+                refreshDerivedData(restaurantId);
+            }
+        }
+
+        logger.info("Imported {} of {} menu items for restaurant {}", result.getSucceeded(), result.getTotal(), restaurantId);
+        return result;
+    }
+
+    @Override
+    public BulkOperationResultDTO setAvailability(Long restaurantId, BulkAvailabilityRequest request) {
+        if (request.getAvailable() == null) {
+            throw new IllegalArgumentException("available is required");
+        }
+        if (request.getMenuItemIds() == null || request.getMenuItemIds().isEmpty()) {
+            throw new IllegalArgumentException("menuItemIds must not be empty");
+        }
+        Set<Long> requested = new LinkedHashSet<>(request.getMenuItemIds());
+        requested.remove(null);
+        if (requested.size() > maxAvailabilityIds) {
+            throw new IllegalArgumentException("At most " + maxAvailabilityIds + " menu items can be updated at once");
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(tx -> {
+            List<Long> owned = jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(UPDATE_AVAILABILITY_SQL);
+                ps.setBoolean(1, request.getAvailable());
+                ps.setLong(2, restaurantId);
+                ps.setArray(3, con.createArrayOf("bigint", requested.toArray()));
+                return ps;
+            }, (rs, rowNum) -> rs.getLong(1));
+            if (owned.isEmpty() && restaurantRepository.findById(restaurantId).isEmpty()) {
+                throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+            }
+
+            BulkOperationResultDTO result = new BulkOperationResultDTO();
+            result.setTotal(requested.size());
+            if (!owned.isEmpty()) {
+                result.setSucceeded(owned.size());
+                // Evict before re-reading so the search index sees the new values, and again once committed
+                evictMenuItems(owned);
+                menuItemRepository.findAllById(owned).forEach(searchService::indexMenuItem);
+                invalidateMenuCaches(restaurantId);
+                AfterCommit.run(() -> evictMenuItems(owned));
+            }
+
+            Set<Long> ownedIds = new HashSet<>(owned);
+            for (Long id : requested) {
+                if (!ownedIds.contains(id)) {
+                    recordError(result, new BulkRowErrorDTO(null, id,
+                            "Menu item not found with id: " + id + " for restaurant " + restaurantId));
+                }
+            }
+            return result;
+        });
+    }
+
+    private void insertBatch(Long restaurantId, List<ParsedRow> batch, BulkOperationResultDTO result) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        try {
+            transactionTemplate.executeWithoutResult(tx -> {
+                KeyHolder keys = new GeneratedKeyHolder();
+                jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                        new BatchPreparedStatementSetter() {
+                            @Override
+                            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                                MenuItemDTO item = batch.get(i).item();
+                                ps.setString(1, item.getName().trim());
+                                ps.setString(2, item.getDescription());
+                                ps.setBigDecimal(3, item.getPrice());
+                                ps.setString(4, item.getCategory());
+                                ps.setString(5, item.getImageUrl());
+                                ps.setBoolean(6, item.getIsAvailable() == null || item.getIsAvailable());
+                                ps.setBoolean(7, Boolean.TRUE.equals(item.getIsVegetarian()));
+                                ps.setBoolean(8, Boolean.TRUE.equals(item.getIsVegan()));
+                                ps.setBoolean(9, Boolean.TRUE.equals(item.getIsGlutenFree()));
+                                ps.setLong(10, restaurantId);
+                            }
+
+                            @Override
+                            public int getBatchSize() {
+                                return batch.size();
+                            }
+                        }, keys);
+                insertWindows(batch, keys.getKeyList());
+            });
+            result.setSucceeded(result.getSucceeded() + batch.size());
+        } catch (DataAccessException e) {
+            // The batch is rolled back as a whole, so every row in it is reported
+            String message = "Batch rejected by database: " + e.getMostSpecificCause().getMessage();
+            batch.forEach(row -> recordError(result, new BulkRowErrorDTO(row.line(), null, message)));
+        }
+        batch.clear();
+    }
+
+    // Generated keys come back in batch order, so key i belongs to row i
+    private void insertWindows(List<ParsedRow> batch, List<Map<String, Object>> keys) {
+        List<Object[]> windows = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            List<ScheduleWindow> rowWindows = batch.get(i).item().getAvailabilityWindows();
+            if (rowWindows == null) {
+                continue;
+            }
+            long menuItemId = ((Number) keys.get(i).get("id")).longValue();
+            for (ScheduleWindow window : rowWindows) {
+                windows.add(new Object[] {menuItemId,
+                        window.getDayOfWeek() != null ? window.getDayOfWeek().name() : null,
+                        window.getStartTime(), window.getEndTime()});
+            }
+        }
+        if (!windows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_WINDOW_SQL, windows);
+        }
+    }
+
+    private void evictMenuItems(List<Long> ids) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        ids.forEach(id -> cache.evictEntityData(MenuItem.class, id));
+        // Cached availability queries were computed from the old values
+        cache.evictDefaultQueryRegion();
+    }
+
+    private void refreshDerivedData(Long restaurantId) {
+        // JDBC inserts bypass Hibernate, so cached query results for menu_items are stale
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+
+        // Read-write so it runs on the primary and sees the rows just inserted
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            menuItemRepository.findByRestaurantId(restaurantId).forEach(searchService::indexMenuItem);
+            invalidateMenuCaches(restaurantId);
+        });
+    }
+
+    private void invalidateMenuCaches(Long restaurantId) {
+        AfterCommit.run(() -> {
+            menuFacetCache.invalidate(restaurantId);
+            menuSnapshotCache.invalidate(restaurantId);
+        });
+    }
+
+    private void recordError(BulkOperationResultDTO result, BulkRowErrorDTO error) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < maxReportedErrors) {
+            result.getErrors().add(error);
+        }
+    }
+
+    private static void validate(MenuItemDTO item) {
+        if (item.getName() == null || item.getName().isBlank()) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (item.getName().length() > 255) {
+            throw new IllegalArgumentException("name must be at most 255 characters");
+        }
+        if (item.getPrice() == null) {
+            throw new IllegalArgumentException("price is required");
+        }
+        if (item.getPrice().signum() < 0) {
+            throw new IllegalArgumentException("price must not be negative");
+        }
+        if (item.getDescription() != null && item.getDescription().length() > 1000) {
+            throw new IllegalArgumentException("description must be at most 1000 characters");
+        }
+        if (item.getCategory() != null && item.getCategory().length() > 255) {
+            throw new IllegalArgumentException("category must be at most 255 characters");
+        }
+        if (item.getImageUrl() != null && item.getImageUrl().length() > 255) {
+            throw new IllegalArgumentException("imageUrl must be at most 255 characters");
+        }
+        WeekSchedule.validate(item.getAvailabilityWindows());
+    }
+
+    private static String rowErrorMessage(Exception e) {
+        if (e instanceof JsonProcessingException json) {
+            return "Invalid JSON: " + json.getOriginalMessage();
+        }
+        if (e instanceof NumberFormatException) {
+            return "price is not a number";
+        }
+        return e.getMessage();
+    }
+
+    private static Map<String, Integer> parseCsvHeader(String header) {
+        if (header == null) {
+            throw new IllegalArgumentException("CSV import is empty; expected a header row");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.containsKey("name") || !columns.containsKey("price")) {
+            throw new IllegalArgumentException("CSV header must include name and price columns");
+        }
+        return columns;
+    }
+
+    private static MenuItemDTO parseCsvRow(Map<String, Integer> columns, String line) {
+        List<String> values = parseCsvLine(line);
+        MenuItemDTO item = new MenuItemDTO();
+        item.setName(column(columns, values, "name"));
+        item.setDescription(column(columns, values, "description"));
+        String price = column(columns, values, "price");
+        item.setPrice(price != null ? new BigDecimal(price.trim()) : null);
+        item.setCategory(column(columns, values, "category"));
+        item.setImageUrl(column(columns, values, "imageurl"));
+        item.setIsAvailable(parseBoolean(column(columns, values, "isavailable"), "isAvailable"));
+        item.setIsVegetarian(parseBoolean(column(columns, values, "isvegetarian"), "isVegetarian"));
+        item.setIsVegan(parseBoolean(column(columns, values, "isvegan"), "isVegan"));
+        item.setIsGlutenFree(parseBoolean(column(columns, values, "isglutenfree"), "isGlutenFree"));
+        return item;
+    }
+
+    private static String column(Map<String, Integer> columns, List<String> values, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static Boolean parseBoolean(String value, String field) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "y", "1" -> true;
+            case "false", "no", "n", "0" -> false;
+            default -> throw new IllegalArgumentException(field + " must be true or false");
+        };
+    }
+
+    /**
+     * Splits one CSV record. Supports quoted fields with embedded commas and doubled quotes;
+     * a record cannot span lines.
+     */
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private record ParsedRow(long line, MenuItemDTO item) {
+    }
+}
@@ -1,16 +1,27 @@
 package com.restaurant.restaurant_service.service.impl;
 
 import com.restaurant.restaurant_service.dto.MenuItemDTO;
+import com.restaurant.restaurant_service.dto.MenuItemFilter;
 import com.restaurant.restaurant_service.exception.ResourceNotFoundException;
 import com.restaurant.restaurant_service.model.MenuItem;
 import com.restaurant.restaurant_service.model.Restaurant;
 import com.restaurant.restaurant_service.repository.MenuItemRepository;
 import com.restaurant.restaurant_service.repository.RestaurantRepository;
+import com.restaurant.restaurant_service.search.AfterCommit;
+import com.restaurant.restaurant_service.search.MenuFacetBlock;
+import com.restaurant.restaurant_service.search.MenuSnapshot;
+import com.restaurant.restaurant_service.search.RestaurantScopedCache;
+import com.restaurant.restaurant_service.search.ScheduleIndex;
+import com.restaurant.restaurant_service.search.WeekSchedule;
 import com.restaurant.restaurant_service.service.MenuItemService;
+import com.restaurant.restaurant_service.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -20,8 +31,14 @@ public class MenuItemServiceImpl implements MenuItemService {
 
     private final MenuItemRepository menuItemRepository;
     private final RestaurantRepository restaurantRepository;
+    private final SearchService searchService;
+    private final RestaurantScopedCache<MenuFacetBlock> menuFacetCache;
+    private final RestaurantScopedCache<MenuSnapshot> menuSnapshotCache;
+    private final PlatformTransactionManager transactionManager;
+    private final ScheduleIndex scheduleIndex;
 
     @Override
+    @Transactional(readOnly = true)
     public List<MenuItemDTO> getAllMenuItems() {
         return menuItemRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -29,66 +46,51 @@ public class MenuItemServiceImpl implements MenuItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MenuItemDTO> getMenuItemsByRestaurant(Long restaurantId) {
-        // Verify restaurant exists
-        if (!restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
-        }
-        
         // Return ALL menu items for the restaurant regardless of availability
         // This is used for the dashboard view
-        return menuItemRepository.findByRestaurantId(restaurantId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(restaurantId, menuItemRepository.findByRestaurantId(restaurantId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MenuItemDTO> getAvailableMenuItemsByRestaurant(Long restaurantId) {
-        // Verify restaurant exists
-        if (!restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
-        }
-        
-        return menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return availableNow(convertToDTOs(restaurantId, menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId)));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<MenuItemDTO> getMenuItemsByRestaurantAndCategory(Long restaurantId, String category) {
-        // Verify restaurant exists
-        if (!restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
-        }
-        
-        return menuItemRepository.findByRestaurantIdAndCategoryAndIsAvailableTrue(restaurantId, category).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return availableNow(convertToDTOs(restaurantId, menuItemRepository.findByRestaurantIdAndCategoryAndIsAvailableTrue(restaurantId, category)));
     }
 
     @Override
     public List<MenuItemDTO> getMenuItemsByDietaryRequirements(Long restaurantId, Boolean isVegetarian, Boolean isVegan, Boolean isGlutenFree) {
-        // Verify restaurant exists
-        if (!restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        // All requested flags apply together, e.g. vegan and gluten-free
+        return filterMenuItems(restaurantId, new MenuItemFilter(null, isVegetarian, isVegan, isGlutenFree, true, null, null));
+    }
+
+    @Override
+    public List<MenuItemDTO> filterMenuItems(Long restaurantId, MenuItemFilter filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
         }
         
-        List<MenuItem> menuItems;
+        // No transaction here: a cached block answers without touching the database
+        List<MenuItemDTO> items = menuFacetCache.get(restaurantId, () -> loadFacetBlock(restaurantId)).filter(filter);
         
-        if (isVegetarian != null && isVegetarian) {
-            menuItems = menuItemRepository.findByRestaurantIdAndIsVegetarianAndIsAvailableTrue(restaurantId, true);
-        } else if (isVegan != null && isVegan) {
-            menuItems = menuItemRepository.findByRestaurantIdAndIsVeganAndIsAvailableTrue(restaurantId, true);
-        } else if (isGlutenFree != null && isGlutenFree) {
-            menuItems = menuItemRepository.findByRestaurantIdAndIsGlutenFreeAndIsAvailableTrue(restaurantId, true);
-        } else {
-            menuItems = menuItemRepository.findByRestaurantIdAndIsAvailableTrue(restaurantId);
+        // The cached block is time-independent; windows are applied per request
+        items.forEach(item -> item.setAvailableNow(isAvailableNow(item)));
+        if (Boolean.TRUE.equals(filter.getAvailable())) {
+            items.removeIf(item -> !item.getAvailableNow());
         }
-        
-        return menuItems.stream().map(this::convertToDTO).collect(Collectors.toList());
+        return items;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public MenuItemDTO getMenuItemById(Long id) {
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + id));
@@ -98,20 +100,27 @@ public class MenuItemServiceImpl implements MenuItemService {
     @Override
     @Transactional
     public MenuItemDTO createMenuItem(MenuItemDTO menuItemDTO) {
+        WeekSchedule.validate(menuItemDTO.getAvailabilityWindows());
         Restaurant restaurant = restaurantRepository.findById(menuItemDTO.getRestaurantId())
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + menuItemDTO.getRestaurantId()));
         
         MenuItem menuItem = convertToEntity(menuItemDTO, restaurant);
         MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        searchService.indexMenuItem(savedMenuItem);
+        invalidateMenuCaches(restaurant.getId());
         return convertToDTO(savedMenuItem);
     }
 
     @Override
     @Transactional
     public MenuItemDTO updateMenuItem(Long id, MenuItemDTO menuItemDTO) {
+        WeekSchedule.validate(menuItemDTO.getAvailabilityWindows());
         MenuItem menuItem = menuItemRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + id));
         
+        // Covers the previous restaurant when the item is moved
+        invalidateMenuCaches(menuItem.getRestaurant().getId());
+        
         // If restaurant ID is different, verify the new restaurant exists
         if (!menuItem.getRestaurant().getId().equals(menuItemDTO.getRestaurantId())) {
             Restaurant newRestaurant = restaurantRepository.findById(menuItemDTO.getRestaurantId())
@@ -128,18 +137,25 @@ public class MenuItemServiceImpl implements MenuItemService {
         menuItem.setIsVegetarian(menuItemDTO.getIsVegetarian());
         menuItem.setIsVegan(menuItemDTO.getIsVegan());
         menuItem.setIsGlutenFree(menuItemDTO.getIsGlutenFree());
+        if (menuItemDTO.getAvailabilityWindows() != null) {
+            menuItem.getAvailabilityWindows().clear();
+            menuItem.getAvailabilityWindows().addAll(menuItemDTO.getAvailabilityWindows());
+        }
         
         MenuItem updatedMenuItem = menuItemRepository.save(menuItem);
+        searchService.indexMenuItem(updatedMenuItem);
+        invalidateMenuCaches(updatedMenuItem.getRestaurant().getId());
         return convertToDTO(updatedMenuItem);
     }
 
     @Override
     @Transactional
     public void deleteMenuItem(Long id) {
-        if (!menuItemRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Menu item not found with id: " + id);
-        }
-        menuItemRepository.deleteById(id);
+        MenuItem menuItem = menuItemRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + id));
+        menuItemRepository.delete(menuItem);
+        searchService.removeMenuItem(id);
+        invalidateMenuCaches(menuItem.getRestaurant().getId());
     }
 
     @Override
@@ -149,6 +165,47 @@ public class MenuItemServiceImpl implements MenuItemService {
                 .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + id));
         menuItem.setIsAvailable(isAvailable);
         menuItemRepository.save(menuItem);
+        searchService.indexMenuItem(menuItem);
+        invalidateMenuCaches(menuItem.getRestaurant().getId());
+    }
+
+    private MenuFacetBlock loadFacetBlock(Long restaurantId) {
+        // Read-write so it runs on the primary: the block is cached until the next write, so it must not lag
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        return transactionTemplate.execute(tx ->
+                new MenuFacetBlock(convertToDTOs(restaurantId, menuItemRepository.findByRestaurantId(restaurantId))));
+    }
+
+    private void invalidateMenuCaches(Long restaurantId) {
+        AfterCommit.run(() -> {
+            menuFacetCache.invalidate(restaurantId);
+            menuSnapshotCache.invalidate(restaurantId);
+        });
+    }
+
+    private List<MenuItemDTO> availableNow(List<MenuItemDTO> items) {
+        items.removeIf(item -> !item.getAvailableNow());
+        return items;
+    }
+
+    private boolean isAvailableNow(MenuItemDTO item) {
+        return Boolean.TRUE.equals(item.getIsAvailable())
+                && scheduleIndex.isMenuItemAvailableNow(item.getId(), item.getRestaurantId());
+    }
+
+    private List<MenuItemDTO> convertToDTOs(Long restaurantId, List<MenuItem> menuItems) {
+        // A non-empty result already proves the restaurant exists, so only empty results pay for the lookup
+        if (menuItems.isEmpty()) {
+            verifyRestaurantExists(restaurantId);
+        }
+        return menuItems.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    private void verifyRestaurantExists(Long restaurantId) {
+        // findById is served from the second-level cache; existsById always runs a count query
+        if (restaurantRepository.findById(restaurantId).isEmpty()) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
     }
 
     private MenuItemDTO convertToDTO(MenuItem menuItem) {
@@ -164,6 +221,8 @@ public class MenuItemServiceImpl implements MenuItemService {
         dto.setIsVegan(menuItem.getIsVegan());
         dto.setIsGlutenFree(menuItem.getIsGlutenFree());
         dto.setRestaurantId(menuItem.getRestaurant().getId());
+        dto.setAvailabilityWindows(new ArrayList<>(menuItem.getAvailabilityWindows()));
+        dto.setAvailableNow(isAvailableNow(dto));
         return dto;
     }
 
@@ -178,6 +237,9 @@ public class MenuItemServiceImpl implements MenuItemService {
         menuItem.setIsVegetarian(dto.getIsVegetarian() != null ? dto.getIsVegetarian() : false);
         menuItem.setIsVegan(dto.getIsVegan() != null ? dto.getIsVegan() : false);
         menuItem.setIsGlutenFree(dto.getIsGlutenFree() != null ? dto.getIsGlutenFree() : false);
+        if (dto.getAvailabilityWindows() != null) {
+            menuItem.getAvailabilityWindows().addAll(dto.getAvailabilityWindows());
+        }
         menuItem.setRestaurant(restaurant);
         return menuItem;
     }
@@ -0,0 +1,89 @@
+package com.restaurant.restaurant_service.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurant_service.dto.MenuCategoryDTO;
+import com.restaurant.restaurant_service.dto.MenuItemDTO;
+import com.restaurant.restaurant_service.dto.MenuSnapshotDTO;
+import com.restaurant.restaurant_service.dto.RestaurantDTO;
+import com.restaurant.restaurant_service.search.MenuSnapshot;
+import com.restaurant.restaurant_service.search.RestaurantScopedCache;
+import com.restaurant.restaurant_service.service.MenuItemService;
+import com.restaurant.restaurant_service.service.MenuSnapshotService;
+import com.restaurant.restaurant_service.service.RestaurantService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+public class MenuSnapshotServiceImpl implements MenuSnapshotService {
+
+    private static final String UNCATEGORIZED = "Other";
+
+    private final RestaurantService restaurantService;
+    private final MenuItemService menuItemService;
+    private final RestaurantScopedCache<MenuSnapshot> menuSnapshotCache;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public MenuSnapshot getMenuSnapshot(Long restaurantId) {
+        return menuSnapshotCache.get(restaurantId, () -> buildSnapshot(restaurantId));
+    }
+
+    private MenuSnapshot buildSnapshot(Long restaurantId) {
+        // Read-write so it runs on the primary: a lagging replica would be cached as the current menu
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        MenuSnapshotDTO snapshot = transactionTemplate.execute(tx -> {
+            RestaurantDTO restaurant = restaurantService.getRestaurantById(restaurantId);
+            // The snapshot is cached across requests, so it carries the windows but not the time-of-day state
+            restaurant.setOpenNow(null);
+            
+            Map<String, List<MenuItemDTO>> byCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (MenuItemDTO item : menuItemService.getMenuItemsByRestaurant(restaurantId)) {
+                if (!Boolean.TRUE.equals(item.getIsAvailable())) {
+                    continue;
+                }
+                item.setAvailableNow(null);
+                String category = item.getCategory() != null && !item.getCategory().isBlank() ? item.getCategory() : UNCATEGORIZED;
+                byCategory.computeIfAbsent(category, c -> new ArrayList<>()).add(item);
+            }
+            
+            List<MenuCategoryDTO> categories = new ArrayList<>(byCategory.size());
+            byCategory.forEach((name, items) -> {
+                items.sort(Comparator.comparing(MenuItemDTO::getName, String.CASE_INSENSITIVE_ORDER));
+                categories.add(new MenuCategoryDTO(name, items));
+            });
+            return new MenuSnapshotDTO(restaurant, categories);
+        });
+        
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(snapshot);
+            return new MenuSnapshot(body, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize menu snapshot for restaurant " + restaurantId, e);
+        }
+    }
+
+    // Content hash, so every instance hands out the same ETag for the same menu
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -1,27 +1,80 @@
 package com.restaurant.restaurant_service.service.impl;
 
+import com.restaurant.restaurant_service.dto.NearbyRestaurantDTO;
 import com.restaurant.restaurant_service.dto.RestaurantDTO;
 import com.restaurant.restaurant_service.exception.ResourceNotFoundException;
 import com.restaurant.restaurant_service.model.Restaurant;
-import com.restaurant.restaurant_service.model.Review;
 import com.restaurant.restaurant_service.repository.RestaurantRepository;
 import com.restaurant.restaurant_service.repository.ReviewRepository;
+import com.restaurant.restaurant_service.search.AfterCommit;
+import com.restaurant.restaurant_service.search.GeoGridIndex;
+import com.restaurant.restaurant_service.search.MenuSnapshot;
+import com.restaurant.restaurant_service.search.RestaurantScopedCache;
+import com.restaurant.restaurant_service.search.ScheduleIndex;
+import com.restaurant.restaurant_service.search.WeekSchedule;
 import com.restaurant.restaurant_service.service.RestaurantService;
+import com.restaurant.restaurant_service.service.SearchService;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RestaurantServiceImpl implements RestaurantService {
+    private static final Logger logger = LoggerFactory.getLogger(RestaurantServiceImpl.class);
+
+    // Unseeded rows (no sum or count yet) are left alone and recounted instead
+    private static final String APPLY_RATING_DELTA_SQL =
+            "UPDATE restaurants SET rating_sum = rating_sum + ?, rating_count = rating_count + ?, " +
+            "one_star_count = COALESCE(one_star_count, 0) + ?, two_star_count = COALESCE(two_star_count, 0) + ?, " +
+            "three_star_count = COALESCE(three_star_count, 0) + ?, four_star_count = COALESCE(four_star_count, 0) + ?, " +
+            "five_star_count = COALESCE(five_star_count, 0) + ?, " +
+            "average_rating = CASE WHEN rating_count + ? > 0 " +
+            "THEN CAST(rating_sum + ? AS DOUBLE PRECISION) / (rating_count + ?) ELSE 0 END " +
+            "WHERE id = ? AND rating_sum IS NOT NULL AND rating_count IS NOT NULL";
 
     private final RestaurantRepository restaurantRepository;
     private final ReviewRepository reviewRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SearchService searchService;
+    private final GeoGridIndex geoGridIndex;
+    private final RestaurantScopedCache<MenuSnapshot> menuSnapshotCache;
+    private final ScheduleIndex scheduleIndex;
+
+    @Value("${restaurant.rating.repair.chunk-size:200}")
+    private int repairChunkSize;
+
+    @Value("${restaurant.nearby.max-radius-km:50}")
+    private double maxNearbyRadiusKm;
+
+    @Value("${restaurant.nearby.max-results:100}")
+    private int maxNearbyResults;
 
     @Override
+    @Transactional(readOnly = true)
     public List<RestaurantDTO> getAllRestaurants() {
         return restaurantRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -29,6 +82,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RestaurantDTO> getActiveRestaurants() {
         return restaurantRepository.findByIsActiveTrue().stream()
                 .map(this::convertToDTO)
@@ -36,6 +90,16 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<RestaurantDTO> getOpenRestaurants() {
+        return restaurantRepository.findByIsActiveTrue().stream()
+                .filter(restaurant -> scheduleIndex.isRestaurantOpenNow(restaurant.getId()))
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public RestaurantDTO getRestaurantById(Long id) {
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
@@ -45,15 +109,20 @@ public class RestaurantServiceImpl implements RestaurantService {
     @Override
     @Transactional
     public RestaurantDTO createRestaurant(RestaurantDTO restaurantDTO) {
+        validateCoordinates(restaurantDTO);
+        validateSchedule(restaurantDTO);
         Restaurant restaurant = convertToEntity(restaurantDTO);
         restaurant.setIsActive(true);
         Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        searchService.indexRestaurant(savedRestaurant);
         return convertToDTO(savedRestaurant);
     }
 
     @Override
     @Transactional
     public RestaurantDTO updateRestaurant(Long id, RestaurantDTO restaurantDTO) {
+        validateCoordinates(restaurantDTO);
+        validateSchedule(restaurantDTO);
         Restaurant restaurant = restaurantRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
         
@@ -65,9 +134,21 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setCuisineType(restaurantDTO.getCuisineType());
         restaurant.setOpeningHours(restaurantDTO.getOpeningHours());
         restaurant.setImageUrl(restaurantDTO.getImageUrl());
+        restaurant.setLatitude(restaurantDTO.getLatitude());
+        restaurant.setLongitude(restaurantDTO.getLongitude());
         restaurant.setIsActive(restaurantDTO.getIsActive());
+        // Schedules are only replaced when sent, so older clients don't wipe them
+        if (restaurantDTO.getOpeningSchedule() != null) {
+            restaurant.getOpeningSchedule().clear();
+            restaurant.getOpeningSchedule().addAll(restaurantDTO.getOpeningSchedule());
+        }
+        if (restaurantDTO.getTimeZone() != null) {
+            restaurant.setTimeZone(restaurantDTO.getTimeZone());
+        }
         
         Restaurant updatedRestaurant = restaurantRepository.save(restaurant);
+        searchService.indexRestaurant(updatedRestaurant);
+        invalidateMenuSnapshot(id);
         return convertToDTO(updatedRestaurant);
     }
 
@@ -78,9 +159,12 @@ public class RestaurantServiceImpl implements RestaurantService {
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
         restaurant.setIsActive(false);
         restaurantRepository.save(restaurant);
+        searchService.indexRestaurant(restaurant);
+        invalidateMenuSnapshot(id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RestaurantDTO> searchRestaurantsByName(String name) {
         return restaurantRepository.searchByName(name).stream()
                 .map(this::convertToDTO)
@@ -88,6 +172,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<RestaurantDTO> getRestaurantsByCuisine(String cuisineType) {
         return restaurantRepository.findByCuisineTypeAndIsActiveTrue(cuisineType).stream()
                 .map(this::convertToDTO)
@@ -95,29 +180,198 @@ public class RestaurantServiceImpl implements RestaurantService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<String> getAllCuisineTypes() {
         return restaurantRepository.findAllCuisineTypes();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyRestaurantDTO> findNearbyRestaurants(double latitude, double longitude, double radiusKm, String cuisineType, int limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+        if (radiusKm <= 0 || radiusKm > maxNearbyRadiusKm) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + maxNearbyRadiusKm + " km");
+        }
+        
+        String cuisineKey = cuisineType != null && !cuisineType.isBlank() ? cuisineType.trim().toLowerCase(Locale.ROOT) : null;
+        List<GeoGridIndex.GeoHit> hits = geoGridIndex.nearby(latitude, longitude, radiusKm,
+                Math.min(Math.max(limit, 1), maxNearbyResults),
+                point -> cuisineKey == null || cuisineKey.equals(point.cuisineKey()));
+        
+        // The index only holds coordinates; details are loaded in one IN query (it does not consult the second-level cache)
+        Map<Long, Restaurant> restaurants = restaurantRepository.findAllById(
+                        hits.stream().map(hit -> hit.point().id()).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        
+        List<NearbyRestaurantDTO> nearby = new ArrayList<>(hits.size());
+        for (GeoGridIndex.GeoHit hit : hits) {
+            Restaurant restaurant = restaurants.get(hit.point().id());
+            if (restaurant != null && Boolean.TRUE.equals(restaurant.getIsActive())) {
+                nearby.add(new NearbyRestaurantDTO(convertToDTO(restaurant), hit.distanceKm()));
+            }
+        }
+        return nearby;
+    }
+
     @Override
     @Transactional
     public void updateRestaurantRating(Long restaurantId) {
-        Restaurant restaurant = restaurantRepository.findById(restaurantId)
+        // Lock the row so an incremental update cannot interleave with the recount
+        Restaurant restaurant = restaurantRepository.findByIdForUpdate(restaurantId)
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + restaurantId));
         
-        List<Review> reviews = reviewRepository.findByRestaurantId(restaurantId);
-        
-        if (reviews.isEmpty()) {
-            restaurant.setAverageRating(0.0);
-        } else {
-            double average = reviews.stream()
-                    .mapToInt(Review::getRating)
-                    .average()
-                    .orElse(0.0);
-            restaurant.setAverageRating(average);
+        long[] starCounts = new long[5];
+        long sum = 0;
+        long count = 0;
+        for (ReviewRepository.RatingCount row : reviewRepository.countByRating(restaurantId)) {
+            Integer rating = row.getRating();
+            if (rating == null) {
+                continue;
+            }
+            sum += rating * row.getCount();
+            count += row.getCount();
+            if (rating >= 1 && rating <= 5) {
+                starCounts[rating - 1] += row.getCount();
+            }
         }
         
+        setRatingTotals(restaurant, sum, count, starCounts);
         restaurantRepository.save(restaurant);
+        invalidateMenuSnapshot(restaurantId);
+    }
+
+    @Override
+    @Transactional
+    public void recordRatingChange(Long restaurantId, Integer removedRating, Integer addedRating) {
+        long[] starDeltas = new long[5];
+        long sumDelta = 0;
+        long countDelta = 0;
+        
+        if (removedRating != null) {
+            sumDelta -= removedRating;
+            countDelta--;
+            adjustStar(starDeltas, removedRating, -1);
+        }
+        if (addedRating != null) {
+            sumDelta += addedRating;
+            countDelta++;
+            adjustStar(starDeltas, addedRating, 1);
+        }
+        if (sumDelta == 0 && countDelta == 0 && isZero(starDeltas)) {
+            return;
+        }
+        
+        // One relative UPDATE: concurrent review changes add up in the row, and no other column is written
+        int updated = jdbcTemplate.update(APPLY_RATING_DELTA_SQL,
+                sumDelta, countDelta, starDeltas[0], starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4],
+                countDelta, sumDelta, countDelta, restaurantId);
+        if (updated == 0) {
+            // Unknown (404) or not seeded yet; the recount already includes this change
+            updateRestaurantRating(restaurantId);
+            return;
+        }
+        
+        // The JDBC write bypassed Hibernate, so drop the cached entity now and again once the new totals are visible
+        evictRestaurant(restaurantId);
+        AfterCommit.run(() -> evictRestaurant(restaurantId));
+        invalidateMenuSnapshot(restaurantId);
+    }
+
+    /**
+     * Seeds running totals for restaurants that predate them, so incremental updates start from
+     * the real review history instead of zero.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedMissingRatings() {
+        long seeded = recountInChunks(afterId -> restaurantRepository.findUnseededRatingIdsAfter(afterId,
+                PageRequest.of(0, repairChunkSize)));
+        if (seeded > 0) {
+            logger.info("Seeded rating totals for {} restaurants", seeded);
+        }
+    }
+
+    @Override
+    public long repairAllRatings() {
+        long repaired = recountInChunks(afterId -> restaurantRepository.findIdsAfter(afterId,
+                PageRequest.of(0, repairChunkSize)));
+        logger.info("Repaired rating totals for {} restaurants", repaired);
+        return repaired;
+    }
+
+    private long recountInChunks(Function<Long, List<Long>> nextIds) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long recounted = 0;
+        Long afterId = 0L;
+        
+        // One transaction per chunk keeps row locks short while reviews keep arriving
+        while (true) {
+            List<Long> ids = nextIds.apply(afterId);
+            if (ids.isEmpty()) {
+                break;
+            }
+            
+            transactionTemplate.executeWithoutResult(tx -> ids.forEach(this::updateRestaurantRating));
+            recounted += ids.size();
+            afterId = ids.get(ids.size() - 1);
+        }
+        return recounted;
+    }
+
+    private static void setRatingTotals(Restaurant restaurant, long sum, long count, long[] starCounts) {
+        restaurant.setRatingSum(sum);
+        restaurant.setRatingCount(count);
+        restaurant.setAverageRating(count > 0 ? (double) sum / count : 0.0);
+        restaurant.setOneStarCount(starCounts[0]);
+        restaurant.setTwoStarCount(starCounts[1]);
+        restaurant.setThreeStarCount(starCounts[2]);
+        restaurant.setFourStarCount(starCounts[3]);
+        restaurant.setFiveStarCount(starCounts[4]);
+    }
+
+    private void evictRestaurant(Long restaurantId) {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictEntityData(Restaurant.class, restaurantId);
+    }
+
+    private void invalidateMenuSnapshot(Long restaurantId) {
+        AfterCommit.run(() -> menuSnapshotCache.invalidate(restaurantId));
+    }
+
+    private static void validateCoordinates(RestaurantDTO dto) {
+        if ((dto.getLatitude() == null) != (dto.getLongitude() == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be provided together");
+        }
+        if (dto.getLatitude() != null && (Math.abs(dto.getLatitude()) > 90 || Math.abs(dto.getLongitude()) > 180)) {
+            throw new IllegalArgumentException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        }
+    }
+
+    private static void validateSchedule(RestaurantDTO dto) {
+        WeekSchedule.validate(dto.getOpeningSchedule());
+        if (dto.getTimeZone() != null && !dto.getTimeZone().isBlank()) {
+            try {
+                ZoneId.of(dto.getTimeZone());
+            } catch (DateTimeException e) {
+                throw new IllegalArgumentException("Unknown time zone: " + dto.getTimeZone());
+            }
+        }
+    }
+
+    private static void adjustStar(long[] starDeltas, int rating, int delta) {
+        if (rating >= 1 && rating <= 5) {
+            starDeltas[rating - 1] += delta;
+        }
+    }
+
+    private static boolean isZero(long[] values) {
+        for (long value : values) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private RestaurantDTO convertToDTO(Restaurant restaurant) {
@@ -130,12 +384,30 @@ public class RestaurantServiceImpl implements RestaurantService {
         dto.setDescription(restaurant.getDescription());
         dto.setCuisineType(restaurant.getCuisineType());
         dto.setOpeningHours(restaurant.getOpeningHours());
+        dto.setOpeningSchedule(new ArrayList<>(restaurant.getOpeningSchedule()));
+        dto.setTimeZone(restaurant.getTimeZone());
+        dto.setOpenNow(Boolean.TRUE.equals(restaurant.getIsActive()) && scheduleIndex.isRestaurantOpenNow(restaurant.getId()));
         dto.setImageUrl(restaurant.getImageUrl());
+        dto.setLatitude(restaurant.getLatitude());
+        dto.setLongitude(restaurant.getLongitude());
         dto.setIsActive(restaurant.getIsActive());
         dto.setAverageRating(restaurant.getAverageRating());
+        dto.setRatingCount(valueOrZero(restaurant.getRatingCount()));
+        
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, valueOrZero(restaurant.getOneStarCount()));
+        distribution.put(2, valueOrZero(restaurant.getTwoStarCount()));
+        distribution.put(3, valueOrZero(restaurant.getThreeStarCount()));
+        distribution.put(4, valueOrZero(restaurant.getFourStarCount()));
+        distribution.put(5, valueOrZero(restaurant.getFiveStarCount()));
+        dto.setRatingDistribution(distribution);
         return dto;
     }
 
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
     private Restaurant convertToEntity(RestaurantDTO dto) {
         Restaurant restaurant = new Restaurant();
         restaurant.setName(dto.getName());
@@ -145,7 +417,13 @@ public class RestaurantServiceImpl implements RestaurantService {
         restaurant.setDescription(dto.getDescription());
         restaurant.setCuisineType(dto.getCuisineType());
         restaurant.setOpeningHours(dto.getOpeningHours());
+        if (dto.getOpeningSchedule() != null) {
+            restaurant.getOpeningSchedule().addAll(dto.getOpeningSchedule());
+        }
+        restaurant.setTimeZone(dto.getTimeZone());
         restaurant.setImageUrl(dto.getImageUrl());
+        restaurant.setLatitude(dto.getLatitude());
+        restaurant.setLongitude(dto.getLongitude());
         restaurant.setIsActive(dto.getIsActive());
         restaurant.setAverageRating(dto.getAverageRating());
         return restaurant;
@@ -1,5 +1,6 @@
 package com.restaurant.restaurant_service.service.impl;
 
+import com.restaurant.restaurant_service.dto.CursorPageDTO;
 import com.restaurant.restaurant_service.dto.ReviewDTO;
 import com.restaurant.restaurant_service.exception.ResourceNotFoundException;
 import com.restaurant.restaurant_service.model.Restaurant;
@@ -9,10 +10,16 @@ import com.restaurant.restaurant_service.repository.ReviewRepository;
 import com.restaurant.restaurant_service.service.RestaurantService;
 import com.restaurant.restaurant_service.service.ReviewService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,7 +31,11 @@ public class ReviewServiceImpl implements ReviewService {
     private final RestaurantRepository restaurantRepository;
     private final RestaurantService restaurantService;
 
+    @Value("${restaurant.reviews.page.max-size:100}")
+    private int maxPageSize;
+
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDTO> getAllReviews() {
         return reviewRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -32,30 +43,19 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDTO> getReviewsByRestaurant(Long restaurantId) {
-        // Verify restaurant exists
-        if (!restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
-        }
-        
-        return reviewRepository.findByRestaurantId(restaurantId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(restaurantId, reviewRepository.findByRestaurantId(restaurantId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDTO> getReviewsByRestaurantSorted(Long restaurantId) {
-        // Verify restaurant exists
-        if (!restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
-        }
-        
-        return reviewRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurantId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(restaurantId, reviewRepository.findByRestaurantIdOrderByCreatedAtDesc(restaurantId));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDTO> getReviewsByUser(Long userId) {
         return reviewRepository.findByUserId(userId).stream()
                 .map(this::convertToDTO)
@@ -63,18 +63,42 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewDTO> getReviewsByRating(Long restaurantId, Integer minRating) {
-        // Verify restaurant exists
-        if (!restaurantRepository.existsById(restaurantId)) {
-            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        return convertToDTOs(restaurantId, reviewRepository.findByRestaurantIdAndRatingGreaterThanEqual(restaurantId, minRating));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReviewDTO> getReviewFeed(Long restaurantId, String cursor, int limit, Integer minRating, boolean oldestFirst) {
+        int pageSize = Math.min(Math.max(limit, 1), maxPageSize);
+        // One extra row tells us whether another page exists without a count query
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        
+        List<ReviewDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = oldestFirst
+                    ? reviewRepository.findFeedOldestFirst(restaurantId, minRating, pageable)
+                    : reviewRepository.findFeedNewestFirst(restaurantId, minRating, pageable);
+            if (rows.isEmpty()) {
+                // An empty first page means either no reviews yet or an unknown restaurant
+                requireRestaurantExists(restaurantId);
+            }
+        } else {
+            FeedCursor position = decodeCursor(cursor);
+            rows = oldestFirst
+                    ? reviewRepository.findFeedOldestFirstAfter(restaurantId, minRating, position.createdAt(), position.id(), pageable)
+                    : reviewRepository.findFeedNewestFirstAfter(restaurantId, minRating, position.createdAt(), position.id(), pageable);
         }
         
-        return reviewRepository.findByRestaurantIdAndRatingGreaterThanEqual(restaurantId, minRating).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        boolean hasMore = rows.size() > pageSize;
+        List<ReviewDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(page, nextCursor, hasMore);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ReviewDTO getReviewById(Long id) {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
@@ -91,8 +115,7 @@ public class ReviewServiceImpl implements ReviewService {
         review.setCreatedAt(LocalDateTime.now());
         Review savedReview = reviewRepository.save(review);
         
-        // Update restaurant rating
-        restaurantService.updateRestaurantRating(restaurant.getId());
+        restaurantService.recordRatingChange(restaurant.getId(), null, savedReview.getRating());
         
         return convertToDTO(savedReview);
     }
@@ -103,6 +126,9 @@ public class ReviewServiceImpl implements ReviewService {
         Review review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
         
+        Long previousRestaurantId = review.getRestaurant().getId();
+        Integer previousRating = review.getRating();
+        
         // If restaurant ID is different, verify the new restaurant exists
         if (!review.getRestaurant().getId().equals(reviewDTO.getRestaurantId())) {
             Restaurant newRestaurant = restaurantRepository.findById(reviewDTO.getRestaurantId())
@@ -117,8 +143,14 @@ public class ReviewServiceImpl implements ReviewService {
         
         Review updatedReview = reviewRepository.save(review);
         
-        // Update restaurant rating
-        restaurantService.updateRestaurantRating(updatedReview.getRestaurant().getId());
+        Long restaurantId = updatedReview.getRestaurant().getId();
+        if (restaurantId.equals(previousRestaurantId)) {
+            restaurantService.recordRatingChange(restaurantId, previousRating, updatedReview.getRating());
+        } else {
+            // Moving a review takes it out of the old restaurant's totals and into the new one's
+            restaurantService.recordRatingChange(previousRestaurantId, previousRating, null);
+            restaurantService.recordRatingChange(restaurantId, null, updatedReview.getRating());
+        }
         
         return convertToDTO(updatedReview);
     }
@@ -130,10 +162,42 @@ public class ReviewServiceImpl implements ReviewService {
                 .orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + id));
         
         Long restaurantId = review.getRestaurant().getId();
+        Integer rating = review.getRating();
         reviewRepository.deleteById(id);
         
-        // Update restaurant rating
-        restaurantService.updateRestaurantRating(restaurantId);
+        restaurantService.recordRatingChange(restaurantId, rating, null);
+    }
+
+    private List<ReviewDTO> convertToDTOs(Long restaurantId, List<Review> reviews) {
+        // An empty list means either no reviews yet or an unknown restaurant
+        if (reviews.isEmpty()) {
+            requireRestaurantExists(restaurantId);
+        }
+        return reviews.stream().map(this::convertToDTO).collect(Collectors.toList());
+    }
+
+    private void requireRestaurantExists(Long restaurantId) {
+        if (restaurantRepository.findById(restaurantId).isEmpty()) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+    }
+
+    static String encodeCursor(ReviewDTO last) {
+        String raw = last.getCreatedAt() + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static FeedCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new FeedCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid review cursor");
+        }
+    }
+
+    record FeedCursor(LocalDateTime createdAt, Long id) {
     }
 
     private ReviewDTO convertToDTO(Review review) {
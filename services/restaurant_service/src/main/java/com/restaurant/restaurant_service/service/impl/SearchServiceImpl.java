@@ -0,0 +1,288 @@
+package com.restaurant.restaurant_service.service.impl;
+
+import com.restaurant.restaurant_service.dto.AutocompleteSuggestionDTO;
+import com.restaurant.restaurant_service.dto.SearchResultDTO;
+import com.restaurant.restaurant_service.model.MenuItem;
+import com.restaurant.restaurant_service.model.Restaurant;
+import com.restaurant.restaurant_service.model.ScheduleWindow;
+import com.restaurant.restaurant_service.repository.MenuItemRepository;
+import com.restaurant.restaurant_service.repository.RestaurantRepository;
+import com.restaurant.restaurant_service.search.AfterCommit;
+import com.restaurant.restaurant_service.search.AutocompleteIndex;
+import com.restaurant.restaurant_service.search.GeoGridIndex;
+import com.restaurant.restaurant_service.search.ScheduleIndex;
+import com.restaurant.restaurant_service.search.SearchDocument;
+import com.restaurant.restaurant_service.search.SearchDocumentType;
+import com.restaurant.restaurant_service.search.SearchHit;
+import com.restaurant.restaurant_service.search.SearchIndex;
+import com.restaurant.restaurant_service.search.Suggestion;
+import com.restaurant.restaurant_service.service.SearchService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+    private static final Logger logger = LoggerFactory.getLogger(SearchServiceImpl.class);
+
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final SearchIndex searchIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final GeoGridIndex geoGridIndex;
+    private final ScheduleIndex scheduleIndex;
+
+    @Value("${restaurant.search.max-results:50}")
+    private int maxResults;
+
+    @Value("${restaurant.search.rebuild-page-size:500}")
+    private int rebuildPageSize;
+
+    // Serialises live index updates with the swap at the end of a rebuild
+    private final Object indexLock = new Object();
+    private final Object rebuildMutex = new Object();
+    // Live updates applied while a rebuild is reading, replayed onto the rebuilt index; null when idle
+    private List<Runnable> updatesDuringRebuild;
+
+    @Override
+    public List<SearchResultDTO> search(String query, SearchDocumentType type, int limit) {
+        int cappedLimit = Math.min(Math.max(limit, 1), maxResults);
+        
+        // Menu items of inactive restaurants stay indexed but are hidden until the restaurant is reactivated
+        return searchIndex.search(query, cappedLimit, document ->
+                        (type == null || document.type() == type)
+                                && (document.type() == SearchDocumentType.RESTAURANT
+                                || searchIndex.contains(SearchDocumentType.RESTAURANT, document.restaurantId())))
+                .stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<AutocompleteSuggestionDTO> autocomplete(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, Math.max(limit, 1)).stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void indexRestaurant(Restaurant restaurant) {
+        boolean active = Boolean.TRUE.equals(restaurant.getIsActive());
+        SearchDocument document = active ? toDocument(restaurant) : null;
+        Long restaurantId = restaurant.getId();
+        String name = restaurant.getName();
+        String cuisineType = restaurant.getCuisineType();
+        Double averageRating = restaurant.getAverageRating();
+        GeoGridIndex.GeoPoint location = active ? toGeoPoint(restaurant) : null;
+        List<ScheduleWindow> openingSchedule = copyOf(restaurant.getOpeningSchedule());
+        String timeZone = restaurant.getTimeZone();
+        applyAfterCommit(() -> {
+            scheduleIndex.putRestaurant(restaurantId, openingSchedule, timeZone);
+            if (active) {
+                searchIndex.put(document);
+                autocompleteIndex.putRestaurant(restaurantId, name, cuisineType, averageRating);
+            } else {
+                searchIndex.remove(SearchDocumentType.RESTAURANT, restaurantId);
+                autocompleteIndex.removeRestaurant(restaurantId);
+            }
+            if (location != null) {
+                geoGridIndex.put(location);
+            } else {
+                geoGridIndex.remove(restaurantId);
+            }
+        });
+    }
+
+    @Override
+    public void indexMenuItem(MenuItem menuItem) {
+        boolean available = Boolean.TRUE.equals(menuItem.getIsAvailable());
+        SearchDocument document = available ? toDocument(menuItem) : null;
+        Long menuItemId = menuItem.getId();
+        String name = menuItem.getName();
+        Long restaurantId = menuItem.getRestaurant().getId();
+        List<ScheduleWindow> availabilityWindows = copyOf(menuItem.getAvailabilityWindows());
+        applyAfterCommit(() -> {
+            scheduleIndex.putMenuItem(menuItemId, restaurantId, availabilityWindows);
+            if (available) {
+                searchIndex.put(document);
+                autocompleteIndex.putMenuItem(menuItemId, name);
+            } else {
+                searchIndex.remove(SearchDocumentType.MENU_ITEM, menuItemId);
+                autocompleteIndex.removeMenuItem(menuItemId);
+            }
+        });
+    }
+
+    @Override
+    public void removeMenuItem(Long menuItemId) {
+        applyAfterCommit(() -> {
+            searchIndex.remove(SearchDocumentType.MENU_ITEM, menuItemId);
+            autocompleteIndex.removeMenuItem(menuItemId);
+            scheduleIndex.removeMenuItem(menuItemId);
+        });
+    }
+
+    // Periodic rebuild also picks up writes made by other instances of this service
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${restaurant.search.rebuild-interval-ms:600000}",
+            fixedDelayString = "${restaurant.search.rebuild-interval-ms:600000}")
+    public int rebuildIndex() {
+        synchronized (rebuildMutex) {
+            return rebuild();
+        }
+    }
+
+    private int rebuild() {
+        // Read-write so it runs on the primary: writes a lagging replica has not applied yet would
+        // be in neither the snapshot nor the replay buffer
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        // Start recording before reading, so an update committed after its row was read is not lost by the swap
+        synchronized (indexLock) {
+            updatesDuringRebuild = new ArrayList<>();
+        }
+        try {
+            List<SearchDocument> documents = new ArrayList<>();
+            List<GeoGridIndex.GeoPoint> locations = new ArrayList<>();
+            AutocompleteIndex freshAutocomplete = autocompleteIndex.emptyCopy();
+            ScheduleIndex freshSchedules = scheduleIndex.emptyCopy();
+            transactionTemplate.executeWithoutResult(tx -> {
+                loadPages(page -> restaurantRepository.findAll(page), restaurant -> {
+                    freshSchedules.putRestaurant(restaurant.getId(), restaurant.getOpeningSchedule(),
+                            restaurant.getTimeZone());
+                    if (Boolean.TRUE.equals(restaurant.getIsActive())) {
+                        documents.add(toDocument(restaurant));
+                        freshAutocomplete.putRestaurant(restaurant.getId(), restaurant.getName(),
+                                restaurant.getCuisineType(), restaurant.getAverageRating());
+                        GeoGridIndex.GeoPoint location = toGeoPoint(restaurant);
+                        if (location != null) {
+                            locations.add(location);
+                        }
+                    }
+                });
+                loadPages(page -> menuItemRepository.findAll(page), menuItem -> {
+                    freshSchedules.putMenuItem(menuItem.getId(), menuItem.getRestaurant().getId(),
+                            menuItem.getAvailabilityWindows());
+                    if (Boolean.TRUE.equals(menuItem.getIsAvailable())) {
+                        documents.add(toDocument(menuItem));
+                        freshAutocomplete.putMenuItem(menuItem.getId(), menuItem.getName());
+                    }
+                });
+            });
+            
+            int replayed;
+            synchronized (indexLock) {
+                searchIndex.replaceAll(documents);
+                autocompleteIndex.replaceWith(freshAutocomplete);
+                geoGridIndex.replaceAll(locations);
+                scheduleIndex.replaceWith(freshSchedules);
+                // Updates are idempotent puts and removes, so replaying one the snapshot already saw is harmless
+                updatesDuringRebuild.forEach(Runnable::run);
+                replayed = updatesDuringRebuild.size();
+            }
+            logger.info("Search index rebuilt with {} documents, {} live updates replayed", documents.size(), replayed);
+            return documents.size();
+        } catch (RuntimeException e) {
+            // Keep serving the previous index; the next scheduled rebuild will retry
+            logger.error("Search index rebuild failed", e);
+            return searchIndex.size();
+        } finally {
+            synchronized (indexLock) {
+                updatesDuringRebuild = null;
+            }
+        }
+    }
+
+    private void applyAfterCommit(Runnable update) {
+        AfterCommit.run(() -> {
+            synchronized (indexLock) {
+                if (updatesDuringRebuild != null) {
+                    updatesDuringRebuild.add(update);
+                }
+                update.run();
+            }
+        });
+    }
+
+    private <T> void loadPages(Function<PageRequest, Page<T>> loader, Consumer<T> consumer) {
+        PageRequest pageRequest = PageRequest.of(0, rebuildPageSize, Sort.by("id"));
+        Page<T> page;
+        do {
+            page = loader.apply(pageRequest);
+            page.forEach(consumer);
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+    }
+
+    // Copied inside the transaction so the lazy collection is never touched after commit
+    private List<ScheduleWindow> copyOf(List<ScheduleWindow> windows) {
+        return windows != null ? List.copyOf(windows) : List.of();
+    }
+
+    private SearchDocument toDocument(Restaurant restaurant) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("name", restaurant.getName());
+        fields.put("cuisine", restaurant.getCuisineType());
+        fields.put("description", restaurant.getDescription());
+        return new SearchDocument(SearchDocumentType.RESTAURANT, restaurant.getId(), restaurant.getId(),
+                restaurant.getName(), fields);
+    }
+
+    private SearchDocument toDocument(MenuItem menuItem) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("name", menuItem.getName());
+        fields.put("category", menuItem.getCategory());
+        fields.put("description", menuItem.getDescription());
+        return new SearchDocument(SearchDocumentType.MENU_ITEM, menuItem.getId(), menuItem.getRestaurant().getId(),
+                menuItem.getName(), fields);
+    }
+
+    private GeoGridIndex.GeoPoint toGeoPoint(Restaurant restaurant) {
+        if (restaurant.getLatitude() == null || restaurant.getLongitude() == null) {
+            return null;
+        }
+        String cuisineKey = restaurant.getCuisineType() != null ? restaurant.getCuisineType().trim().toLowerCase(Locale.ROOT) : null;
+        return new GeoGridIndex.GeoPoint(restaurant.getId(), restaurant.getLatitude(), restaurant.getLongitude(), cuisineKey);
+    }
+
+    private SearchResultDTO convertToDTO(SearchHit hit) {
+        SearchDocument document = hit.document();
+        SearchResultDTO dto = new SearchResultDTO();
+        dto.setType(document.type().name());
+        dto.setId(document.id());
+        dto.setRestaurantId(document.restaurantId());
+        dto.setName(document.title());
+        dto.setScore(hit.score());
+        return dto;
+    }
+
+    private AutocompleteSuggestionDTO convertToDTO(Suggestion suggestion) {
+        AutocompleteSuggestionDTO dto = new AutocompleteSuggestionDTO();
+        dto.setType(suggestion.type().name());
+        dto.setText(suggestion.text());
+        dto.setRestaurantId(suggestion.restaurantId());
+        return dto;
+    }
+}
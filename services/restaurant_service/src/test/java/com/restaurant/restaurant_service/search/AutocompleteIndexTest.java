@@ -0,0 +1,99 @@
+package com.restaurant.restaurant_service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AutocompleteIndexTest {
+
+    private final AutocompleteIndex index = new AutocompleteIndex(100, 5);
+
+    @Test
+    void suggest_ShouldMatchAnyWordStartOfRestaurantName() {
+        // Arrange
+        index.putRestaurant(1L, "Pizza Hut", null, 4.0);
+
+        // Act & Assert
+        assertEquals(List.of("RESTAURANT:1"), keys(index.suggest("hut", 10)));
+        assertEquals(List.of("RESTAURANT:1"), keys(index.suggest("Piz", 10)));
+        assertTrue(index.suggest("  ", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldRankCuisinesAboveRestaurantsAboveDishes() {
+        // Arrange
+        index.putRestaurant(1L, "Curry Leaf", "Sri Lankan", 5.0);
+        index.putRestaurant(2L, "Sri Lanka Kitchen", null, 0.0);
+        index.putMenuItem(10L, "Sri Lankan Fish Curry");
+
+        // Act
+        List<Suggestion> suggestions = index.suggest("sri", 10);
+
+        // Assert
+        assertEquals(List.of(SuggestionType.CUISINE, SuggestionType.RESTAURANT, SuggestionType.DISH),
+                suggestions.stream().map(Suggestion::type).toList());
+    }
+
+    @Test
+    void suggest_ShouldReturnAtMostTopK() {
+        // Arrange
+        for (long id = 1; id <= 8; id++) {
+            index.putRestaurant(id, "Cafe " + id, null, (double) id % 5);
+        }
+
+        // Act & Assert
+        assertEquals(5, index.suggest("cafe", 10).size());
+        assertEquals(2, index.suggest("cafe", 2).size());
+    }
+
+    @Test
+    void removeRestaurant_ShouldKeepCuisine_WhileAnotherRestaurantUsesIt() {
+        // Arrange
+        index.putRestaurant(1L, "Luigi's", "Italian", 4.0);
+        index.putRestaurant(2L, "Mario's", "Italian", 4.0);
+
+        // Act & Assert
+        index.removeRestaurant(1L);
+        assertEquals(List.of("CUISINE:italian"), keys(index.suggest("ital", 10)));
+        index.removeRestaurant(2L);
+        assertTrue(index.suggest("ital", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void putMenuItem_ShouldReleasePreviousDish_WhenRenamed() {
+        // Arrange
+        index.putMenuItem(10L, "Chicken Kottu");
+        index.putMenuItem(11L, "Chicken Kottu");
+
+        // Act
+        index.putMenuItem(10L, "Cheese Kottu");
+        index.removeMenuItem(11L);
+
+        // Assert
+        assertEquals(List.of("DISH:cheese kottu"), keys(index.suggest("kottu", 10)));
+    }
+
+    @Test
+    void putRestaurant_ShouldDropNewSuggestions_OnceCapacityIsReached() {
+        // Arrange
+        AutocompleteIndex small = new AutocompleteIndex(2, 5);
+        small.putRestaurant(1L, "Cafe One", null, 0.0);
+        small.putRestaurant(2L, "Cafe Two", null, 0.0);
+
+        // Act
+        small.putRestaurant(3L, "Cafe Three", null, 0.0);
+        small.putRestaurant(1L, "Cafe Uno", null, 0.0);
+
+        // Assert: replacing a restaurant frees its own entry first
+        assertEquals(2, small.size());
+        assertTrue(small.suggest("three", 10).isEmpty());
+        assertEquals(List.of("RESTAURANT:1"), keys(small.suggest("uno", 10)));
+    }
+
+    private static List<String> keys(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::key).toList();
+    }
+}
@@ -0,0 +1,107 @@
+package com.restaurant.restaurant_service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridIndexTest {
+
+    private static final double KM_PER_DEGREE = Math.PI * GeoGridIndex.EARTH_RADIUS_KM / 180.0;
+
+    private final GeoGridIndex index = new GeoGridIndex(0.05);
+
+    @Test
+    void nearby_ShouldReturnPointsWithinRadius_NearestFirst() {
+        // Arrange: 3 km, 1 km, 4.5 km and 6 km north of the origin
+        put(1L, 3.0, 0.0, "italian");
+        put(2L, 1.0, 0.0, "italian");
+        put(3L, 4.5, 0.0, "chinese");
+        put(4L, 6.0, 0.0, "italian");
+
+        // Act
+        List<GeoGridIndex.GeoHit> hits = index.nearby(6.9, 79.85, 5.0, 10, point -> true);
+
+        // Assert
+        assertEquals(List.of(2L, 1L, 3L), ids(hits));
+        assertEquals(1.0, hits.get(0).distanceKm(), 0.01);
+    }
+
+    @Test
+    void nearby_ShouldApplyFilterBeforeLimit() {
+        // Arrange
+        put(1L, 1.0, 0.0, "chinese");
+        put(2L, 2.0, 0.0, "italian");
+        put(3L, 3.0, 0.0, "italian");
+
+        // Act
+        List<GeoGridIndex.GeoHit> hits = index.nearby(6.9, 79.85, 5.0, 1, point -> "italian".equals(point.cuisineKey()));
+
+        // Assert
+        assertEquals(List.of(2L), ids(hits));
+    }
+
+    @Test
+    void nearby_ShouldFindPointsInNeighbouringCells() {
+        // Arrange: points on either side of cell borders, in all four directions
+        put(1L, 0.0, 4.0, null);
+        put(2L, 0.0, -4.0, null);
+        put(3L, -4.0, 0.0, null);
+        put(4L, 4.0, 0.0, null);
+
+        // Act & Assert
+        assertEquals(4, index.nearby(6.9, 79.85, 4.5, 10, point -> true).size());
+    }
+
+    @Test
+    void nearby_ShouldWrapAcrossTheAntimeridian() {
+        // Arrange
+        index.put(new GeoGridIndex.GeoPoint(1L, 0.0, -179.995, null));
+
+        // Act
+        List<GeoGridIndex.GeoHit> hits = index.nearby(0.0, 179.995, 2.0, 10, point -> true);
+
+        // Assert
+        assertEquals(List.of(1L), ids(hits));
+        assertEquals(0.01 * KM_PER_DEGREE, hits.get(0).distanceKm(), 0.01);
+    }
+
+    @Test
+    void put_ShouldMovePoint_WhenIdIsReused() {
+        // Arrange
+        put(1L, 1.0, 0.0, null);
+
+        // Act
+        put(1L, 20.0, 0.0, null);
+
+        // Assert
+        assertEquals(1, index.size());
+        assertTrue(index.nearby(6.9, 79.85, 5.0, 10, point -> true).isEmpty());
+        assertEquals(List.of(1L), ids(index.nearby(6.9, 79.85, 25.0, 10, point -> true)));
+    }
+
+    @Test
+    void remove_ShouldDropPoint() {
+        // Arrange
+        put(1L, 1.0, 0.0, null);
+
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertEquals(0, index.size());
+        assertTrue(index.nearby(6.9, 79.85, 5.0, 10, point -> true).isEmpty());
+    }
+
+    // Places a point the given km north and east of (6.9, 79.85)
+    private void put(Long id, double kmNorth, double kmEast, String cuisineKey) {
+        double latitude = 6.9 + kmNorth / KM_PER_DEGREE;
+        double longitude = 79.85 + kmEast / (KM_PER_DEGREE * Math.cos(Math.toRadians(6.9)));
+        index.put(new GeoGridIndex.GeoPoint(id, latitude, longitude, cuisineKey));
+    }
+
+    private static List<Long> ids(List<GeoGridIndex.GeoHit> hits) {
+        return hits.stream().map(hit -> hit.point().id()).toList();
+    }
+}
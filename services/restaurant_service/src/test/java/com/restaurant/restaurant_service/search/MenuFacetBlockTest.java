@@ -0,0 +1,125 @@
+package com.restaurant.restaurant_service.search;
+
+import com.restaurant.restaurant_service.dto.MenuItemDTO;
+import com.restaurant.restaurant_service.dto.MenuItemFilter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MenuFacetBlockTest {
+
+    private final MenuFacetBlock block = new MenuFacetBlock(List.of(
+            item(3L, "15.00", "Mains", false, false, false, false),
+            item(1L, "5.00", "Mains", true, true, false, true),
+            item(2L, "10.00", "Desserts", true, true, true, false),
+            item(4L, null, "Drinks", true, false, false, false),
+            item(5L, "10.00", " mains ", true, false, false, true)));
+
+    @Test
+    void filter_ShouldReturnEveryItemInPriceOrder_WhenNothingIsSet() {
+        // Act & Assert: unpriced items sort first, equal prices by id
+        assertEquals(List.of(4L, 1L, 2L, 5L, 3L), ids(block.filter(new MenuItemFilter())));
+    }
+
+    @Test
+    void filter_ShouldIncludeBothEndsOfPriceRange() {
+        // Arrange
+        MenuItemFilter filter = new MenuItemFilter();
+        filter.setMinPrice(new BigDecimal("5"));
+        filter.setMaxPrice(new BigDecimal("10.0"));
+
+        // Act & Assert
+        assertEquals(List.of(1L, 2L, 5L), ids(block.filter(filter)));
+    }
+
+    @Test
+    void filter_ShouldReturnNothing_WhenPriceRangeIsInverted() {
+        // Arrange
+        MenuItemFilter filter = new MenuItemFilter();
+        filter.setMinPrice(new BigDecimal("12"));
+        filter.setMaxPrice(new BigDecimal("8"));
+
+        // Act & Assert
+        assertTrue(block.filter(filter).isEmpty());
+    }
+
+    @Test
+    void filter_ShouldCombineFacets() {
+        // Arrange
+        MenuItemFilter vegetarianMains = new MenuItemFilter();
+        vegetarianMains.setVegetarian(true);
+        vegetarianMains.setCategory("MAINS");
+        MenuItemFilter glutenFreeUnder8 = new MenuItemFilter();
+        glutenFreeUnder8.setGlutenFree(true);
+        glutenFreeUnder8.setMaxPrice(new BigDecimal("8"));
+
+        // Act & Assert
+        assertEquals(List.of(1L), ids(block.filter(vegetarianMains)));
+        assertEquals(List.of(1L), ids(block.filter(glutenFreeUnder8)));
+    }
+
+    @Test
+    void filter_ShouldMatchCategoryIgnoringCaseAndSpaces() {
+        // Arrange
+        MenuItemFilter filter = new MenuItemFilter();
+        filter.setCategory("  Mains");
+
+        // Act & Assert
+        assertEquals(List.of(1L, 5L, 3L), ids(block.filter(filter)));
+    }
+
+    @Test
+    void filter_ShouldReturnNothing_WhenCategoryIsUnknown() {
+        // Arrange
+        MenuItemFilter filter = new MenuItemFilter();
+        filter.setCategory("Starters");
+
+        // Act & Assert
+        assertTrue(block.filter(filter).isEmpty());
+    }
+
+    @Test
+    void filter_ShouldSelectSoldOutItems_WhenAvailableIsFalse() {
+        // Arrange
+        MenuItemFilter filter = new MenuItemFilter();
+        filter.setAvailable(false);
+
+        // Act & Assert
+        assertEquals(List.of(3L), ids(block.filter(filter)));
+    }
+
+    @Test
+    void filter_ShouldReturnCopies_SoCallersCannotChangeTheBlock() {
+        // Arrange
+        MenuItemFilter filter = new MenuItemFilter();
+        filter.setCategory("Desserts");
+
+        // Act
+        block.filter(filter).get(0).setName("Changed");
+
+        // Assert
+        assertEquals("Item 2", block.filter(filter).get(0).getName());
+    }
+
+    private static MenuItemDTO item(Long id, String price, String category, boolean available,
+                                    boolean vegetarian, boolean vegan, boolean glutenFree) {
+        MenuItemDTO item = new MenuItemDTO();
+        item.setId(id);
+        item.setName("Item " + id);
+        item.setPrice(price != null ? new BigDecimal(price) : null);
+        item.setCategory(category);
+        item.setIsAvailable(available);
+        item.setIsVegetarian(vegetarian);
+        item.setIsVegan(vegan);
+        item.setIsGlutenFree(glutenFree);
+        item.setRestaurantId(7L);
+        return item;
+    }
+
+    private static List<Long> ids(List<MenuItemDTO> items) {
+        return items.stream().map(MenuItemDTO::getId).toList();
+    }
+}
@@ -0,0 +1,92 @@
+package com.restaurant.restaurant_service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    private final PrefixTrie trie = new PrefixTrie(2);
+
+    @Test
+    void complete_ShouldReturnHeaviestSuggestionsForPrefix_UpToTopK() {
+        // Arrange
+        insert("pizza hut", 1.0);
+        insert("pizza palace", 3.0);
+        insert("pizzeria", 2.0);
+        insert("pasta house", 5.0);
+
+        // Act & Assert
+        assertEquals(List.of("pizza palace", "pizzeria"), texts(trie.complete("piz", 10)));
+        assertEquals(List.of("pizza palace"), texts(trie.complete("piz", 1)));
+        assertEquals(List.of("pizza palace", "pizza hut"), texts(trie.complete("pizza ", 10)));
+        assertTrue(trie.complete("sushi", 10).isEmpty());
+    }
+
+    @Test
+    void complete_ShouldBreakWeightTiesByText() {
+        // Arrange
+        insert("kottu", 1.0);
+        insert("kiribath", 1.0);
+        insert("kavum", 1.0);
+
+        // Act & Assert
+        assertEquals(List.of("kavum", "kiribath"), texts(trie.complete("k", 10)));
+    }
+
+    @Test
+    void complete_ShouldListSuggestionOnce_WhenItHasSeveralTermsUnderPrefix() {
+        // Arrange
+        Suggestion pizzaPizza = suggestion("pizza pizza", 4.0);
+        trie.insert("pizza pizza", pizzaPizza);
+        trie.insert("pizza", pizzaPizza);
+        insert("pizzeria", 1.0);
+
+        // Act & Assert
+        assertEquals(List.of("pizza pizza", "pizzeria"), texts(trie.complete("p", 10)));
+    }
+
+    @Test
+    void remove_ShouldRefillTopKFromRemainingSuggestions() {
+        // Arrange
+        insert("pizza hut", 1.0);
+        insert("pizza palace", 3.0);
+        insert("pizzeria", 2.0);
+
+        // Act
+        trie.remove("pizza palace", "pizza palace");
+
+        // Assert
+        assertEquals(List.of("pizzeria", "pizza hut"), texts(trie.complete("p", 10)));
+        assertEquals(List.of("pizza hut"), texts(trie.complete("pizza ", 10)));
+    }
+
+    @Test
+    void remove_ShouldPruneBranch_WhenLastSuggestionIsGone() {
+        // Arrange
+        insert("pizzeria", 2.0);
+        insert("pasta", 1.0);
+
+        // Act
+        trie.remove("pizzeria", "pizzeria");
+        trie.remove("pizzeria", "pizzeria");
+
+        // Assert
+        assertTrue(trie.complete("pi", 10).isEmpty());
+        assertEquals(List.of("pasta"), texts(trie.complete("p", 10)));
+    }
+
+    private void insert(String text, double weight) {
+        trie.insert(text, suggestion(text, weight));
+    }
+
+    private static Suggestion suggestion(String text, double weight) {
+        return new Suggestion(text, SuggestionType.DISH, text, null, weight);
+    }
+
+    private static List<String> texts(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::text).toList();
+    }
+}
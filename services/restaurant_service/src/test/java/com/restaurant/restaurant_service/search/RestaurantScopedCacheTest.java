@@ -0,0 +1,83 @@
+package com.restaurant.restaurant_service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantScopedCacheTest {
+
+    private final RestaurantScopedCache<String> cache = new RestaurantScopedCache<>(2);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_ShouldLoadOnce_AndThenServeCachedValue() {
+        // Act
+        String first = cache.get(1L, () -> load(1L));
+        String second = cache.get(1L, () -> load(1L));
+
+        // Assert
+        assertEquals("restaurant 1 #1", first);
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_ShouldMakeNextGetReload() {
+        // Arrange
+        cache.get(1L, () -> load(1L));
+
+        // Act
+        cache.invalidate(1L);
+
+        // Assert
+        assertEquals("restaurant 1 #2", cache.get(1L, () -> load(1L)));
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedRestaurant_WhenFull() {
+        // Arrange
+        cache.get(1L, () -> load(1L));
+        cache.get(2L, () -> load(2L));
+        cache.get(1L, () -> load(1L));
+
+        // Act
+        cache.get(3L, () -> load(3L));
+
+        // Assert: 2 was used least recently
+        assertEquals("restaurant 1 #1", cache.get(1L, () -> load(1L)));
+        assertEquals("restaurant 2 #4", cache.get(2L, () -> load(2L)));
+    }
+
+    @Test
+    void get_ShouldNotCacheValue_WhenInvalidatedWhileLoading() {
+        // Act: a write commits between reading the data and caching it
+        String stale = cache.get(1L, () -> {
+            String value = load(1L);
+            cache.invalidate(1L);
+            return value;
+        });
+
+        // Assert: the caller still gets its value, but the next reader loads again
+        assertEquals("restaurant 1 #1", stale);
+        assertEquals("restaurant 1 #2", cache.get(1L, () -> load(1L)));
+    }
+
+    @Test
+    void invalidate_ShouldNotAffectOtherRestaurants() {
+        // Arrange
+        cache.get(1L, () -> load(1L));
+        cache.get(2L, () -> load(2L));
+
+        // Act
+        cache.invalidate(1L);
+
+        // Assert
+        assertEquals("restaurant 2 #2", cache.get(2L, () -> load(2L)));
+    }
+
+    private String load(Long restaurantId) {
+        return "restaurant " + restaurantId + " #" + loads.incrementAndGet();
+    }
+}
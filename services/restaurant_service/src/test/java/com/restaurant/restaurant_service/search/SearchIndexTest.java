@@ -0,0 +1,117 @@
+package com.restaurant.restaurant_service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    private final SearchIndex index = new SearchIndex(Map.of("name", 3.0, "description", 1.0));
+
+    @Test
+    void search_ShouldRequireEveryQueryToken() {
+        // Arrange
+        put(1L, "Margherita Pizza", "");
+        put(2L, "Pepperoni Pizza", "");
+
+        // Act & Assert
+        assertEquals(List.of(1L), ids(index.search("pizza margherita", 10, document -> true)));
+        assertEquals(2, index.search("pizza", 10, document -> true).size());
+        assertTrue(index.search("pizza sushi", 10, document -> true).isEmpty());
+    }
+
+    @Test
+    void search_ShouldRankExactAbovePrefixAboveFuzzyMatches() {
+        // Arrange
+        put(1L, "Burger", "");
+        put(2L, "Burgerland", "");
+        put(3L, "Burgur", "");
+
+        // Act
+        List<SearchHit> hits = index.search("burger", 10, document -> true);
+
+        // Assert
+        assertEquals(List.of(1L, 2L, 3L), ids(hits));
+        assertEquals(hits.get(0).score() * 0.6, hits.get(1).score(), 1e-9);
+        assertEquals(hits.get(0).score() * 0.4, hits.get(2).score(), 1e-9);
+    }
+
+    @Test
+    void search_ShouldMatchTypos_OnlyForTokensOfFourOrMoreLetters() {
+        // Arrange
+        put(1L, "Pizza", "");
+        put(2L, "Cola", "");
+
+        // Act & Assert: a missing letter and a swapped pair are both one edit away
+        assertEquals(List.of(1L), ids(index.search("piza", 10, document -> true)));
+        assertEquals(List.of(1L), ids(index.search("pziza", 10, document -> true)));
+        assertTrue(index.search("cla", 10, document -> true).isEmpty());
+    }
+
+    @Test
+    void search_ShouldWeightMatchesByField() {
+        // Arrange
+        put(1L, "Garden Salad", "comes with pizza bread");
+        put(2L, "Pizza Bianca", "");
+
+        // Act
+        List<SearchHit> hits = index.search("pizza", 10, document -> true);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), ids(hits));
+        assertEquals(3.0, hits.get(0).score() / hits.get(1).score(), 1e-9);
+    }
+
+    @Test
+    void search_ShouldApplyFilterAndLimit() {
+        // Arrange
+        put(1L, "Chicken Kottu", "");
+        put(2L, "Cheese Kottu", "");
+        put(3L, "Egg Kottu", "");
+
+        // Act
+        List<SearchHit> hits = index.search("kottu", 1, document -> document.id() != 1L);
+
+        // Assert: equal scores fall back to title order
+        assertEquals(List.of(2L), ids(hits));
+    }
+
+    @Test
+    void put_ShouldReplacePreviousTerms_WhenDocumentIsReindexed() {
+        // Arrange
+        put(1L, "Fried Rice", "");
+
+        // Act
+        put(1L, "Nasi Goreng", "");
+
+        // Assert
+        assertEquals(1, index.size());
+        assertTrue(index.search("fried", 10, document -> true).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("goreng", 10, document -> true)));
+    }
+
+    @Test
+    void remove_ShouldDropDocumentFromResults() {
+        // Arrange
+        put(1L, "Hoppers", "");
+
+        // Act
+        index.remove(SearchDocumentType.MENU_ITEM, 1L);
+
+        // Assert
+        assertFalse(index.contains(SearchDocumentType.MENU_ITEM, 1L));
+        assertTrue(index.search("hoppers", 10, document -> true).isEmpty());
+    }
+
+    private void put(Long id, String name, String description) {
+        index.put(new SearchDocument(SearchDocumentType.MENU_ITEM, id, 7L, name,
+                Map.of("name", name, "description", description)));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(hit -> hit.document().id()).toList();
+    }
+}
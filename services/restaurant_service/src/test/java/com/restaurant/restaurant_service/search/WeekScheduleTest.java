@@ -0,0 +1,105 @@
+package com.restaurant.restaurant_service.search;
+
+import com.restaurant.restaurant_service.model.ScheduleWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WeekScheduleTest {
+
+    @Test
+    void isOpenAt_ShouldIncludeStartAndExcludeEnd() {
+        // Arrange
+        WeekSchedule schedule = WeekSchedule.compile(List.of(window(DayOfWeek.TUESDAY, "09:00", "17:00")));
+
+        // Act & Assert
+        assertFalse(schedule.isOpenAt(DayOfWeek.TUESDAY, time("08:59")));
+        assertTrue(schedule.isOpenAt(DayOfWeek.TUESDAY, time("09:00")));
+        assertTrue(schedule.isOpenAt(DayOfWeek.TUESDAY, time("16:59")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.TUESDAY, time("17:00")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.WEDNESDAY, time("12:00")));
+    }
+
+    @Test
+    void isOpenAt_ShouldRunPastMidnight_WhenEndIsBeforeStart() {
+        // Arrange
+        WeekSchedule schedule = WeekSchedule.compile(List.of(window(DayOfWeek.FRIDAY, "22:00", "02:00")));
+
+        // Act & Assert
+        assertTrue(schedule.isOpenAt(DayOfWeek.FRIDAY, time("23:30")));
+        assertTrue(schedule.isOpenAt(DayOfWeek.SATURDAY, time("01:59")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.SATURDAY, time("02:00")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.FRIDAY, time("01:00")));
+    }
+
+    @Test
+    void isOpenAt_ShouldWrapIntoMonday_WhenSundayWindowRunsPastMidnight() {
+        // Arrange
+        WeekSchedule schedule = WeekSchedule.compile(List.of(window(DayOfWeek.SUNDAY, "23:00", "01:00")));
+
+        // Act & Assert
+        assertTrue(schedule.isOpenAt(DayOfWeek.SUNDAY, time("23:59")));
+        assertTrue(schedule.isOpenAt(DayOfWeek.MONDAY, time("00:00")));
+        assertTrue(schedule.isOpenAt(DayOfWeek.MONDAY, time("00:59")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.MONDAY, time("01:00")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.SUNDAY, time("00:30")));
+    }
+
+    @Test
+    void isOpenAt_ShouldApplyToEveryDay_WhenDayIsNull() {
+        // Arrange
+        WeekSchedule schedule = WeekSchedule.compile(List.of(window(null, "20:00", "00:30")));
+
+        // Act & Assert
+        for (DayOfWeek day : DayOfWeek.values()) {
+            assertTrue(schedule.isOpenAt(day, time("20:00")), day.name());
+            assertTrue(schedule.isOpenAt(day.plus(1), time("00:15")), day.name());
+            assertFalse(schedule.isOpenAt(day, time("12:00")), day.name());
+        }
+    }
+
+    @Test
+    void isOpenAt_ShouldCoverWholeDay_WhenStartEqualsEnd() {
+        // Arrange
+        WeekSchedule schedule = WeekSchedule.compile(List.of(window(DayOfWeek.WEDNESDAY, "06:00", "06:00")));
+
+        // Act & Assert
+        assertTrue(schedule.isOpenAt(DayOfWeek.WEDNESDAY, time("06:00")));
+        assertTrue(schedule.isOpenAt(DayOfWeek.THURSDAY, time("05:59")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.THURSDAY, time("06:00")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.WEDNESDAY, time("05:59")));
+    }
+
+    @Test
+    void isOpenAt_ShouldBeClosedEverywhere_WhenThereAreNoWindows() {
+        // Arrange
+        WeekSchedule schedule = WeekSchedule.compile(List.of());
+
+        // Act & Assert
+        assertFalse(schedule.isOpenAt(DayOfWeek.MONDAY, time("00:00")));
+        assertFalse(schedule.isOpenAt(DayOfWeek.SUNDAY, time("23:59")));
+    }
+
+    @Test
+    void validate_ShouldRejectWindowsWithoutBothTimes() {
+        // Act & Assert
+        assertDoesNotThrow(() -> WeekSchedule.validate(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> WeekSchedule.validate(List.of(new ScheduleWindow(DayOfWeek.MONDAY, time("09:00"), null))));
+        assertThrows(IllegalArgumentException.class,
+                () -> WeekSchedule.validate(Arrays.asList((ScheduleWindow) null)));
+    }
+
+    private static ScheduleWindow window(DayOfWeek day, String start, String end) {
+        return new ScheduleWindow(day, time(start), time(end));
+    }
+
+    private static LocalTime time(String value) {
+        return LocalTime.parse(value);
+    }
+}
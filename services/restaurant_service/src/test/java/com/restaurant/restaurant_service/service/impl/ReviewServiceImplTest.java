@@ -0,0 +1,76 @@
+package com.restaurant.restaurant_service.service.impl;
+
+import com.restaurant.restaurant_service.dto.ReviewDTO;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewServiceImplTest {
+
+    @Test
+    void decodeCursor_ShouldReturnPositionOfEncodedReview() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 19, 7, 26, 46, 123_456_000);
+
+        // Act
+        ReviewServiceImpl.FeedCursor cursor = ReviewServiceImpl.decodeCursor(ReviewServiceImpl.encodeCursor(review(42L, createdAt)));
+
+        // Assert
+        assertEquals(new ReviewServiceImpl.FeedCursor(createdAt, 42L), cursor);
+    }
+
+    @Test
+    void decodeCursor_ShouldKeepPosition_WhenSecondsAreZero() {
+        // Arrange: LocalDateTime prints 10:15 without seconds
+        LocalDateTime createdAt = LocalDateTime.of(2025, 10, 19, 10, 15);
+
+        // Act
+        ReviewServiceImpl.FeedCursor cursor = ReviewServiceImpl.decodeCursor(ReviewServiceImpl.encodeCursor(review(7L, createdAt)));
+
+        // Assert
+        assertEquals(new ReviewServiceImpl.FeedCursor(createdAt, 7L), cursor);
+    }
+
+    @Test
+    void encodeCursor_ShouldBeUrlSafeWithoutPadding() {
+        // Act
+        String cursor = ReviewServiceImpl.encodeCursor(review(1L, LocalDateTime.of(2025, 1, 1, 0, 0, 1)));
+
+        // Assert
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"), cursor);
+    }
+
+    @Test
+    void decodeCursor_ShouldRejectMalformedCursors() {
+        // Arrange
+        String[] malformed = {
+                "not base64!",
+                encode("2025-10-19T10:15"),
+                encode("yesterday|5"),
+                encode("2025-10-19T10:15|five"),
+                ""
+        };
+
+        // Act & Assert
+        for (String cursor : malformed) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> ReviewServiceImpl.decodeCursor(cursor), cursor);
+            assertEquals("Invalid review cursor", e.getMessage());
+        }
+    }
+
+    private static ReviewDTO review(Long id, LocalDateTime createdAt) {
+        ReviewDTO review = new ReviewDTO();
+        review.setId(id);
+        review.setCreatedAt(createdAt);
+        return review;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}